@@ -2,6 +2,7 @@ package com.demo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Entry point for the Smart Task Management System application.
@@ -10,8 +11,12 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Auto-configuration
  * - Component scanning
  * - Configuration properties support
+ * 
+ * The @EnableScheduling annotation enables periodic maintenance jobs
+ * such as pruning expired token revocations.
  */
 @SpringBootApplication
+@EnableScheduling
 public class SmartTaskApplication {
 
 	/**
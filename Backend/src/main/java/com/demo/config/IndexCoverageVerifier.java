@@ -0,0 +1,147 @@
+package com.demo.config;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import com.demo.repositories.IndexedBy;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks at startup that every query method declared on a repository interface
+ * is annotated with {@link IndexedBy} and that the indexes it names exist in
+ * the database schema.
+ */
+@Component
+@Slf4j
+public class IndexCoverageVerifier {
+
+    private final ApplicationContext applicationContext;
+    private final DataSource dataSource;
+    private final boolean failOnMissing;
+
+    public IndexCoverageVerifier(ApplicationContext applicationContext, DataSource dataSource,
+                                 @Value("${app.schema.index-check.fail-on-missing:true}") boolean failOnMissing) {
+        this.applicationContext = applicationContext;
+        this.dataSource = dataSource;
+        this.failOnMissing = failOnMissing;
+    }
+
+    /**
+     * Runs the check once the application has started and the migrations have been applied.
+     *
+     * @throws IllegalStateException if coverage is missing and fail-on-missing is enabled
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        List<String> violations = findViolations();
+        if (violations.isEmpty()) {
+            log.info("All repository query methods are covered by an index.");
+            return;
+        }
+        if (failOnMissing) {
+            throw new IllegalStateException("Repository query methods without index coverage: " + violations);
+        }
+        violations.forEach(violation -> log.warn("Missing index coverage: {}", violation));
+    }
+
+    /**
+     * Collects coverage problems across all repositories in the application context.
+     *
+     * @return one description per uncovered query method; empty when fully covered
+     */
+    public List<String> findViolations() {
+        Set<String> indexNames = loadIndexNames();
+        List<String> violations = new ArrayList<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories) {
+            repositories.getRepositoryInformationFor(domainType).ifPresent(information ->
+                    violations.addAll(findViolations(information.getRepositoryInterface(), indexNames)));
+        }
+        return violations;
+    }
+
+    /**
+     * Checks the query methods declared on one repository interface and on the
+     * custom fragments it extends from the same package. Inherited Spring Data
+     * CRUD methods go through the primary key and are not checked.
+     *
+     * @param repositoryInterface the repository interface
+     * @param indexNames lower-cased names of the indexes present in the schema
+     * @return one description per uncovered query method
+     */
+    static List<String> findViolations(Class<?> repositoryInterface, Set<String> indexNames) {
+        List<String> violations = new ArrayList<>();
+        List<Method> methods = new ArrayList<>(List.of(repositoryInterface.getDeclaredMethods()));
+        for (Class<?> fragment : repositoryInterface.getInterfaces()) {
+            if (fragment.getPackage() == repositoryInterface.getPackage()) {
+                methods.addAll(List.of(fragment.getDeclaredMethods()));
+            }
+        }
+        for (Method method : methods) {
+            if (method.isDefault() || method.isSynthetic() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            IndexedBy indexedBy = method.getAnnotation(IndexedBy.class);
+            if (indexedBy == null) {
+                violations.add(name + " has no @IndexedBy declaration");
+                continue;
+            }
+            if (indexedBy.value().length == 0 && indexedBy.fullScan().isBlank()) {
+                violations.add(name + " names no index and gives no reason for a full scan");
+            }
+            for (String index : indexedBy.value()) {
+                if (!IndexedBy.PRIMARY_KEY.equals(index) && !indexNames.contains(index.toLowerCase(Locale.ROOT))) {
+                    violations.add(name + " relies on missing index " + index);
+                }
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Reads the names of all indexes on all tables of the current schema.
+     */
+    private Set<String> loadIndexNames() {
+        Set<String> names = new HashSet<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), "%",
+                    new String[] {"TABLE"})) {
+                while (tables.next()) {
+                    try (ResultSet indexes = metaData.getIndexInfo(tables.getString("TABLE_CAT"),
+                            tables.getString("TABLE_SCHEM"), tables.getString("TABLE_NAME"), false, true)) {
+                        while (indexes.next()) {
+                            String index = indexes.getString("INDEX_NAME");
+                            if (index != null) {
+                                names.add(index.toLowerCase(Locale.ROOT));
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read index metadata", e);
+        }
+        return names;
+    }
+}
@@ -1,8 +1,10 @@
 package com.demo.config;
 
+import com.demo.services.jwt.TokenRevocationService;
 import com.demo.services.jwt.UserService;
 import com.demo.utils.JwtUtil;
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.stereotype.Component;
@@ -14,6 +16,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
@@ -33,6 +36,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 	// Injecting custom UserService to load user details
 	private final UserService userService;
 
+	// Injecting revocation service to reject logged-out tokens
+	private final TokenRevocationService tokenRevocationService;
+
+	// When enabled, the principal is built from the token claims instead of a user lookup
+	@Value("${app.jwt.stateless-principal:false}")
+	private boolean statelessPrincipal;
+
 	// This method is called once per request to filter and validate JWT
 	@Override
 	protected void doFilterInternal(@NonNull HttpServletRequest request, 
@@ -42,6 +52,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		final String authHeader = request.getHeader("Authorization");
 
 		final String jwt;
+		final Claims claims;
 		final String userEmail;
 
 		// If the Authorization header is missing or doesn't start with "Bearer ", continue the filter chain
@@ -53,16 +64,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		// Extract the JWT token by removing the "Bearer " prefix
 		jwt = authHeader.substring(7);
 
-		// Extract username (email) from the JWT token
-		userEmail = jwtUtil.extractUserName(jwt);
+		// Verify the token (or find its cached claims) once; every claim below is read from the result
+		claims = jwtUtil.parseClaims(jwt);
+
+		// Extract username (email) from the JWT claims
+		userEmail = claims.getSubject();
 
-		// If the username is valid and there's no authentication already present
-		if (StringUtils.isNotEmpty(userEmail) && SecurityContextHolder.getContext().getAuthentication() == null) {
-			// Load user details from the UserService
-			UserDetails userDetails = userService.userDetailService().loadUserByUsername(userEmail);
+		// If the username is valid, the token is not revoked and there's no authentication already present
+		if (StringUtils.isNotEmpty(userEmail)
+				&& !tokenRevocationService.isRevoked(claims.getId())
+				&& SecurityContextHolder.getContext().getAuthentication() == null) {
+			// In stateless mode, build the principal from the token claims (no database access)
+			UserDetails userDetails = statelessPrincipal ? jwtUtil.extractPrincipal(claims) : null;
+
+			// Otherwise, or for tokens issued without user claims, load user details from the UserService
+			if (userDetails == null) {
+				userDetails = userService.userDetailService().loadUserByUsername(userEmail);
+			}
 
 			// Validate the token against the loaded user details
-			if (jwtUtil.isTokenValid(jwt, userDetails)) {
+			if (jwtUtil.isTokenValid(claims, userDetails)) {
 				// Create a new empty security context
 				SecurityContext context = SecurityContextHolder.createEmptyContext();
 
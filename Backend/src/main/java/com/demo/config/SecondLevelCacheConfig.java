@@ -0,0 +1,85 @@
+package com.demo.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Enables the Hibernate second-level and query caches on an in-JVM Caffeine
+ * JCache provider. Every region is created here with its own size and TTL,
+ * and Hibernate is told to fail on any region that was not.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /**
+     * Entity region of {@link com.demo.entities.User}.
+     */
+    public static final String USER_REGION = "user";
+
+    /**
+     * Entity region of {@link com.demo.entities.Task}.
+     */
+    public static final String TASK_REGION = "task";
+
+    /**
+     * Creates a cache manager private to this application context, holding
+     * the entity, query result and update timestamp regions.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.hibernate.user.max-size:10000}") long userMaxSize,
+            @Value("${app.cache.hibernate.user.ttl:PT10M}") Duration userTtl,
+            @Value("${app.cache.hibernate.task.max-size:50000}") long taskMaxSize,
+            @Value("${app.cache.hibernate.task.ttl:PT10M}") Duration taskTtl,
+            @Value("${app.cache.hibernate.query.max-size:10000}") long queryMaxSize,
+            @Value("${app.cache.hibernate.query.ttl:PT5M}") Duration queryTtl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(USER_REGION, region(userMaxSize, userTtl));
+        cacheManager.createCache(TASK_REGION, region(taskMaxSize, taskTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(queryMaxSize, queryTtl));
+        // Update timestamps must outlive every cached query result, so this region is never bounded
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<Object, Object>().setStoreByValue(false));
+        return cacheManager;
+    }
+
+    /**
+     * Points Hibernate at the cache manager and enables the second-level and query caches.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        return new CaffeineConfiguration<Object, Object>()
+                .setStoreByValue(false)
+                .setMaximumSize(OptionalLong.of(maxSize))
+                .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()))
+                .setStatisticsEnabled(true);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -18,12 +19,17 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
 
+import jakarta.servlet.DispatcherType;
+
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 
 @Configuration
@@ -50,6 +56,10 @@ public class WebSecurityConfig {
 
 			// Define authorization rules for different endpoints
 			.authorizeHttpRequests(request -> request
+				// Let streamed exports complete; the request was authorized before it went async
+				.requestMatchers(new AndRequestMatcher(new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+						AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/admin/tasks/export"))).permitAll()
+
 				// Allow public access to authentication endpoints
 				.requestMatchers("/api/auth/**").permitAll()
 
@@ -84,11 +94,14 @@ public class WebSecurityConfig {
 		config.setAllowedOrigins(List.of("http://localhost:4200"));
 
 		// Allow specific HTTP methods
-		config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+		config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
 
 		// Allow all headers
 		config.setAllowedHeaders(List.of("*"));
 
+		// Expose pagination and ETag headers to the frontend
+		config.setExposedHeaders(List.of("X-Next-Cursor", "X-Total-Count", "ETag"));
+
 		// Allow credentials such as cookies and authorization headers
 		config.setAllowCredentials(true);
 
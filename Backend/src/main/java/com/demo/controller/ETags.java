@@ -0,0 +1,81 @@
+package com.demo.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Helpers for strong ETags and {@code If-None-Match} handling in controllers.
+ * Responses are marked {@code no-cache, private} so that browsers keep them
+ * and revalidate on every use instead of refetching.
+ */
+public final class ETags {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    /**
+     * Builds a strong ETag from everything the representation depends on.
+     *
+     * @param parts version stamps and request parameters; nulls are allowed
+     * @return the quoted ETag
+     */
+    public static String of(Object... parts) {
+        String key = String.join("\u0000", Arrays.stream(parts).map(String::valueOf).toList());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Checks an {@code If-None-Match} header against the current ETags, using
+     * the weak comparison that the header calls for.
+     *
+     * @param ifNoneMatch the header value, or null if absent
+     * @param etags the current ETags, one per representation such as an encoding
+     * @return true if the client already holds a current representation
+     */
+    public static boolean matches(String ifNoneMatch, String... etags) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || Arrays.asList(etags).contains(tag.startsWith("W/") ? tag.substring(2) : tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds a 304 response for the given ETag.
+     *
+     * @param etag the current ETag
+     * @return an empty Not Modified response
+     */
+    public static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+    }
+
+    /**
+     * Starts a 200 response carrying the given ETag.
+     *
+     * @param etag the current ETag
+     * @return the response builder
+     */
+    public static ResponseEntity.BodyBuilder ok(String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE);
+    }
+}
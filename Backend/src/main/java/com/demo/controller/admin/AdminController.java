@@ -1,32 +1,91 @@
 package com.demo.controller.admin;
 
+import com.demo.controller.ETags;
+import com.demo.dao.BulkTaskResult;
+import com.demo.dao.BulkUpdateResult;
 import com.demo.dao.CommentDao;
+import com.demo.dao.CursorPage;
+import com.demo.dao.EmployeeSummary;
+import com.demo.dao.Suggestion;
 import com.demo.dao.TaskDao;
+import com.demo.dao.TaskFilter;
+import com.demo.enums.ExportFormat;
+import com.demo.enums.TaskStatus;
 import com.demo.services.admin.AdminService;
+import com.demo.services.cache.CachedResponse;
+import com.demo.services.cache.ResponseCacheService;
+import com.demo.services.export.TaskExportService;
+import com.demo.services.jwt.TokenRevocationService;
+import com.demo.services.stamp.CollectionStampService;
+import com.demo.services.typeahead.TypeaheadService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/admin")
-@CrossOrigin(origins = "http://localhost:4200", allowedHeaders = "*")
+@CrossOrigin(origins = "http://localhost:4200", allowedHeaders = "*",
+        exposedHeaders = {AdminController.NEXT_CURSOR_HEADER, AdminController.TOTAL_COUNT_HEADER, HttpHeaders.ETAG})
 @Slf4j
 public class AdminController {
 
+    // Response header carrying the cursor of the next page
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // Response header carrying the total number of matches of a filtered listing
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     // Inject the admin service to handle business logic
     private final AdminService adminService;
 
-    // Fetch the list of all users
+    // Inject the revocation service for forced token revocation
+    private final TokenRevocationService tokenRevocationService;
+
+    // Inject the typeahead service for prefix suggestions
+    private final TypeaheadService typeaheadService;
+
+    // Inject the collection stamps backing the list ETags
+    private final CollectionStampService collectionStampService;
+
+    // Inject the cache of encoded list responses, keyed by their ETags
+    private final ResponseCacheService responseCacheService;
+
+    // Inject the export service for full task dumps
+    private final TaskExportService taskExportService;
+
+    // Fetch a page of the employee directory with open task counts, optionally filtered by name;
+    // the total number of matches is returned in the X-Total-Count header. Served as pre-encoded
+    // bytes while neither users nor tasks have changed
     @GetMapping("/users")
-    public ResponseEntity<?> getUsers() {
-        log.info("Admin requested user list.");
-        return ResponseEntity.ok(adminService.getUsers());
+    public ResponseEntity<byte[]> getUsers(@RequestParam(required = false) String name,
+                                           @RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "200") int size,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String etag = ETags.of("admin-users", collectionStampService.userListStamp(),
+                collectionStampService.taskListStamp(), name, page, size);
+        if (ETags.matches(ifNoneMatch, etag, CachedResponse.gzipETag(etag))) {
+            return ETags.notModified(CachedResponse.eTag(etag, acceptEncoding));
+        }
+        log.info("Admin requested user list (name: {}, page: {}, size: {}).", name, page, size);
+        return responseCacheService.get(etag, () -> {
+            Page<EmployeeSummary> users = adminService.getUsers(name, page, size);
+            return responseCacheService.encode(users.getContent(),
+                    Map.of(TOTAL_COUNT_HEADER, String.valueOf(users.getTotalElements())));
+        }).write(ETags.ok(etag), etag, acceptEncoding);
     }
 
     // Create a new task
@@ -46,11 +105,64 @@ public class AdminController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createTaskDao);
     }
 
-    // Fetch all tasks
+    // Create many tasks in one request; every item gets a result with the new task ID or the
+    // reason it was rejected, so a partial failure does not roll back the valid items
+    @PostMapping("/tasks/bulk")
+    public ResponseEntity<List<BulkTaskResult>> createTasks(@RequestBody List<TaskDao> taskDaos) {
+        log.info("Admin creating {} tasks in bulk", taskDaos.size());
+        List<BulkTaskResult> results = adminService.createTasks(taskDaos);
+        long rejected = results.stream().filter(result -> result.getError() != null).count();
+        log.info("Bulk task creation finished: {} created, {} rejected", results.size() - rejected, rejected);
+        return ResponseEntity.ok(results);
+    }
+
+    // Fetch one page of tasks; the next page's cursor is returned in the X-Next-Cursor header.
+    // Answers 304 without loading the page when the client's ETag still matches the task list stamp,
+    // and otherwise serves the page as pre-encoded bytes while the task list is unchanged
     @GetMapping("/tasks")
-    public ResponseEntity<?> getAllTasks() {
-        log.info("Admin fetching all tasks.");
-        return ResponseEntity.ok(adminService.getAllTasks());
+    public ResponseEntity<byte[]> getAllTasks(@RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "50") int size,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String etag = ETags.of("admin-tasks", collectionStampService.taskListStamp(), cursor, size);
+        if (ETags.matches(ifNoneMatch, etag, CachedResponse.gzipETag(etag))) {
+            return ETags.notModified(CachedResponse.eTag(etag, acceptEncoding));
+        }
+        log.info("Admin fetching tasks page (cursor: {}, size: {}).", cursor, size);
+        return responseCacheService.get(etag, () -> {
+            CursorPage<TaskDao> page = adminService.getAllTasks(cursor, size);
+            return responseCacheService.encode(page.getItems(), page.getNextCursor() == null
+                    ? Map.of() : Map.of(NEXT_CURSOR_HEADER, page.getNextCursor()));
+        }).write(ETags.ok(etag), etag, acceptEncoding);
+    }
+
+    // Download every task as CSV or NDJSON (format=CSV|NDJSON). Rows are streamed from a database
+    // cursor to the response as they are read, so memory use does not grow with the table
+    @GetMapping("/tasks/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        log.info("Admin exporting all tasks as {}.", format);
+        StreamingResponseBody body = out -> {
+            long exported = taskExportService.exportTasks(format, out);
+            log.info("Exported {} tasks as {}.", exported, format);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + format.getFileExtension()).build().toString())
+                .body(body);
+    }
+
+    // Filter tasks by any combination of status, priority, assignee, due-date range and title term;
+    // the total number of matches is returned in the X-Total-Count header
+    @GetMapping("/tasks/filter")
+    public ResponseEntity<List<TaskDao>> filterTasks(TaskFilter filter,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "50") int size) {
+        log.info("Admin filtering tasks: {} (page: {}, size: {}).", filter, page, size);
+        Page<TaskDao> result = adminService.filterTasks(filter, page, size);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(result.getTotalElements()))
+                .body(result.getContent());
     }
 
     // Delete a task by its ID
@@ -61,7 +173,8 @@ public class AdminController {
         return ResponseEntity.ok(null);
     }
 
-    // Update a task by its ID
+    // Update a task by its ID; if the body carries a version that is no longer current, the
+    // response is 409 Conflict with the current task
     @PutMapping("/task/{id}")
     public ResponseEntity<TaskDao> updateTask(@PathVariable Long id, @RequestBody TaskDao taskDao) {
         log.info("Admin updating task with ID: {}", id);
@@ -78,6 +191,53 @@ public class AdminController {
         return ResponseEntity.ok(updatedTask);
     }
 
+    // Set the status of the listed tasks with one UPDATE statement (e.g. closing a sprint);
+    // returns the number of tasks changed
+    @PutMapping("/tasks/status")
+    public ResponseEntity<BulkUpdateResult> updateTaskStatus(@RequestParam TaskStatus newStatus,
+                                                             @RequestBody List<Long> ids) {
+        log.info("Admin setting status {} on {} tasks", newStatus, ids.size());
+        int updated = adminService.updateTaskStatus(ids, newStatus);
+        log.info("Status set on {} tasks", updated);
+        return ResponseEntity.ok(new BulkUpdateResult(updated));
+    }
+
+    // Set the status of every task matching the filter, given with the same parameters as
+    // GET /tasks/filter, with one UPDATE statement; returns the number of tasks changed
+    @PutMapping("/tasks/filter/status")
+    public ResponseEntity<BulkUpdateResult> updateFilteredTaskStatus(TaskFilter filter,
+                                                                     @RequestParam TaskStatus newStatus) {
+        log.info("Admin setting status {} on tasks matching {}", newStatus, filter);
+        int updated = adminService.updateTaskStatus(filter, newStatus);
+        log.info("Status set on {} tasks", updated);
+        return ResponseEntity.ok(new BulkUpdateResult(updated));
+    }
+
+    // Move every open task of one employee to another (e.g. when offboarding) with one UPDATE
+    // statement; returns the number of tasks moved
+    @PutMapping("/tasks/reassign")
+    public ResponseEntity<BulkUpdateResult> reassignOpenTasks(@RequestParam Long from, @RequestParam Long to) {
+        log.info("Admin reassigning open tasks from employee {} to {}", from, to);
+        int updated = adminService.reassignOpenTasks(from, to);
+        log.info("Reassigned {} tasks", updated);
+        return ResponseEntity.ok(new BulkUpdateResult(updated));
+    }
+
+    // Partially update a task: only the fields present in the body are written, with one UPDATE
+    // statement; the response is tagged with the new row version and comment count. A version in the
+    // body makes the update conditional (409 Conflict if stale); status-only changes are reapplied instead
+    @PatchMapping("/task/{id}")
+    public ResponseEntity<TaskDao> patchTask(@PathVariable Long id, @RequestBody TaskDao changes) {
+        log.info("Admin patching task with ID: {}", id);
+        TaskDao patchedTask = adminService.patchTask(id, changes);
+        if (patchedTask == null) {
+            log.warn("Task not found for patch. ID: {}", id);
+            return ResponseEntity.notFound().build();
+        }
+        return ETags.ok(ETags.of("task", patchedTask.getId(), patchedTask.getVersion(), patchedTask.getCommentCount()))
+                .body(patchedTask);
+    }
+
     // Search for tasks by a partial title match
     @GetMapping("/tasks/search/{title}")
     public ResponseEntity<List<TaskDao>> searchTask(@PathVariable String title) {
@@ -85,11 +245,34 @@ public class AdminController {
         return ResponseEntity.ok(adminService.searchTaskByTitle(title));
     }
 
-    // Get a specific task by its ID
+    // Suggest tasks whose title has a word starting with the prefix, latest due date first
+    @GetMapping("/typeahead/tasks")
+    public ResponseEntity<List<Suggestion>> suggestTasks(@RequestParam String prefix,
+                                                         @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(typeaheadService.suggestTasks(prefix, limit));
+    }
+
+    // Suggest employees whose name has a word starting with the prefix
+    @GetMapping("/typeahead/users")
+    public ResponseEntity<List<Suggestion>> suggestUsers(@RequestParam String prefix,
+                                                         @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(typeaheadService.suggestUsers(prefix, limit));
+    }
+
+    // Get a specific task by its ID, tagged with its row version and comment count
     @GetMapping("/task/{id}")
-    public ResponseEntity<TaskDao> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<TaskDao> getTaskById(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Admin fetching task with ID: {}", id);
-        return ResponseEntity.ok(adminService.getTaskById(id));
+        TaskDao task = adminService.getTaskById(id);
+        if (task == null) {
+            return ResponseEntity.ok(null);
+        }
+        String etag = ETags.of("task", task.getId(), task.getVersion(), task.getCommentCount());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        return ETags.ok(etag).body(task);
     }
 
     // Create a comment on a specific task
@@ -104,15 +287,39 @@ public class AdminController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
 
-        // On success, return CREATED with the created comment
+        // On success, return CREATED with the created comment, or ACCEPTED if it was queued for group commit
         log.info("Comment created on Task ID: {}", taskId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdCommentDao);
+        return ResponseEntity.status(createdCommentDao.getId() == null ? HttpStatus.ACCEPTED : HttpStatus.CREATED)
+                .body(createdCommentDao);
     }
 
-    // Get all comments for a specific task
+    // Get one page of comments for a specific task, newest first (order=ASC for oldest first); the next
+    // page's cursor is returned in the X-Next-Cursor header. Answers 304 without loading the page while the
+    // thread is unchanged
     @GetMapping("/comments/{taskId}")
-    public ResponseEntity<List<CommentDao>> getCommentsByTaskId(@PathVariable Long taskId) {
-        log.info("Admin fetching comments for Task ID: {}", taskId);
-        return ResponseEntity.ok(adminService.getCommentsByTaskId(taskId));
+    public ResponseEntity<List<CommentDao>> getCommentsByTaskId(@PathVariable Long taskId,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "50") int size,
+                                                                @RequestParam(defaultValue = "DESC") Sort.Direction order,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of("comments", taskId, collectionStampService.commentListStamp(taskId), cursor, size, order);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        log.info("Admin fetching comments for Task ID: {} (cursor: {}, size: {}, order: {})", taskId, cursor, size, order);
+        CursorPage<CommentDao> page = adminService.getCommentsByTaskId(taskId, cursor, size, order);
+        ResponseEntity.BodyBuilder response = ETags.ok(etag);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    // Force-revoke a token (e.g. a leaked one) until it expires
+    @PostMapping("/tokens/revoke")
+    public ResponseEntity<Void> revokeToken(@RequestBody String token) {
+        log.info("Admin revoking a token.");
+        tokenRevocationService.revokeToken(token.trim());
+        return ResponseEntity.noContent().build();
     }
 }
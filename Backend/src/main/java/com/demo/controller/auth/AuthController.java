@@ -1,24 +1,18 @@
 package com.demo.controller.auth;
 
-import java.util.Optional;
-
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import com.demo.dao.AuthenticationRequest;
 import com.demo.dao.AuthenticationResponse;
 import com.demo.dao.SignupRequest;
 import com.demo.dao.UserDto;
-import com.demo.entities.User;
-import com.demo.repositories.UserRepository;
 import com.demo.services.auth.AuthService;
-import com.demo.services.jwt.UserService;
-import com.demo.utils.JwtUtil;
+import com.demo.services.jwt.TokenRevocationService;
+
+import io.jsonwebtoken.JwtException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,12 +24,9 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AuthController {
 
-    // Injecting required services and repositories
+    // Injecting required services
     private final AuthService authService;
-    private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
-    private final UserService userService;
-    private final AuthenticationManager authenticationManager;
+    private final TokenRevocationService tokenRevocationService;
 
     // Endpoint for user signup
     @PostMapping("/signup")
@@ -67,39 +58,38 @@ public class AuthController {
     public AuthenticationResponse login(@RequestBody AuthenticationRequest authenticationRequest) {
         log.info("Login attempt for email: {}", authenticationRequest.getEmail());
 
+        final AuthenticationResponse authenticationResponse;
         try {
-            // Authenticate the user using Spring Security
-            authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                    authenticationRequest.getEmail(),
-                    authenticationRequest.getPassword()));
+            // Authenticate with a single user lookup and issue the JWT for the same user
+            authenticationResponse = authService.login(authenticationRequest);
         } catch (BadCredentialsException e) {
             // Handle incorrect credentials
             log.error("Login failed for email: {}", authenticationRequest.getEmail());
-            throw new BadCredentialsException("Incorrect username or password");
+            throw e;
         }
 
-        // Load authenticated user's details
-        final UserDetails userDetails = userService.userDetailService().loadUserByUsername(authenticationRequest.getEmail());
-        Optional<User> optionalUser = userRepository.findFirstByEmail(authenticationRequest.getEmail());
-
-        // Generate JWT token after successful authentication
-        final String jwtToken = jwtUtil.generateToken(userDetails);
-        AuthenticationResponse authenticationResponse = new AuthenticationResponse();
-
-        // If user is found, populate authentication response
-        if (optionalUser.isPresent()) {
-            User user = optionalUser.get();
-            authenticationResponse.setJwt(jwtToken);
-            authenticationResponse.setUserId(user.getId());
-            authenticationResponse.setUserRole(user.getUserRole());
-            log.info("Login successful for user ID: {}, role: {}", user.getId(), user.getUserRole());
-        } else {
-            // Log warning if user not found despite successful authentication
-            log.warn("User not found after successful authentication: {}", authenticationRequest.getEmail());
-        }
+        log.info("Login successful for user ID: {}, role: {}",
+                authenticationResponse.getUserId(), authenticationResponse.getUserRole());
 
         // Return response containing JWT and user details
         return authenticationResponse;
     }
+
+    // Endpoint for user logout: revokes the presented token until it expires; a token that cannot be parsed is rejected
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        try {
+            tokenRevocationService.revokeToken(authHeader.substring(7));
+            log.info("Token revoked on logout.");
+        } catch (JwtException e) {
+            // Malformed, tampered or expired tokens are not revoked
+            log.warn("Logout with an unusable token: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,14 +1,22 @@
 package com.demo.controller.employee;
 
+import java.security.Principal;
 import java.util.List;
 
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.demo.controller.ETags;
+import com.demo.controller.admin.AdminController;
 import com.demo.dao.CommentDao;
+import com.demo.dao.CursorPage;
 import com.demo.dao.TaskDao;
+import com.demo.enums.TaskStatus;
 import com.demo.services.employee.EmployeeService;
+import com.demo.services.stamp.CollectionStampService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,21 +24,43 @@ import lombok.extern.slf4j.Slf4j;
 @RestController
 @RequestMapping("/api/employee")
 @RequiredArgsConstructor
-@CrossOrigin("*") // Allow CORS requests from any origin
+@CrossOrigin(origins = "*", exposedHeaders = {AdminController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG}) // Allow CORS requests from any origin
 @Slf4j
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final CollectionStampService collectionStampService;
 
     /**
-     * Retrieves tasks assigned to the currently logged-in employee.
+     * Retrieves a page of tasks assigned to the currently logged-in employee.
+     * The cursor for the next page, if any, is returned in the X-Next-Cursor header.
+     * Answers 304 without loading the page while the client's ETag still matches.
+     *
+     * @param status      optional status filter
+     * @param cursor      cursor from the previous page; omit for the first page
+     * @param size        page size
+     * @param ifNoneMatch ETag of the page the client holds, if any
+     * @param principal   the logged-in employee, whose feed the ETag covers
      */
     @GetMapping("/tasks")
-    public ResponseEntity<List<TaskDao>> getTasksByUserId() {
-        log.info("Fetching tasks for logged-in employee.");
-        List<TaskDao> tasks = employeeService.getTasksByUserId();
-        log.info("Found {} tasks for employee.", tasks.size());
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<TaskDao>> getTasksByUserId(@RequestParam(required = false) TaskStatus status,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "50") int size,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                          Principal principal) {
+        String etag = ETags.of("employee-tasks", collectionStampService.taskListStamp(),
+                principal == null ? null : principal.getName(), status, cursor, size);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        log.info("Fetching tasks for logged-in employee (status: {}, cursor: {}, size: {}).", status, cursor, size);
+        CursorPage<TaskDao> page = employeeService.getTasksByUserId(status, cursor, size);
+        log.info("Found {} tasks for employee.", page.getItems().size());
+        ResponseEntity.BodyBuilder response = ETags.ok(etag);
+        if (page.getNextCursor() != null) {
+            response.header(AdminController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
     /**
@@ -52,24 +82,45 @@ public class EmployeeController {
     }
 
     /**
-     * Fetches a specific task by its ID.
+     * Sets the status of a task with a single UPDATE, without loading it.
      *
-     * @param id Task ID
+     * @param id     Task ID
+     * @param status New status to apply
+     */
+    @PatchMapping("/task/{id}/status")
+    public ResponseEntity<TaskDao> updateTaskStatus(@PathVariable Long id, @RequestParam TaskStatus status) {
+        log.info("Patching status of task with ID {} to {}", id, status);
+        TaskDao updatedTaskDao = employeeService.updateTaskStatus(id, status);
+        return ETags.ok(ETags.of("task", updatedTaskDao.getId(), updatedTaskDao.getVersion(),
+                updatedTaskDao.getCommentCount())).body(updatedTaskDao);
+    }
+
+    /**
+     * Fetches a specific task by its ID, tagged with its row version and comment count.
+     *
+     * @param id          Task ID
+     * @param ifNoneMatch ETag of the task the client holds, if any
      */
     @GetMapping("/task/{id}")
-    public ResponseEntity<TaskDao> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<TaskDao> getTaskById(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Fetching task details for ID {}", id);
         TaskDao task = employeeService.getTaskById(id);
         if (task == null) {
             log.warn("Task not found for ID {}", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
+        String etag = ETags.of("task", task.getId(), task.getVersion(), task.getCommentCount());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
         log.info("Task found: ID {}", task.getId());
-        return ResponseEntity.ok(task);
+        return ETags.ok(etag).body(task);
     }
 
     /**
-     * Adds a comment to a specific task.
+     * Adds a comment to a specific task. Answers 202 instead of 201 when the
+     * comment was queued for group commit rather than stored.
      *
      * @param taskId  ID of the task to comment on
      * @param content Comment content
@@ -83,19 +134,38 @@ public class EmployeeController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
         log.info("Comment created successfully for task ID {}", taskId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdCommentDao);
+        return ResponseEntity.status(createdCommentDao.getId() == null ? HttpStatus.ACCEPTED : HttpStatus.CREATED)
+                .body(createdCommentDao);
     }
 
     /**
-     * Retrieves all comments associated with a given task ID.
+     * Retrieves one page of the comments on a given task, newest first by
+     * default. The cursor of the next page is returned in the X-Next-Cursor
+     * header. Answers 304 without loading the page while the thread is unchanged.
      *
-     * @param taskId ID of the task
+     * @param taskId      ID of the task
+     * @param cursor      cursor from the previous page's X-Next-Cursor header, if any
+     * @param size        page size
+     * @param order       DESC for newest first, ASC for oldest first
+     * @param ifNoneMatch ETag of the page the client holds, if any
      */
     @GetMapping("/comments/{taskId}")
-    public ResponseEntity<List<CommentDao>> getCommentsByTaskId(@PathVariable Long taskId) {
-        log.info("Fetching comments for task ID {}", taskId);
-        List<CommentDao> comments = employeeService.getCommentsByTaskId(taskId);
-        log.info("Found {} comments for task ID {}", comments.size(), taskId);
-        return ResponseEntity.ok(comments);
+    public ResponseEntity<List<CommentDao>> getCommentsByTaskId(@PathVariable Long taskId,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "50") int size,
+                                                                @RequestParam(defaultValue = "DESC") Sort.Direction order,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of("comments", taskId, collectionStampService.commentListStamp(taskId), cursor, size, order);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        log.info("Fetching comments for task ID {} (cursor: {}, size: {}, order: {})", taskId, cursor, size, order);
+        CursorPage<CommentDao> page = employeeService.getCommentsByTaskId(taskId, cursor, size, order);
+        log.info("Found {} comments for task ID {}", page.getItems().size(), taskId);
+        ResponseEntity.BodyBuilder response = ETags.ok(etag);
+        if (page.getNextCursor() != null) {
+            response.header(AdminController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 }
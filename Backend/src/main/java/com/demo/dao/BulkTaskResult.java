@@ -0,0 +1,57 @@
+package com.demo.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a bulk task request: the created task's ID, or the
+ * reason the item was rejected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskResult {
+
+    /**
+     * Upper bound on the number of items accepted in one bulk request.
+     */
+    public static final int MAX_ITEMS = 5000;
+
+    /**
+     * Position of the item in the request.
+     */
+    private int index;
+
+    /**
+     * ID of the created task, or null if the item was rejected.
+     */
+    private Long id;
+
+    /**
+     * Reason the item was rejected, or null on success.
+     */
+    private String error;
+
+    /**
+     * Result of an item that was stored.
+     *
+     * @param index position of the item in the request
+     * @param id ID of the created task
+     * @return successful result
+     */
+    public static BulkTaskResult created(int index, Long id) {
+        return new BulkTaskResult(index, id, null);
+    }
+
+    /**
+     * Result of an item that was not stored.
+     *
+     * @param index position of the item in the request
+     * @param error reason for the rejection
+     * @return failed result
+     */
+    public static BulkTaskResult rejected(int index, String error) {
+        return new BulkTaskResult(index, null, error);
+    }
+}
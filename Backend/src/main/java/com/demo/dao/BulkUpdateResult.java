@@ -0,0 +1,19 @@
+package com.demo.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a set-based task update.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResult {
+
+    /**
+     * Number of tasks the update changed.
+     */
+    private int updated;
+}
@@ -2,11 +2,13 @@ package com.demo.dao;
 
 import java.util.Date;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 /**
  * Data Transfer Object representing a comment made on a task.
  */
 @Data
+@NoArgsConstructor
 public class CommentDao {
 	
 	/**
@@ -38,4 +40,17 @@ public class CommentDao {
 	 * Name or identifier of the user who posted the comment.
 	 */
 	private String postedBy;
+
+	/**
+	 * Projection constructor used by JPQL {@code select new} queries that join
+	 * the author once instead of loading Comment, Task and User entities.
+	 */
+	public CommentDao(Long id, String content, Date createdAt, Long taskId, Long userId, String postedBy) {
+		this.id = id;
+		this.content = content;
+		this.createdAt = createdAt;
+		this.taskId = taskId;
+		this.userId = userId;
+		this.postedBy = postedBy;
+	}
 }
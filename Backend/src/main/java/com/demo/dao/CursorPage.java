@@ -0,0 +1,59 @@
+package com.demo.dao;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A page of results from a keyset-paginated query.
+ *
+ * @param <T> type of the items in the page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * Upper bound on the page size accepted from clients.
+     */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * Items in this page, in query order.
+     */
+    private List<T> items;
+
+    /**
+     * Opaque cursor to pass back for the next page, or null on the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Clamps a client-supplied page size to [1, {@link #MAX_PAGE_SIZE}].
+     *
+     * @param size requested page size
+     * @return page size to query with
+     */
+    public static int clampSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Builds a page from a query that was limited to {@code limit} rows. A full
+     * page gets a next cursor pointing at its last item; a short page is the last.
+     *
+     * @param items rows returned by the query
+     * @param limit the limit the query ran with
+     * @param cursorOf encodes the position of an item
+     * @param <T> type of the items
+     * @return the page
+     */
+    public static <T> CursorPage<T> of(List<T> items, int limit, Function<T, String> cursorOf) {
+        String nextCursor = items.size() == limit ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+}
@@ -0,0 +1,34 @@
+package com.demo.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Directory entry of an employee, with the number of tasks still open for them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSummary {
+
+    /**
+     * Unique identifier of the employee.
+     */
+    private Long id;
+
+    /**
+     * Full name of the employee.
+     */
+    private String name;
+
+    /**
+     * Email address of the employee.
+     */
+    private String email;
+
+    /**
+     * Number of tasks assigned to the employee that are pending, in progress or deferred.
+     */
+    private Long openTaskCount;
+}
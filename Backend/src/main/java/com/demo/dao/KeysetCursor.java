@@ -0,0 +1,51 @@
+package com.demo.dao;
+
+import java.util.Date;
+
+/**
+ * Position in a result set ordered by a timestamp and then by ID, encoded for
+ * clients as the opaque string {@code "<epochMillis>_<id>"}, or
+ * {@code "null_<id>"} when the row has no timestamp.
+ *
+ * @param timestamp sort timestamp of the last row returned, or null if it has none
+ * @param id ID of the last row returned (tie-breaker)
+ */
+public record KeysetCursor(Date timestamp, Long id) {
+
+    /**
+     * Stands in for a missing timestamp in the encoded cursor.
+     */
+    private static final String NO_TIMESTAMP = "null";
+
+    /**
+     * Encodes the position of the given row.
+     *
+     * @param timestamp sort timestamp of the row, or null if it has none
+     * @param id ID of the row
+     * @return opaque cursor string
+     */
+    public static String encode(Date timestamp, Long id) {
+        return (timestamp == null ? NO_TIMESTAMP : String.valueOf(timestamp.getTime())) + "_" + id;
+    }
+
+    /**
+     * Decodes a cursor string produced by {@link #encode(Date, Long)}.
+     *
+     * @param cursor the cursor string
+     * @return the decoded position
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static KeysetCursor parse(String cursor) {
+        int separator = cursor.indexOf('_');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        String timestamp = cursor.substring(0, separator);
+        try {
+            return new KeysetCursor(timestamp.equals(NO_TIMESTAMP) ? null : new Date(Long.parseLong(timestamp)),
+                    Long.parseLong(cursor.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
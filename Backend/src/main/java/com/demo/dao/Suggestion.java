@@ -0,0 +1,24 @@
+package com.demo.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A typeahead suggestion: the ID of the suggested entity and its display text.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+
+    /**
+     * ID of the suggested task or user.
+     */
+    private Long id;
+
+    /**
+     * Task title or user name.
+     */
+    private String text;
+}
@@ -4,11 +4,13 @@ import java.util.Date;
 
 import com.demo.enums.TaskStatus;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 /**
  * Data Transfer Object representing task details.
  */
 @Data
+@NoArgsConstructor
 public class TaskDao {
 
     /**
@@ -50,4 +52,39 @@ public class TaskDao {
      * Name of the employee assigned to the task.
      */
     private String employeeName;
+
+    /**
+     * Version of the task row this snapshot was read from.
+     */
+    private Long version;
+
+    /**
+     * Number of comments on the task.
+     */
+    private Long commentCount;
+
+    /**
+     * Date and time of the latest comment on the task, or null if it has none.
+     */
+    private Date lastCommentAt;
+
+    /**
+     * Projection constructor used by JPQL {@code select new} queries that join
+     * the assignee once instead of loading Task and User entities.
+     */
+    public TaskDao(Long id, String title, String description, Date dueDate, String priority,
+                   TaskStatus taskStatus, Long employeeId, String employeeName, Long version,
+                   Long commentCount, Date lastCommentAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.dueDate = dueDate;
+        this.priority = priority;
+        this.taskStatus = taskStatus;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.version = version;
+        this.commentCount = commentCount;
+        this.lastCommentAt = lastCommentAt;
+    }
 }
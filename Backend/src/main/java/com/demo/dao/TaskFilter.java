@@ -0,0 +1,49 @@
+package com.demo.dao;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.demo.enums.TaskStatus;
+
+import lombok.Data;
+
+/**
+ * Criteria for filtering tasks. Every field is optional; the criteria that are
+ * set are combined with AND.
+ */
+@Data
+public class TaskFilter {
+
+    /**
+     * Only tasks in this status.
+     */
+    private TaskStatus status;
+
+    /**
+     * Only tasks with this priority (e.g., High, Medium, Low).
+     */
+    private String priority;
+
+    /**
+     * Only tasks assigned to this employee.
+     */
+    private Long employeeId;
+
+    /**
+     * Only tasks due on or after this day.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+
+    /**
+     * Only tasks due on or before this day.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+
+    /**
+     * Only tasks whose title contains this term, ignoring case.
+     */
+    private String title;
+}
@@ -13,8 +13,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 /**
@@ -22,6 +25,10 @@ import lombok.Data;
  */
 @Data
 @Entity
+@Table(indexes = {
+    // Comment thread of a task in creation order
+    @Index(name = "idx_comment_task_created_at", columnList = "task_id, created_at")
+})
 public class Comment {
 
     /**
@@ -63,6 +70,12 @@ public class Comment {
     @JsonIgnore
     private Task task;
 
+    /**
+     * Row version, incremented on every update. Used for optimistic locking.
+     */
+    @Version
+    private Long version;
+
     /**
      * Converts the entity to a data access object (DAO) for API responses or transfer.
      * 
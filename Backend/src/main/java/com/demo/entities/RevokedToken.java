@@ -0,0 +1,33 @@
+package com.demo.entities;
+
+import java.util.Date;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Entity class representing a JWT that was revoked before its natural expiry
+ * (e.g. on logout). Rows are only needed until the token would have expired.
+ */
+@Data
+@Entity
+@Table(indexes = {
+    // Startup reload of live revocations and pruning of expired ones
+    @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+
+    /**
+     * The token's unique identifier (jti claim).
+     */
+    @Id
+    private String jti;
+
+    /**
+     * Expiry of the revoked token; the row can be pruned after this instant.
+     */
+    private Date expiresAt;
+}
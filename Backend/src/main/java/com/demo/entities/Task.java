@@ -2,20 +2,29 @@ package com.demo.entities;
 
 import java.util.Date;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
+import com.demo.config.SecondLevelCacheConfig;
 import com.demo.dao.TaskDao;
 import com.demo.enums.TaskStatus;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 /**
@@ -23,13 +32,24 @@ import lombok.Data;
  */
 @Entity
 @Data
+@Table(indexes = {
+    // Keyset pagination of the admin task list: ORDER BY due_date DESC, id DESC
+    @Index(name = "idx_task_due_date_id", columnList = "due_date, id"),
+    // Employee task feed, optionally filtered by status, ordered by due date
+    @Index(name = "idx_task_user_status_due_date", columnList = "user_id, task_status, due_date")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TASK_REGION)
 public class Task {
 
     /**
-     * Primary key - unique identifier for the task.
+     * Primary key - unique identifier for the task. Allocated in pooled blocks
+     * from the id_generator table so that inserts can be JDBC-batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_id")
+    @TableGenerator(name = "task_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "task", allocationSize = 50)
     private Long id;
 
     /**
@@ -67,6 +87,28 @@ public class Task {
     @JsonIgnore
     private User user;
 
+    /**
+     * Row version, incremented on every update. Used for optimistic locking
+     * and as the task's ETag.
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Number of comments on the task. Maintained by set-based updates in the
+     * transaction that inserts the comments, never written from the entity,
+     * and not a task change, so it does not bump the row version.
+     */
+    @Column(insertable = false, updatable = false)
+    private long commentCount;
+
+    /**
+     * Creation time of the latest comment on the task, or null if it has none.
+     * Maintained together with {@link #commentCount}.
+     */
+    @Column(insertable = false, updatable = false)
+    private Date lastCommentAt;
+
     /**
      * Converts the entity to a data transfer object (DAO) for use in responses.
      *
@@ -82,6 +124,9 @@ public class Task {
         taskDao.setTaskStatus(taskStatus);
         taskDao.setDueDate(dueDate);
         taskDao.setPriority(priority);
+        taskDao.setVersion(version);
+        taskDao.setCommentCount(commentCount);
+        taskDao.setLastCommentAt(lastCommentAt);
         return taskDao;
     }
 }
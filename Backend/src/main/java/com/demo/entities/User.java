@@ -1,19 +1,23 @@
 package com.demo.entities;
 
 import java.util.Collection;
-import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.demo.config.SecondLevelCacheConfig;
 import com.demo.dao.UserDto;
 import com.demo.enums.UserRole;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.Data;
 
 /**
@@ -22,6 +26,14 @@ import lombok.Data;
  */
 @Data
 @Entity
+@Table(indexes = {
+    // Login and per-request principal lookup by email
+    @Index(name = "uk_user_email", columnList = "email", unique = true),
+    // Lookup of users by role
+    @Index(name = "idx_user_role", columnList = "user_role")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USER_REGION)
 public class User implements UserDetails {
 
     /**
@@ -53,11 +65,11 @@ public class User implements UserDetails {
 
     /**
      * Returns the authorities granted to the user (used by Spring Security).
-     * Maps user role to a SimpleGrantedAuthority.
+     * Returns the authority list precomputed for the user's role.
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority(userRole.name()));
+        return userRole.getAuthorities();
     }
 
     /**
@@ -0,0 +1,39 @@
+package com.demo.enums;
+
+/**
+ * Enum representing the file formats of a task export.
+ */
+public enum ExportFormat {
+
+    /**
+     * Comma-separated values with a header row, quoted as in RFC 4180.
+     */
+    CSV("text/csv", "csv"),
+
+    /**
+     * Newline-delimited JSON: one task object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    ExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * @return the content type of the export
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return the file name extension of the export
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
@@ -1,5 +1,9 @@
 package com.demo.enums;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Enum representing the possible statuses of a task.
  */
@@ -28,6 +32,11 @@ public enum TaskStatus {
     /**
      * Task has been cancelled and will not be completed.
      */
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Statuses of tasks that still need work.
+     */
+    public static final Set<TaskStatus> OPEN = Collections.unmodifiableSet(EnumSet.of(PENDING, INPROGRESS, DEFERRED));
 
 }
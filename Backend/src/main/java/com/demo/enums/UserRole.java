@@ -1,5 +1,10 @@
 package com.demo.enums;
 
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
 /**
  * Enum representing user roles in the system.
  */
@@ -13,5 +18,19 @@ public enum UserRole {
     /**
      * EMPLOYEE users have restricted access to view and update only their assigned tasks.
      */
-    EMPLOYEE
+    EMPLOYEE;
+
+    /**
+     * Immutable authority list for this role, built once instead of per call.
+     */
+    private final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(name()));
+
+    /**
+     * Returns the Spring Security authorities granted by this role.
+     *
+     * @return shared, immutable list containing the role authority
+     */
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
 }
@@ -0,0 +1,23 @@
+package com.demo.events;
+
+import com.demo.dao.CommentDao;
+
+/**
+ * Published after a comment is created, so that state derived from a task's
+ * comment thread can follow the change.
+ *
+ * @param taskId ID of the task the comment belongs to
+ * @param comment the saved comment
+ */
+public record CommentChangedEvent(Long taskId, CommentDao comment) {
+
+    /**
+     * Creates an event for a comment that was created or updated.
+     *
+     * @param comment the saved comment
+     * @return the event
+     */
+    public static CommentChangedEvent saved(CommentDao comment) {
+        return new CommentChangedEvent(comment.getTaskId(), comment);
+    }
+}
@@ -0,0 +1,42 @@
+package com.demo.events;
+
+import com.demo.dao.TaskDao;
+
+/**
+ * Published after a task is created, updated or deleted, so that in-memory
+ * read structures derived from tasks can follow the change.
+ *
+ * @param taskId ID of the changed task
+ * @param task current state of the task, or null if it was deleted
+ */
+public record TaskChangedEvent(Long taskId, TaskDao task) {
+
+    /**
+     * Creates an event for a task that was created or updated.
+     *
+     * @param task the saved task
+     * @return the event
+     */
+    public static TaskChangedEvent saved(TaskDao task) {
+        return new TaskChangedEvent(task.getId(), task);
+    }
+
+    /**
+     * Creates an event for a task that was deleted.
+     *
+     * @param taskId ID of the deleted task
+     * @return the event
+     */
+    public static TaskChangedEvent deleted(Long taskId) {
+        return new TaskChangedEvent(taskId, null);
+    }
+
+    /**
+     * Whether the task no longer exists.
+     *
+     * @return true for deletions
+     */
+    public boolean isDeleted() {
+        return task == null;
+    }
+}
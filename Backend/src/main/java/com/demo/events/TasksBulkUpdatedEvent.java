@@ -0,0 +1,45 @@
+package com.demo.events;
+
+import java.util.Collection;
+
+/**
+ * Published after a set-based update changed the status or assignee of many
+ * tasks at once. Titles, descriptions and due dates are never changed this
+ * way, so only structures that hold other task fields need to follow.
+ *
+ * @param taskIds IDs of the tasks that may have changed, or null when the
+ *        update selected them by criteria and any task may have changed
+ * @param updated number of rows the update changed
+ */
+public record TasksBulkUpdatedEvent(Collection<Long> taskIds, int updated) {
+
+    /**
+     * Creates an event for an update of the given tasks.
+     *
+     * @param taskIds IDs of the targeted tasks
+     * @param updated number of rows changed
+     * @return the event
+     */
+    public static TasksBulkUpdatedEvent of(Collection<Long> taskIds, int updated) {
+        return new TasksBulkUpdatedEvent(taskIds, updated);
+    }
+
+    /**
+     * Creates an event for an update that selected tasks by criteria.
+     *
+     * @param updated number of rows changed
+     * @return the event
+     */
+    public static TasksBulkUpdatedEvent matching(int updated) {
+        return new TasksBulkUpdatedEvent(null, updated);
+    }
+
+    /**
+     * Whether the changed tasks are not known individually.
+     *
+     * @return true for updates by criteria
+     */
+    public boolean isUnbounded() {
+        return taskIds == null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.demo.events;
+
+import com.demo.dao.UserDto;
+
+/**
+ * Published after a user account is created, so that in-memory read
+ * structures derived from users can follow the change.
+ *
+ * @param user current state of the user
+ */
+public record UserChangedEvent(UserDto user) {
+}
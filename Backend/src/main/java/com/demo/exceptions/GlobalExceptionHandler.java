@@ -1,15 +1,22 @@
 package com.demo.exceptions;
 
+import com.demo.controller.ETags;
+import com.demo.dao.TaskDao;
+import io.jsonwebtoken.JwtException;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -26,6 +33,54 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.UNAUTHORIZED, "Invalid username or password");
     }
 
+    // Handle malformed, tampered or expired JWTs submitted in a request body
+    @ExceptionHandler(JwtException.class)
+    public ResponseEntity<Object> handleJwtException(JwtException ex) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Invalid token");
+    }
+
+    // Handle invalid request arguments such as malformed pagination cursors
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Object> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    // Handle writes rejected by a database constraint, such as a reference to an unknown employee
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Object> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Request refers to missing or conflicting data");
+    }
+
+    // Handle task writes based on a stale version; the body carries the current task so the
+    // client can merge and retry, and the ETag is the one a fresh GET would return
+    @ExceptionHandler(TaskConflictException.class)
+    public ResponseEntity<Object> handleTaskConflictException(TaskConflictException ex) {
+        TaskDao current = ex.getCurrent();
+        Map<String, Object> errorBody = buildErrorBody(HttpStatus.CONFLICT, ex.getMessage());
+        errorBody.put("current", current);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .eTag(ETags.of("task", current.getId(), current.getVersion(), current.getCommentCount()))
+                .body(errorBody);
+    }
+
+    // Handle other writes that lost an optimistic locking race
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return buildErrorResponse(HttpStatus.CONFLICT, "The resource was changed concurrently, please reload and retry");
+    }
+
+    // Handle request parameters that cannot be converted, such as an unknown task status filter
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Object> handleTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Invalid value for parameter '" + ex.getName() + "'");
+    }
+
+    // Handle load shedding by bounded executors (e.g. password hashing)
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Object> handleRejectedExecutionException(RejectedExecutionException ex) {
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry shortly");
+    }
+
     // Handle input validation errors
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Object> handleValidationException(MethodArgumentNotValidException ex) {
@@ -44,12 +99,16 @@ public class GlobalExceptionHandler {
 
     // Utility method to structure error response
     private ResponseEntity<Object> buildErrorResponse(HttpStatus status, String message) {
+        return new ResponseEntity<>(buildErrorBody(status, message), status);
+    }
+
+    // Utility method to build the common error fields
+    private Map<String, Object> buildErrorBody(HttpStatus status, String message) {
         Map<String, Object> errorBody = new HashMap<>();
         errorBody.put("timestamp", LocalDateTime.now());
         errorBody.put("status", status.value());
         errorBody.put("error", status.getReasonPhrase());
         errorBody.put("message", message);
-
-        return new ResponseEntity<>(errorBody, status);
+        return errorBody;
     }
 }
@@ -0,0 +1,23 @@
+package com.demo.exceptions;
+
+import com.demo.dao.TaskDao;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a task write was based on a version of the task that is no
+ * longer current. Carries the current state so the client can merge and retry.
+ */
+@Getter
+public class TaskConflictException extends RuntimeException {
+
+    /**
+     * The task as it is now.
+     */
+    private final TaskDao current;
+
+    public TaskConflictException(TaskDao current) {
+        super("Task " + current.getId() + " was changed concurrently; it is now at version " + current.getVersion());
+        this.current = current;
+    }
+}
@@ -1,25 +1,90 @@
 package com.demo.repositories;
 
+import java.util.Date;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.demo.dao.CommentDao;
 import com.demo.entities.Comment;
 
 /**
  * Repository interface for Comment entity.
  * Provides CRUD operations and custom query methods.
+ *
+ * <p>Comment threads are paged by keyset on (createdAt, id). The
+ * (task_id, created_at) index serves both directions: InnoDB appends the
+ * primary key to secondary indexes, so the ID tie-breaker is in index order too.</p>
  */
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     /**
-     * Retrieves all comments associated with a specific task ID.
+     * Shared JPQL constructor expression mapping a comment and its author to a CommentDao.
+     */
+    String COMMENT_DAO_PROJECTION = "select new com.demo.dao.CommentDao(c.id, c.content, c.createdAt, c.task.id, "
+            + "u.id, u.name) from Comment c join c.user u ";
+
+    /**
+     * Retrieves the newest comments of a task as CommentDao projections,
+     * newest first.
+     *
+     * @param taskId the ID of the task
+     * @param limit maximum number of comments to return
+     * @return comments linked to the task
+     */
+    @IndexedBy("idx_comment_task_created_at")
+    @Query(COMMENT_DAO_PROJECTION + "where c.task.id = :taskId order by c.createdAt desc, c.id desc")
+    List<CommentDao> findNewestByTaskId(@Param("taskId") Long taskId, Limit limit);
+
+    /**
+     * Retrieves the comments of a task older than the given (createdAt, id)
+     * position as CommentDao projections, newest first.
+     *
+     * @param taskId the ID of the task
+     * @param createdAt creation time of the last comment of the previous page
+     * @param id ID of the last comment of the previous page
+     * @param limit maximum number of comments to return
+     * @return comments linked to the task
+     */
+    @IndexedBy("idx_comment_task_created_at")
+    @Query(COMMENT_DAO_PROJECTION + "where c.task.id = :taskId "
+            + "and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id)) "
+            + "order by c.createdAt desc, c.id desc")
+    List<CommentDao> findOlderByTaskId(@Param("taskId") Long taskId, @Param("createdAt") Date createdAt,
+                                       @Param("id") Long id, Limit limit);
+
+    /**
+     * Retrieves the oldest comments of a task as CommentDao projections,
+     * oldest first.
+     *
+     * @param taskId the ID of the task
+     * @param limit maximum number of comments to return
+     * @return comments linked to the task
+     */
+    @IndexedBy("idx_comment_task_created_at")
+    @Query(COMMENT_DAO_PROJECTION + "where c.task.id = :taskId order by c.createdAt, c.id")
+    List<CommentDao> findOldestByTaskId(@Param("taskId") Long taskId, Limit limit);
+
+    /**
+     * Retrieves the comments of a task newer than the given (createdAt, id)
+     * position as CommentDao projections, oldest first.
      *
      * @param taskId the ID of the task
-     * @return list of comments linked to the task
+     * @param createdAt creation time of the last comment of the previous page
+     * @param id ID of the last comment of the previous page
+     * @param limit maximum number of comments to return
+     * @return comments linked to the task
      */
-    List<Comment> findAllByTaskId(Long taskId);
+    @IndexedBy("idx_comment_task_created_at")
+    @Query(COMMENT_DAO_PROJECTION + "where c.task.id = :taskId "
+            + "and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id)) "
+            + "order by c.createdAt, c.id")
+    List<CommentDao> findNewerByTaskId(@Param("taskId") Long taskId, @Param("createdAt") Date createdAt,
+                                       @Param("id") Long id, Limit limit);
 
 }
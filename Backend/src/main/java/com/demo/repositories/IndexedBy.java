@@ -0,0 +1,35 @@
+package com.demo.repositories;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the database index that serves a repository query method.
+ * Every query method declared on a repository interface must carry this
+ * annotation; {@link com.demo.config.IndexCoverageVerifier} checks at startup
+ * that the named indexes exist in the migrated schema.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IndexedBy {
+
+    /**
+     * Placeholder for lookups served by the table's primary key, whose
+     * physical name differs between databases.
+     */
+    String PRIMARY_KEY = "PRIMARY";
+
+    /**
+     * Names of the indexes the query relies on, as created by the migrations.
+     */
+    String[] value() default {};
+
+    /**
+     * Reason a full scan is accepted for this query when no index can serve it.
+     */
+    String fullScan() default "";
+}
@@ -0,0 +1,43 @@
+package com.demo.repositories;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.demo.entities.RevokedToken;
+
+/**
+ * Repository interface for RevokedToken entity.
+ * Backs the in-memory revocation list so it can be rebuilt at startup.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Retrieves all revocations whose token has not yet expired.
+     *
+     * @param now the current time
+     * @return list of still-relevant revocations
+     */
+    @IndexedBy("idx_revoked_token_expires_at")
+    List<RevokedToken> findAllByExpiresAtAfter(Date now);
+
+    /**
+     * Deletes revocations whose token has already expired.
+     *
+     * @param now the current time
+     * @return number of rows deleted
+     */
+    @IndexedBy("idx_revoked_token_expires_at")
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Date now);
+
+}
@@ -1,33 +1,213 @@
 package com.demo.repositories;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.demo.dao.TaskDao;
 import com.demo.entities.Task;
+import com.demo.enums.TaskStatus;
+
 
 /**
  * Repository interface for Task entity.
  * Provides basic CRUD operations and custom query methods for tasks.
+ *
+ * <p>Task lists are ordered by due date and ID, descending. Tasks without a
+ * due date come last: MySQL sorts NULL below every value, so a descending
+ * index scan reaches them after all dated tasks. The keyset queries follow
+ * that order, and undated tasks are paged by ID alone.</p>
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+
+    /**
+     * Shared JPQL constructor expression mapping a task and its assignee to a TaskDao.
+     */
+    String TASK_DAO_PROJECTION = "select new com.demo.dao.TaskDao(t.id, t.title, t.description, t.dueDate, "
+            + "t.priority, t.taskStatus, u.id, u.name, t.version, t.commentCount, t.lastCommentAt) "
+            + "from Task t join t.user u ";
 
     /**
-     * Retrieves all tasks where the title contains the given keyword (case-sensitive).
+     * Retrieves the first page of a user's tasks, as TaskDao projections,
+     * ordered by due date and ID (descending).
      *
-     * @param title the keyword to search within task titles
-     * @return list of matching tasks
+     * @param userId the ID of the user
+     * @param limit maximum number of tasks to return
+     * @return list of tasks assigned to the user
+     */
+    @IndexedBy("idx_task_user_status_due_date")
+    @Query(TASK_DAO_PROJECTION + "where t.user.id = :userId order by t.dueDate desc, t.id desc")
+    List<TaskDao> findUserFirstPage(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Retrieves the page of a user's tasks following the given (dueDate, id)
+     * position, as TaskDao projections, in descending due date and ID order.
+     *
+     * @param userId the ID of the user
+     * @param dueDate due date of the last task of the previous page
+     * @param id ID of the last task of the previous page
+     * @param limit maximum number of tasks to return
+     * @return list of tasks assigned to the user
      */
-    List<Task> findAllByTitleContaining(String title);
+    @IndexedBy("idx_task_user_status_due_date")
+    @Query(TASK_DAO_PROJECTION + "where t.user.id = :userId "
+            + "and (t.dueDate < :dueDate or (t.dueDate = :dueDate and t.id < :id) or t.dueDate is null) "
+            + "order by t.dueDate desc, t.id desc")
+    List<TaskDao> findUserPageAfter(@Param("userId") Long userId, @Param("dueDate") Date dueDate,
+                                    @Param("id") Long id, Limit limit);
 
     /**
-     * Retrieves all tasks assigned to a specific user by user ID.
+     * Retrieves the page of a user's tasks following the given undated task,
+     * as TaskDao projections: the remaining undated tasks in descending ID order.
      *
-     * @param id the ID of the user
+     * @param userId the ID of the user
+     * @param id ID of the last task of the previous page
+     * @param limit maximum number of tasks to return
      * @return list of tasks assigned to the user
      */
-    List<Task> findAllByUserId(Long id);
+    @IndexedBy("idx_task_user_status_due_date")
+    @Query(TASK_DAO_PROJECTION + "where t.user.id = :userId and t.dueDate is null and t.id < :id "
+            + "order by t.id desc")
+    List<TaskDao> findUserPageAfterUndated(@Param("userId") Long userId, @Param("id") Long id, Limit limit);
+
+    /**
+     * Retrieves the first page of a user's tasks with the given status, as
+     * TaskDao projections, ordered by due date and ID (descending).
+     * Served by the (user_id, task_status, due_date) index.
+     *
+     * @param userId the ID of the user
+     * @param status the task status to filter on
+     * @param limit maximum number of tasks to return
+     * @return list of matching tasks
+     */
+    @IndexedBy("idx_task_user_status_due_date")
+    @Query(TASK_DAO_PROJECTION + "where t.user.id = :userId and t.taskStatus = :status "
+            + "order by t.dueDate desc, t.id desc")
+    List<TaskDao> findUserFirstPageByStatus(@Param("userId") Long userId, @Param("status") TaskStatus status,
+                                            Limit limit);
+
+    /**
+     * Retrieves the page of a user's tasks with the given status following the
+     * given (dueDate, id) position, as TaskDao projections, in descending due
+     * date and ID order. Served by the (user_id, task_status, due_date) index.
+     *
+     * @param userId the ID of the user
+     * @param status the task status to filter on
+     * @param dueDate due date of the last task of the previous page
+     * @param id ID of the last task of the previous page
+     * @param limit maximum number of tasks to return
+     * @return list of matching tasks
+     */
+    @IndexedBy("idx_task_user_status_due_date")
+    @Query(TASK_DAO_PROJECTION + "where t.user.id = :userId and t.taskStatus = :status "
+            + "and (t.dueDate < :dueDate or (t.dueDate = :dueDate and t.id < :id) or t.dueDate is null) "
+            + "order by t.dueDate desc, t.id desc")
+    List<TaskDao> findUserPageAfterByStatus(@Param("userId") Long userId, @Param("status") TaskStatus status,
+                                            @Param("dueDate") Date dueDate, @Param("id") Long id, Limit limit);
+
+    /**
+     * Retrieves the page of a user's tasks with the given status following the
+     * given undated task, as TaskDao projections: the remaining undated tasks
+     * in descending ID order.
+     *
+     * @param userId the ID of the user
+     * @param status the task status to filter on
+     * @param id ID of the last task of the previous page
+     * @param limit maximum number of tasks to return
+     * @return list of matching tasks
+     */
+    @IndexedBy("idx_task_user_status_due_date")
+    @Query(TASK_DAO_PROJECTION + "where t.user.id = :userId and t.taskStatus = :status "
+            + "and t.dueDate is null and t.id < :id order by t.id desc")
+    List<TaskDao> findUserPageAfterUndatedByStatus(@Param("userId") Long userId, @Param("status") TaskStatus status,
+                                                   @Param("id") Long id, Limit limit);
+
+    /**
+     * Retrieves the given tasks as TaskDao projections, in no particular order.
+     *
+     * @param ids the IDs of the tasks
+     * @return the tasks that exist
+     */
+    @IndexedBy(IndexedBy.PRIMARY_KEY)
+    @Query(TASK_DAO_PROJECTION + "where t.id in :ids")
+    List<TaskDao> findAllTaskDaoByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves the tasks following the given ID in ID order, as TaskDao
+     * projections. Used to walk the whole table in batches.
+     *
+     * @param id ID of the last task of the previous batch; 0 for the first batch
+     * @param limit maximum number of tasks to return
+     * @return the next batch of tasks
+     */
+    @IndexedBy(IndexedBy.PRIMARY_KEY)
+    @Query(TASK_DAO_PROJECTION + "where t.id > :id order by t.id")
+    List<TaskDao> findBatchAfterId(@Param("id") Long id, Limit limit);
+
+    /**
+     * Retrieves a single task as a TaskDao projection.
+     *
+     * @param id the ID of the task
+     * @return the task, if found
+     */
+    @IndexedBy(IndexedBy.PRIMARY_KEY)
+    @Query(TASK_DAO_PROJECTION + "where t.id = :id")
+    Optional<TaskDao> findTaskDaoById(@Param("id") Long id);
+
+    /**
+     * Retrieves a task with its assignee joined, for writes that return the
+     * updated task without a lazy load.
+     *
+     * @param id the ID of the task
+     * @return the task, if found
+     */
+    @IndexedBy(IndexedBy.PRIMARY_KEY)
+    @Query("select t from Task t join fetch t.user where t.id = :id")
+    Optional<Task> findWithUserById(@Param("id") Long id);
+
+    /**
+     * Retrieves the first page of tasks, as TaskDao projections, ordered by due date and ID (descending).
+     * Served by the (due_date, id) index.
+     *
+     * @param limit maximum number of tasks to return
+     * @return list of tasks
+     */
+    @IndexedBy("idx_task_due_date_id")
+    @Query(TASK_DAO_PROJECTION + "order by t.dueDate desc, t.id desc")
+    List<TaskDao> findFirstPage(Limit limit);
+
+    /**
+     * Retrieves, as TaskDao projections, the page of tasks that follows the given (dueDate, id) position
+     * in descending due date and ID order. Served by the (due_date, id) index.
+     *
+     * @param dueDate due date of the last task of the previous page
+     * @param id ID of the last task of the previous page
+     * @param limit maximum number of tasks to return
+     * @return list of tasks
+     */
+    @IndexedBy("idx_task_due_date_id")
+    @Query(TASK_DAO_PROJECTION + "where t.dueDate < :dueDate or (t.dueDate = :dueDate and t.id < :id) "
+            + "or t.dueDate is null order by t.dueDate desc, t.id desc")
+    List<TaskDao> findPageAfter(@Param("dueDate") Date dueDate, @Param("id") Long id, Limit limit);
+
+    /**
+     * Retrieves, as TaskDao projections, the page of tasks that follows the given undated task:
+     * the remaining undated tasks in descending ID order. Served by the (due_date, id) index.
+     *
+     * @param id ID of the last task of the previous page
+     * @param limit maximum number of tasks to return
+     * @return list of tasks
+     */
+    @IndexedBy("idx_task_due_date_id")
+    @Query(TASK_DAO_PROJECTION + "where t.dueDate is null and t.id < :id order by t.id desc")
+    List<TaskDao> findPageAfterUndated(@Param("id") Long id, Limit limit);
 
 }
@@ -0,0 +1,121 @@
+package com.demo.repositories;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.demo.dao.TaskDao;
+import com.demo.dao.TaskFilter;
+import com.demo.entities.User;
+import com.demo.enums.TaskStatus;
+
+/**
+ * Custom query methods for tasks that are built dynamically with the Criteria
+ * API or take their JDBC settings at run time, and task writes that keep the
+ * rest of the task cache region intact.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Retrieves one page of the tasks matching the filter, as TaskDao
+     * projections ordered by due date and ID (descending), with the total
+     * number of matches. Assignee filters run on the (user_id, task_status,
+     * due_date) index; other filters are evaluated while walking the due date
+     * index.
+     *
+     * @param filter the criteria; unset fields are ignored
+     * @param pageable page number and size
+     * @return the page of tasks and the total count
+     */
+    @IndexedBy({"idx_task_user_status_due_date", "idx_task_due_date_id"})
+    Page<TaskDao> filterTasks(TaskFilter filter, Pageable pageable);
+
+    /**
+     * Sets the status of every task matching the filter, bumping the row
+     * version of each task whose status changes. The matching tasks are
+     * locked and read by ID, then updated by primary key.
+     *
+     * @param filter the criteria; unset fields are ignored
+     * @param status the new status
+     * @return number of tasks changed
+     */
+    @IndexedBy({"idx_task_user_status_due_date", "idx_task_due_date_id"})
+    int updateStatus(TaskFilter filter, TaskStatus status);
+
+    /**
+     * Sets the status of one task in a single UPDATE statement, without
+     * loading it, and bumps its row version.
+     *
+     * @param id the ID of the task
+     * @param status the new status
+     * @return 1 if the task exists, 0 otherwise
+     */
+    @IndexedBy(IndexedBy.PRIMARY_KEY)
+    int updateStatusById(Long id, TaskStatus status);
+
+    /**
+     * Sets the status of the given tasks in one UPDATE statement, bumping the
+     * row version of each task whose status changes.
+     *
+     * @param ids the IDs of the tasks
+     * @param status the new status
+     * @return number of tasks changed
+     */
+    @IndexedBy(IndexedBy.PRIMARY_KEY)
+    int updateStatusByIdIn(Collection<Long> ids, TaskStatus status);
+
+    /**
+     * Moves one user's tasks in the given statuses to another user, bumping
+     * their row versions. The tasks are locked and read by ID on the
+     * (user_id, task_status, due_date) index, then updated by primary key.
+     *
+     * @param from the current assignee
+     * @param to the new assignee
+     * @param statuses statuses of the tasks to move
+     * @return number of tasks moved
+     */
+    @IndexedBy({"idx_task_user_status_due_date", IndexedBy.PRIMARY_KEY})
+    int reassignTasks(User from, User to, Collection<TaskStatus> statuses);
+
+    /**
+     * Writes the set fields of {@code changes} to one task in a single UPDATE
+     * statement, without loading it, and bumps its row version.
+     *
+     * @param id the ID of the task
+     * @param changes the new values; null fields, the ID, the version and the
+     *        employee fields are ignored
+     * @param assignee the new assignee, or null to keep the current one
+     * @param expectedVersion the version the task must be at, or null for any version
+     * @return 1 if the task was updated, 0 if it does not exist or is at another version
+     */
+    @IndexedBy(IndexedBy.PRIMARY_KEY)
+    int patchTask(Long id, TaskDao changes, User assignee, Long expectedVersion);
+
+    /**
+     * Counts one new comment on a task in a single UPDATE statement. The row
+     * version is left alone, as a comment is not a change to the task; the
+     * row lock also orders concurrent comments on the same task.
+     *
+     * @param id the ID of the task
+     * @param createdAt creation time of the comment
+     * @return 1 if the task exists, 0 otherwise
+     */
+    @IndexedBy(IndexedBy.PRIMARY_KEY)
+    int recordComment(Long id, Date createdAt);
+
+    /**
+     * Streams every task as TaskDao projections in ID order, for exports. The
+     * rows are read forward-only with the given JDBC fetch size, and nothing
+     * is kept in the persistence context or the query cache. The stream must
+     * be consumed and closed inside a transaction.
+     *
+     * @param fetchSize JDBC fetch size of this statement only; with MySQL,
+     *                  {@link Integer#MIN_VALUE} streams the rows one by one
+     * @return stream of all tasks
+     */
+    @IndexedBy(IndexedBy.PRIMARY_KEY)
+    Stream<TaskDao> streamAllOrderById(int fetchSize);
+}
@@ -0,0 +1,297 @@
+package com.demo.repositories;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.demo.dao.TaskDao;
+import com.demo.dao.TaskFilter;
+import com.demo.entities.Task;
+import com.demo.entities.User;
+import com.demo.enums.TaskStatus;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria API and native SQL implementation of {@link TaskRepositoryCustom}.
+ *
+ * <p>Hibernate answers every JPQL or criteria UPDATE of Task by clearing the
+ * whole task region of the second-level cache. The task writes here are
+ * therefore native statements that declare {@link #TASK_WRITES} as their only
+ * query space, which no entity maps, and each write evicts just the tasks it
+ * changed. Statuses are bound by ordinal, as the entity stores them.</p>
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    /**
+     * Query space of the native task writes; see the class comment.
+     */
+    static final String TASK_WRITES = "task_writes";
+
+    /**
+     * Upper bound on the IDs bound to one IN list.
+     */
+    private static final int MAX_IN_LIST = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Runs one projection query for the page and, only when the page does not
+     * already determine it, one count query with the same predicates.
+     */
+    @Override
+    public Page<TaskDao> filterTasks(TaskFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<TaskDao> query = cb.createQuery(TaskDao.class);
+        Root<Task> task = query.from(Task.class);
+        Join<Task, User> user = task.join("user");
+        query.select(cb.construct(TaskDao.class, task.get("id"), task.get("title"), task.get("description"),
+                        task.get("dueDate"), task.get("priority"), task.get("taskStatus"), user.get("id"),
+                        user.get("name"), task.get("version"), task.get("commentCount"), task.get("lastCommentAt")))
+                .where(predicates(cb, task, filter))
+                .orderBy(cb.desc(task.get("dueDate")), cb.desc(task.get("id")));
+        List<TaskDao> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            Root<Task> counted = count.from(Task.class);
+            count.select(cb.count(counted)).where(predicates(cb, counted, filter));
+            return entityManager.createQuery(count).getSingleResult();
+        });
+    }
+
+    /**
+     * Locks the matching tasks whose status differs, reading only their IDs,
+     * then sets the status by primary key. The row locks keep the selected
+     * tasks from changing between the two statements.
+     */
+    @Override
+    public int updateStatus(TaskFilter filter, TaskStatus status) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(task.get("id"))
+                .where(cb.and(predicates(cb, task, filter)), cb.notEqual(task.get("taskStatus"), status));
+
+        entityManager.flush();
+        List<Long> ids = entityManager.createQuery(query).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList();
+        return updateStatusByIdIn(ids, status);
+    }
+
+    @Override
+    public int updateStatusById(Long id, TaskStatus status) {
+        return write(List.of(id), "update task set task_status = :status, version = version + 1 where id = :id")
+                .setParameter("status", status.ordinal())
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    /**
+     * Binds at most {@link #MAX_IN_LIST} IDs per statement.
+     */
+    @Override
+    public int updateStatusByIdIn(Collection<Long> ids, TaskStatus status) {
+        List<Long> remaining = List.copyOf(ids);
+        int updated = 0;
+        for (int from = 0; from < remaining.size(); from += MAX_IN_LIST) {
+            List<Long> chunk = remaining.subList(from, Math.min(from + MAX_IN_LIST, remaining.size()));
+            updated += write(chunk, "update task set task_status = :status, version = version + 1 "
+                    + "where id in (:ids) and task_status <> :status")
+                    .setParameter("status", status.ordinal())
+                    .setParameter("ids", chunk)
+                    .executeUpdate();
+        }
+        return updated;
+    }
+
+    /**
+     * Locks the tasks to move on the (user_id, task_status, due_date) index,
+     * reading only their IDs, then moves them by primary key.
+     */
+    @Override
+    public int reassignTasks(User from, User to, Collection<TaskStatus> statuses) {
+        entityManager.flush();
+        @SuppressWarnings("unchecked")
+        List<Long> ids = entityManager.createNativeQuery(
+                        "select id from task where user_id = :from and task_status in (:statuses) for update", Long.class)
+                .setParameter("from", from.getId())
+                .setParameter("statuses", statuses.stream().map(TaskStatus::ordinal).toList())
+                .getResultList();
+
+        int updated = 0;
+        for (int start = 0; start < ids.size(); start += MAX_IN_LIST) {
+            List<Long> chunk = ids.subList(start, Math.min(start + MAX_IN_LIST, ids.size()));
+            updated += write(chunk, "update task set user_id = :to, version = version + 1 where id in (:ids)")
+                    .setParameter("to", to.getId())
+                    .setParameter("ids", chunk)
+                    .executeUpdate();
+        }
+        return updated;
+    }
+
+    /**
+     * Builds the SET clause from the non-null fields only, so the statement
+     * touches exactly the columns being changed. The version check is part of
+     * the WHERE clause, so check and write are one atomic statement.
+     */
+    @Override
+    public int patchTask(Long id, TaskDao changes, User assignee, Long expectedVersion) {
+        List<String> assignments = new ArrayList<>();
+        if (changes.getTitle() != null) {
+            assignments.add("title = :title");
+        }
+        if (changes.getDescription() != null) {
+            assignments.add("description = :description");
+        }
+        if (changes.getDueDate() != null) {
+            assignments.add("due_date = :dueDate");
+        }
+        if (changes.getPriority() != null) {
+            assignments.add("priority = :priority");
+        }
+        if (changes.getTaskStatus() != null) {
+            assignments.add("task_status = :status");
+        }
+        if (assignee != null) {
+            assignments.add("user_id = :userId");
+        }
+        assignments.add("version = version + 1");
+        String sql = "update task set " + String.join(", ", assignments) + " where id = :id"
+                + (expectedVersion == null ? "" : " and version = :version");
+
+        Query update = write(List.of(id), sql).setParameter("id", id);
+        if (changes.getTitle() != null) {
+            update.setParameter("title", changes.getTitle());
+        }
+        if (changes.getDescription() != null) {
+            update.setParameter("description", changes.getDescription());
+        }
+        if (changes.getDueDate() != null) {
+            update.setParameter("dueDate", new Timestamp(changes.getDueDate().getTime()));
+        }
+        if (changes.getPriority() != null) {
+            update.setParameter("priority", changes.getPriority());
+        }
+        if (changes.getTaskStatus() != null) {
+            update.setParameter("status", changes.getTaskStatus().ordinal());
+        }
+        if (assignee != null) {
+            update.setParameter("userId", assignee.getId());
+        }
+        if (expectedVersion != null) {
+            update.setParameter("version", expectedVersion);
+        }
+        return update.executeUpdate();
+    }
+
+    /**
+     * Advances the counter columns, which the entity never writes.
+     */
+    @Override
+    public int recordComment(Long id, Date createdAt) {
+        return write(List.of(id), "update task set comment_count = comment_count + 1, last_comment_at = case "
+                + "when last_comment_at is null or last_comment_at < :createdAt then :createdAt "
+                + "else last_comment_at end where id = :id")
+                .setParameter("createdAt", new Timestamp(createdAt.getTime()))
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    @Override
+    public Stream<TaskDao> streamAllOrderById(int fetchSize) {
+        return entityManager.createQuery(TaskRepository.TASK_DAO_PROJECTION + "order by t.id", TaskDao.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHEABLE, false)
+                .getResultStream();
+    }
+
+    /**
+     * Prepares a native write of the given tasks. Pending changes are flushed
+     * and the persistence context is cleared, as for the {@code @Modifying}
+     * queries. The tasks are evicted from the second-level cache now, so that
+     * reads later in this transaction go to the database, and again once the
+     * transaction completes, so that a copy another transaction loaded before
+     * the commit is not left cached.
+     */
+    private Query write(Collection<Long> ids, String sql) {
+        entityManager.flush();
+        entityManager.clear();
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        ids.forEach(id -> cache.evict(Task.class, id));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> evicted = List.copyOf(ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evicted.forEach(id -> cache.evict(Task.class, id));
+                }
+            });
+        }
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(TASK_WRITES);
+    }
+
+    /**
+     * Translates the set fields of the filter into predicates on the task.
+     */
+    private static Predicate[] predicates(CriteriaBuilder cb, Root<Task> task, TaskFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getEmployeeId() != null) {
+            predicates.add(cb.equal(task.get("user").get("id"), filter.getEmployeeId()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(task.get("taskStatus"), filter.getStatus()));
+        }
+        if (filter.getPriority() != null && !filter.getPriority().isBlank()) {
+            predicates.add(cb.equal(task.get("priority"), filter.getPriority()));
+        }
+        if (filter.getDueFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(task.get("dueDate"), startOfDay(filter.getDueFrom())));
+        }
+        if (filter.getDueTo() != null) {
+            predicates.add(cb.lessThan(task.get("dueDate"), startOfDay(filter.getDueTo().plusDays(1))));
+        }
+        if (filter.getTitle() != null && !filter.getTitle().isBlank()) {
+            String term = filter.getTitle().trim().toLowerCase(Locale.ROOT)
+                    .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            predicates.add(cb.like(cb.lower(task.get("title")), "%" + term + "%", '\\'));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private static Date startOfDay(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -1,13 +1,27 @@
 package com.demo.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.demo.dao.EmployeeSummary;
+import com.demo.dao.Suggestion;
 import com.demo.entities.User;
+import com.demo.enums.TaskStatus;
 import com.demo.enums.UserRole;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for User entity.
  * Provides CRUD operations and custom query methods related to users.
@@ -17,20 +31,76 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
      * Finds the first user with the given email.
-     * This is typically used for authentication and login.
+     * This is typically used for authentication and login, so the result
+     * is kept in the query cache.
      *
      * @param email the email of the user
      * @return an Optional containing the user if found, or empty if not
      */
+    @IndexedBy("uk_user_email")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findFirstByEmail(String email);
 
     /**
      * Finds a user by their role (e.g., ADMIN, EMPLOYEE).
-     * Useful for role-based operations.
+     * Useful for role-based operations. The result is kept in the query cache.
      *
      * @param userRole the role of the user
      * @return an Optional containing the user with the given role, or empty if none found
      */
+    @IndexedBy("idx_user_role")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUserRole(UserRole userRole);
 
+    /**
+     * Retrieves a page of users with the given role whose name contains the
+     * given term, ignoring case, ordered by name. Each entry carries the
+     * number of the user's open tasks.
+     *
+     * @param userRole the role of the users
+     * @param name term the name must contain, or null for all users of the role
+     * @param pageable the page to return
+     * @return page of directory entries
+     */
+    default Page<EmployeeSummary> findDirectory(UserRole userRole, String name, Pageable pageable) {
+        String pattern = null;
+        if (name != null && !name.isBlank()) {
+            pattern = "%" + name.trim().toLowerCase(Locale.ROOT)
+                    .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        }
+        return findDirectoryPage(userRole, pattern, TaskStatus.OPEN, pageable);
+    }
+
+    /**
+     * Retrieves a page of directory entries, selecting only id, name and email
+     * and counting open tasks through one grouped join on the
+     * (user_id, task_status, due_date) index. Use {@link #findDirectory}.
+     *
+     * @param userRole the role of the users
+     * @param namePattern escaped, lower-case LIKE pattern for the name, or null
+     * @param openStatuses the task statuses that count as open
+     * @param pageable the page to return
+     * @return page of directory entries
+     */
+    @IndexedBy({"idx_user_role", "idx_task_user_status_due_date"})
+    @Query(value = "select new com.demo.dao.EmployeeSummary(u.id, u.name, u.email, count(t.id)) from User u "
+            + "left join Task t on t.user = u and t.taskStatus in :openStatuses "
+            + "where u.userRole = :userRole and (:namePattern is null or lower(u.name) like :namePattern escape '\\') "
+            + "group by u.id, u.name, u.email order by u.name, u.id",
+            countQuery = "select count(u) from User u where u.userRole = :userRole "
+                    + "and (:namePattern is null or lower(u.name) like :namePattern escape '\\')")
+    Page<EmployeeSummary> findDirectoryPage(@Param("userRole") UserRole userRole, @Param("namePattern") String namePattern,
+                                            @Param("openStatuses") Collection<TaskStatus> openStatuses, Pageable pageable);
+
+    /**
+     * Retrieves the ID and name of every user with the given role, selecting
+     * only those two columns. Used to build the user typeahead.
+     *
+     * @param userRole the role of the users
+     * @return a suggestion per user, with the name as its text
+     */
+    @IndexedBy("idx_user_role")
+    @Query("select new com.demo.dao.Suggestion(u.id, u.name) from User u where u.userRole = :userRole")
+    List<Suggestion> findSuggestionsByUserRole(@Param("userRole") UserRole userRole);
+
 }
@@ -1,10 +1,19 @@
 package com.demo.services.admin;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+
+import com.demo.dao.BulkTaskResult;
 import com.demo.dao.CommentDao;
+import com.demo.dao.CursorPage;
+import com.demo.dao.EmployeeSummary;
 import com.demo.dao.TaskDao;
-import com.demo.dao.UserDto;
+import com.demo.dao.TaskFilter;
+import com.demo.enums.TaskStatus;
+import com.demo.exceptions.TaskConflictException;
 
 /**
  * Service interface for administrative operations.
@@ -13,11 +22,15 @@ import com.demo.dao.UserDto;
 public interface AdminService {
 
     /**
-     * Retrieves a list of all users in the system.
+     * Retrieves a page of the employee directory, ordered by name, with each
+     * employee's open task count.
      *
-     * @return list of UserDto objects representing users
+     * @param name optional term the employee name must contain
+     * @param page zero-based page number
+     * @param size maximum number of employees in the page
+     * @return page of EmployeeSummary objects
      */
-    List<UserDto> getUsers();
+    Page<EmployeeSummary> getUsers(String name, int page, int size);
 
     /**
      * Creates a new task and assigns it to an employee.
@@ -28,11 +41,24 @@ public interface AdminService {
     TaskDao createTask(TaskDao taskDao);
 
     /**
-     * Retrieves a list of all tasks in the system.
+     * Creates many tasks in one transaction. All assignees are looked up in a
+     * single query and the inserts are sent as JDBC batches. Items whose
+     * assignee is missing or unknown are rejected; the others are created.
      *
-     * @return list of TaskDao objects
+     * @param taskDaos the tasks to create, at most {@link BulkTaskResult#MAX_ITEMS}
+     * @return one result per item, in request order
+     * @throws IllegalArgumentException if the request is empty or too large
      */
-    List<TaskDao> getAllTasks();
+    List<BulkTaskResult> createTasks(List<TaskDao> taskDaos);
+
+    /**
+     * Retrieves one page of tasks ordered by due date (descending), then ID.
+     *
+     * @param cursor cursor returned with the previous page, or null for the first page
+     * @param size maximum number of tasks in the page
+     * @return page of TaskDao objects with the cursor of the next page
+     */
+    CursorPage<TaskDao> getAllTasks(String cursor, int size);
 
     /**
      * Deletes a task by its ID.
@@ -50,37 +76,106 @@ public interface AdminService {
     TaskDao getTaskById(Long id);
 
     /**
-     * Updates the task with the specified ID.
+     * Updates the task with the specified ID. If {@code taskDao} carries a
+     * version, it must be the task's current version.
      *
      * @param id the ID of the task to update
      * @param taskDao the updated task data
      * @return updated TaskDao object
+     * @throws TaskConflictException if the task changed since the given version,
+     *         or concurrently with this update
      */
     TaskDao updateTask(Long id, TaskDao taskDao);
 
     /**
-     * Searches for tasks with a title containing the given keyword.
+     * Partially updates a task with a single UPDATE statement that sets only
+     * the fields present in {@code changes}, without loading the task. If
+     * {@code changes} carries a version, the update only applies to that
+     * version. A status-only change does not depend on the other fields, so
+     * on a version conflict it is retried against the current version.
+     *
+     * @param id the ID of the task to update
+     * @param changes the fields to change; null fields are left as they are
+     * @return the updated TaskDao object, or null if the task does not exist
+     * @throws TaskConflictException if the task changed since the given version
+     *         and the change could not be reapplied
+     */
+    TaskDao patchTask(Long id, TaskDao changes);
+
+    /**
+     * Sets the status of the given tasks with a single UPDATE statement.
+     * Tasks already in that status are left untouched.
+     *
+     * @param ids the IDs of the tasks, at most {@link BulkTaskResult#MAX_ITEMS}
+     * @param status the new status
+     * @return number of tasks changed
+     * @throws IllegalArgumentException if no IDs, too many IDs or no status are given
+     */
+    int updateTaskStatus(Collection<Long> ids, TaskStatus status);
+
+    /**
+     * Sets the status of every task matching the filter with one locking read
+     * of their IDs and an UPDATE by primary key. Tasks already in that status
+     * are left untouched.
      *
-     * @param title the title keyword to search for
+     * @param filter the criteria; at least one must be set
+     * @param status the new status
+     * @return number of tasks changed
+     * @throws IllegalArgumentException if the filter is empty or invalid, or no status is given
+     */
+    int updateTaskStatus(TaskFilter filter, TaskStatus status);
+
+    /**
+     * Moves every open (pending, in progress or deferred) task of one employee
+     * to another with one locking read of their IDs and an UPDATE by primary key.
+     *
+     * @param fromEmployeeId the current assignee
+     * @param toEmployeeId the new assignee
+     * @return number of tasks moved
+     * @throws jakarta.persistence.EntityNotFoundException if either employee does not exist
+     */
+    int reassignOpenTasks(Long fromEmployeeId, Long toEmployeeId);
+
+    /**
+     * Searches for tasks whose title or description contains the given keyword,
+     * ranked by relevance and then by due date.
+     *
+     * @param title the keyword to search for
      * @return list of TaskDao objects that match the search criteria
      */
     List<TaskDao> searchTaskByTitle(String title);
 
+    /**
+     * Retrieves one page of the tasks matching the filter, sorted by due date
+     * (descending), together with the total number of matches.
+     *
+     * @param filter the criteria; unset fields are ignored
+     * @param page zero-based page number
+     * @param size maximum number of tasks in the page
+     * @return the page of tasks and the total count
+     */
+    Page<TaskDao> filterTasks(TaskFilter filter, int page, int size);
+
     /**
      * Adds a comment to the specified task.
      *
      * @param taskId the ID of the task
      * @param content the comment content
-     * @return the created CommentDao object
+     * @return the created CommentDao object; without an ID if the comment was
+     *         accepted for group commit and is not stored yet
      */
     CommentDao createComment(Long taskId, String content);
 
     /**
-     * Retrieves all comments associated with the given task ID.
+     * Retrieves a page of the comments on the given task, ordered by creation
+     * time and ID.
      *
      * @param taskId the ID of the task
-     * @return list of CommentDao objects
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     * @param size maximum number of comments in the page
+     * @param order DESC for newest first, ASC for oldest first
+     * @return a page of CommentDao objects with the cursor of the next page
      */
-    List<CommentDao> getCommentsByTaskId(Long taskId);
+    CursorPage<CommentDao> getCommentsByTaskId(Long taskId, String cursor, int size, Sort.Direction order);
 
 }
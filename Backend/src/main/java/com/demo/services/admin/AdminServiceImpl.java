@@ -1,24 +1,47 @@
 package com.demo.services.admin;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.demo.dao.BulkTaskResult;
 import com.demo.dao.CommentDao;
+import com.demo.dao.CursorPage;
+import com.demo.dao.EmployeeSummary;
+import com.demo.dao.KeysetCursor;
 import com.demo.dao.TaskDao;
-import com.demo.dao.UserDto;
+import com.demo.dao.TaskFilter;
 import com.demo.entities.Comment;
 import com.demo.entities.Task;
 import com.demo.entities.User;
 import com.demo.enums.TaskStatus;
 import com.demo.enums.UserRole;
+import com.demo.exceptions.TaskConflictException;
+import com.demo.events.CommentChangedEvent;
+import com.demo.events.TaskChangedEvent;
+import com.demo.events.TasksBulkUpdatedEvent;
 import com.demo.repositories.CommentRepository;
 import com.demo.repositories.TaskRepository;
 import com.demo.repositories.UserRepository;
+import com.demo.services.cache.TaskCacheService;
+import com.demo.services.comment.CommentIngestService;
+import com.demo.services.search.TaskSearchService;
 import com.demo.utils.JwtUtil;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -28,52 +51,136 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AdminServiceImpl implements AdminService {
 	
+	/**
+	 * Attempts made to apply a status-only patch that keeps losing version races.
+	 */
+	static final int MAX_PATCH_ATTEMPTS = 3;
+
 	private final UserRepository userRepository;
 	private final TaskRepository taskRepository;
 	private final JwtUtil jwtUtil;
 	private final CommentRepository commentRepository;
+	private final TaskSearchService taskSearchService;
+	private final TaskCacheService taskCacheService;
+	private final CommentIngestService commentIngestService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
 
 	/**
-	 * Retrieves all users with EMPLOYEE role.
+	 * Retrieves a page of users with EMPLOYEE role and their open task counts
+	 * in one projection query; password hashes are never loaded.
 	 */
 	@Override
-	public List<UserDto> getUsers() {
-	    return userRepository.findAll()
-	        .stream() 
-	        .filter(user -> user.getUserRole() == UserRole.EMPLOYEE)
-	        .map(User::getUserDto)
-	        .collect(Collectors.toList());
+	public Page<EmployeeSummary> getUsers(String name, int page, int size) {
+		return userRepository.findDirectory(UserRole.EMPLOYEE, name,
+				PageRequest.of(Math.max(page, 0), CursorPage.clampSize(size)));
 	}
 
 	/**
-	 * Creates a new task and assigns it to an employee.
+	 * Creates a new task and assigns it to an employee, in one transaction.
+	 * The employee is looked up by ID, which the second-level cache usually
+	 * answers, so that an unknown employee is rejected before the insert and
+	 * the response carries the assignee's name.
 	 */
 	@Override
+	@Transactional
 	public TaskDao createTask(TaskDao taskDao) {
-		Optional<User> optionalUser = userRepository.findById(taskDao.getEmployeeId());
-		if (optionalUser.isPresent()) {
-		    Task task = new Task();		    
-		    task.setTitle(taskDao.getTitle());
-		    task.setDescription(taskDao.getDescription());
-		    task.setPriority(taskDao.getPriority());
-		    task.setDueDate(taskDao.getDueDate());
-		    task.setTaskStatus(TaskStatus.INPROGRESS); // Default status
-		    task.setUser(optionalUser.get());
-		    return taskRepository.save(task).getTaskDao();
+		if (taskDao.getEmployeeId() == null) {
+			return null;
 		}
-		return null;
+		User assignee = userRepository.findById(taskDao.getEmployeeId()).orElse(null);
+		if (assignee == null) {
+			return null;
+		}
+		Task task = new Task();
+		task.setTitle(taskDao.getTitle());
+		task.setDescription(taskDao.getDescription());
+		task.setPriority(taskDao.getPriority());
+		task.setDueDate(taskDao.getDueDate());
+		task.setTaskStatus(TaskStatus.INPROGRESS); // Default status
+		task.setUser(assignee);
+		task = taskRepository.save(task);
+		TaskDao createdTask = task.getTaskDao();
+		eventPublisher.publishEvent(TaskChangedEvent.saved(createdTask));
+		return createdTask;
 	}
 
 	/**
-	 * Returns a list of all tasks, sorted by due date (descending).
+	 * Creates tasks in bulk: one IN query resolves every assignee, and the new
+	 * tasks are saved together so Hibernate flushes them as JDBC batches, with
+	 * IDs taken from pooled blocks rather than per-row auto_increment.
 	 */
 	@Override
-	public List<TaskDao> getAllTasks() {
-		return taskRepository.findAll()
-				.stream()
-				.sorted(Comparator.comparing(Task::getDueDate).reversed())
-				.map(Task::getTaskDao)
-				.collect(Collectors.toList());
+	@Transactional
+	public List<BulkTaskResult> createTasks(List<TaskDao> taskDaos) {
+		if (taskDaos == null || taskDaos.isEmpty()) {
+			throw new IllegalArgumentException("No tasks to create");
+		}
+		if (taskDaos.size() > BulkTaskResult.MAX_ITEMS) {
+			throw new IllegalArgumentException("At most " + BulkTaskResult.MAX_ITEMS + " tasks per request");
+		}
+
+		List<Long> employeeIds = taskDaos.stream()
+				.map(taskDao -> taskDao == null ? null : taskDao.getEmployeeId())
+				.filter(Objects::nonNull)
+				.distinct()
+				.toList();
+		Map<Long, User> employees = userRepository.findAllById(employeeIds).stream()
+				.collect(Collectors.toMap(User::getId, Function.identity()));
+
+		List<BulkTaskResult> results = new ArrayList<>(taskDaos.size());
+		List<Task> tasks = new ArrayList<>(taskDaos.size());
+		List<Integer> taskIndexes = new ArrayList<>(taskDaos.size());
+		for (int index = 0; index < taskDaos.size(); index++) {
+			TaskDao taskDao = taskDaos.get(index);
+			if (taskDao == null || taskDao.getEmployeeId() == null) {
+				results.add(BulkTaskResult.rejected(index, "employeeId is required"));
+				continue;
+			}
+			User employee = employees.get(taskDao.getEmployeeId());
+			if (employee == null) {
+				results.add(BulkTaskResult.rejected(index, "Employee not found: " + taskDao.getEmployeeId()));
+				continue;
+			}
+			Task task = new Task();
+			task.setTitle(taskDao.getTitle());
+			task.setDescription(taskDao.getDescription());
+			task.setPriority(taskDao.getPriority());
+			task.setDueDate(taskDao.getDueDate());
+			task.setTaskStatus(TaskStatus.INPROGRESS); // Default status
+			task.setUser(employee);
+			tasks.add(task);
+			taskIndexes.add(index);
+			results.add(null);
+		}
+
+		List<Task> savedTasks = taskRepository.saveAll(tasks);
+		for (int i = 0; i < savedTasks.size(); i++) {
+			TaskDao createdTask = savedTasks.get(i).getTaskDao();
+			results.set(taskIndexes.get(i), BulkTaskResult.created(taskIndexes.get(i), createdTask.getId()));
+			eventPublisher.publishEvent(TaskChangedEvent.saved(createdTask));
+		}
+		return results;
+	}
+
+	/**
+	 * Returns one page of tasks, sorted by due date (descending) and ID, with
+	 * undated tasks last. Ordering and limiting happen in the database via
+	 * keyset pagination.
+	 */
+	@Override
+	public CursorPage<TaskDao> getAllTasks(String cursor, int size) {
+		Limit limit = Limit.of(CursorPage.clampSize(size));
+		List<TaskDao> tasks;
+		if (cursor == null || cursor.isBlank()) {
+			tasks = taskRepository.findFirstPage(limit);
+		} else {
+			KeysetCursor position = KeysetCursor.parse(cursor);
+			tasks = position.timestamp() == null
+					? taskRepository.findPageAfterUndated(position.id(), limit)
+					: taskRepository.findPageAfter(position.timestamp(), position.id(), limit);
+		}
+		return CursorPage.of(tasks, limit.max(), task -> KeysetCursor.encode(task.getDueDate(), task.getId()));
 	}
 
 	/**
@@ -82,37 +189,205 @@ public class AdminServiceImpl implements AdminService {
 	@Override
 	public void deleteTask(Long id) {
 		taskRepository.deleteById(id);
+		eventPublisher.publishEvent(TaskChangedEvent.deleted(id));
 	}
 
 	/**
-	 * Retrieves a task by its ID.
+	 * Retrieves a task by its ID through the task cache.
 	 */
 	@Override
 	public TaskDao getTaskById(Long id) {
-		Optional<Task> optionalTask = taskRepository.findById(id);
-		return optionalTask.map(Task::getTaskDao).orElse(null);
+		return taskCacheService.getTaskById(id);
 	}
 
 	/**
-	 * Updates the specified task.
+	 * Updates the specified task in one transaction, in which the task loaded
+	 * with its assignee stays managed: the save is a plain UPDATE checked by
+	 * @Version, and the result is built from the entity. That is two
+	 * statements, plus an assignee lookup when the task changes hands. A
+	 * version given by the client is checked against the loaded task. A write
+	 * that commits between the load and the UPDATE fails the transaction, and
+	 * the conflict is then read outside it.
 	 */
 	@Override
 	public TaskDao updateTask(Long id, TaskDao taskDao) {
-		Optional<Task> optionalTask = taskRepository.findById(id);
-		Optional<User> optionalUser = userRepository.findById(taskDao.getEmployeeId());
+		if (taskDao.getEmployeeId() == null) {
+		    return null;
+		}
+		try {
+		    return transactionTemplate.execute(status -> applyUpdate(id, taskDao));
+		} catch (OptimisticLockingFailureException e) {
+		    throw conflict(id);
+		}
+	}
+
+	/**
+	 * Runs the update transaction.
+	 *
+	 * @return the updated task, or null if the task or the new assignee does not exist
+	 * @throws TaskConflictException if the client's version is not the current one
+	 */
+	private TaskDao applyUpdate(Long id, TaskDao taskDao) {
+		Task existingTask = taskRepository.findWithUserById(id).orElse(null);
+		if (existingTask == null) {
+		    return null;
+		}
+		if (taskDao.getVersion() != null && !taskDao.getVersion().equals(existingTask.getVersion())) {
+		    throw conflict(id);
+		}
+		User assignee = existingTask.getUser();
+		if (!assignee.getId().equals(taskDao.getEmployeeId())) {
+		    assignee = userRepository.findById(taskDao.getEmployeeId()).orElse(null);
+		    if (assignee == null) {
+		        return null;
+		    }
+		}
+		existingTask.setTitle(taskDao.getTitle());
+		existingTask.setDescription(taskDao.getDescription());
+		existingTask.setDueDate(taskDao.getDueDate());
+		existingTask.setPriority(taskDao.getPriority());
+		existingTask.setTaskStatus(mapStringToTaskStatus(String.valueOf(taskDao.getTaskStatus())));
+		existingTask.setUser(assignee);
+		TaskDao updatedTask = taskRepository.saveAndFlush(existingTask).getTaskDao();
+		eventPublisher.publishEvent(TaskChangedEvent.saved(updatedTask));
+		return updatedTask;
+	}
 
-		if (optionalTask.isPresent() && optionalUser.isPresent()) {
-		    Task existingTask = optionalTask.get();
-		    existingTask.setTitle(taskDao.getTitle());
-		    existingTask.setDescription(taskDao.getDescription());
-		    existingTask.setDueDate(taskDao.getDueDate());
-		    existingTask.setPriority(taskDao.getPriority());
-		    existingTask.setTaskStatus(mapStringToTaskStatus(String.valueOf(taskDao.getTaskStatus())));
-		    existingTask.setUser(optionalUser.get());
-		    return taskRepository.save(existingTask).getTaskDao();
+	/**
+	 * Applies the present fields with one targeted UPDATE and reads the result
+	 * back as a projection: two statements, with no entity or lazy loads. Each
+	 * attempt runs in its own transaction, so a retry reads the version that
+	 * beat it rather than the snapshot of the failed attempt.
+	 */
+	@Override
+	public TaskDao patchTask(Long id, TaskDao changes) {
+		Long expectedVersion = changes.getVersion();
+		for (int attempt = 1; ; attempt++) {
+			Long version = expectedVersion;
+			try {
+				return transactionTemplate.execute(status -> applyPatch(id, changes, version));
+			} catch (TaskConflictException e) {
+				if (!isStatusOnly(changes) || attempt == MAX_PATCH_ATTEMPTS) {
+					throw e;
+				}
+				expectedVersion = e.getCurrent().getVersion();
+			}
 		}
+	}
 
-		return null;
+	/**
+	 * Runs one patch attempt, conditional on the expected version if given.
+	 *
+	 * @return the patched task, or null if it does not exist
+	 * @throws TaskConflictException if the task is at another version
+	 */
+	private TaskDao applyPatch(Long id, TaskDao changes, Long expectedVersion) {
+		User assignee = changes.getEmployeeId() == null ? null : userRepository.getReferenceById(changes.getEmployeeId());
+		if (taskRepository.patchTask(id, changes, assignee, expectedVersion) == 0) {
+			TaskDao current = taskRepository.findTaskDaoById(id).orElse(null);
+			if (current == null || expectedVersion == null) {
+				return null;
+			}
+			throw new TaskConflictException(current);
+		}
+		TaskDao patchedTask = taskRepository.findTaskDaoById(id).orElse(null);
+		if (patchedTask != null) {
+			eventPublisher.publishEvent(TaskChangedEvent.saved(patchedTask));
+		}
+		return patchedTask;
+	}
+
+	/**
+	 * A change that only sets the status does not depend on the other fields,
+	 * so it can be reapplied on top of a concurrent edit of them.
+	 */
+	private static boolean isStatusOnly(TaskDao changes) {
+		return changes.getTaskStatus() != null && changes.getTitle() == null && changes.getDescription() == null
+				&& changes.getDueDate() == null && changes.getPriority() == null && changes.getEmployeeId() == null;
+	}
+
+	/**
+	 * Reads the current state of a task that a write lost a version race on.
+	 */
+	private TaskConflictException conflict(Long id) {
+		TaskDao current = taskRepository.findTaskDaoById(id)
+				.orElseThrow(() -> new EntityNotFoundException("Task not found"));
+		return new TaskConflictException(current);
+	}
+
+	/**
+	 * Sets the status of the given tasks in one UPDATE by primary key. Caches of
+	 * the affected tasks are invalidated once the update commits.
+	 */
+	@Override
+	@Transactional
+	public int updateTaskStatus(Collection<Long> ids, TaskStatus status) {
+		if (status == null) {
+			throw new IllegalArgumentException("status is required");
+		}
+		if (ids == null || ids.isEmpty()) {
+			throw new IllegalArgumentException("No tasks to update");
+		}
+		if (ids.size() > BulkTaskResult.MAX_ITEMS) {
+			throw new IllegalArgumentException("At most " + BulkTaskResult.MAX_ITEMS + " tasks per request");
+		}
+		List<Long> taskIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+		int updated = taskRepository.updateStatusByIdIn(taskIds, status);
+		if (updated > 0) {
+			eventPublisher.publishEvent(TasksBulkUpdatedEvent.of(taskIds, updated));
+		}
+		return updated;
+	}
+
+	/**
+	 * Sets the status of the matching tasks, which are locked and updated by
+	 * primary key. An empty filter is rejected rather than treated as "every task".
+	 */
+	@Override
+	@Transactional
+	public int updateTaskStatus(TaskFilter filter, TaskStatus status) {
+		if (status == null) {
+			throw new IllegalArgumentException("status is required");
+		}
+		if (filter.getStatus() == null && filter.getEmployeeId() == null && filter.getDueFrom() == null
+				&& filter.getDueTo() == null && (filter.getPriority() == null || filter.getPriority().isBlank())
+				&& (filter.getTitle() == null || filter.getTitle().isBlank())) {
+			throw new IllegalArgumentException("At least one filter criterion is required");
+		}
+		checkDueRange(filter);
+		int updated = taskRepository.updateStatus(filter, status);
+		if (updated > 0) {
+			eventPublisher.publishEvent(TasksBulkUpdatedEvent.matching(updated));
+		}
+		return updated;
+	}
+
+	/**
+	 * Moves an employee's open tasks to another employee: they are locked on the
+	 * (user_id, task_status, due_date) index and updated by primary key. Both
+	 * employees are resolved in a single lookup.
+	 */
+	@Override
+	@Transactional
+	public int reassignOpenTasks(Long fromEmployeeId, Long toEmployeeId) {
+		if (fromEmployeeId == null || toEmployeeId == null) {
+			throw new IllegalArgumentException("Both employees are required");
+		}
+		if (fromEmployeeId.equals(toEmployeeId)) {
+			throw new IllegalArgumentException("Tasks cannot be reassigned to the same employee");
+		}
+		Map<Long, User> employees = userRepository.findAllById(List.of(fromEmployeeId, toEmployeeId)).stream()
+				.collect(Collectors.toMap(User::getId, Function.identity()));
+		User from = employees.get(fromEmployeeId);
+		User to = employees.get(toEmployeeId);
+		if (from == null || to == null) {
+			throw new EntityNotFoundException("Employee not found: " + (from == null ? fromEmployeeId : toEmployeeId));
+		}
+		int updated = taskRepository.reassignTasks(from, to, TaskStatus.OPEN);
+		if (updated > 0) {
+			eventPublisher.publishEvent(TasksBulkUpdatedEvent.matching(updated));
+		}
+		return updated;
 	}
 
 	/**
@@ -129,45 +404,94 @@ public class AdminServiceImpl implements AdminService {
 	}
 
 	/**
-	 * Searches tasks by title, sorted by due date (descending).
+	 * Searches tasks by title and description using the in-memory search index,
+	 * ranked by relevance and then by due date (descending).
 	 */
 	@Override
 	public List<TaskDao> searchTaskByTitle(String title) {
-		return taskRepository.findAllByTitleContaining(title)
-				.stream()
-				.sorted(Comparator.comparing(Task::getDueDate).reversed())
-				.map(Task::getTaskDao)
-				.collect(Collectors.toList());
+		return taskSearchService.search(title);
+	}
+
+	/**
+	 * Filters tasks in the database with a single dynamic query, plus a count
+	 * query when the page alone does not determine the total.
+	 */
+	@Override
+	public Page<TaskDao> filterTasks(TaskFilter filter, int page, int size) {
+		checkDueRange(filter);
+		return taskRepository.filterTasks(filter, PageRequest.of(Math.max(page, 0), CursorPage.clampSize(size)));
+	}
+
+	/**
+	 * Rejects a filter whose due-date range is inverted.
+	 */
+	private static void checkDueRange(TaskFilter filter) {
+		if (filter.getDueFrom() != null && filter.getDueTo() != null && filter.getDueFrom().isAfter(filter.getDueTo())) {
+			throw new IllegalArgumentException("dueFrom must not be after dueTo");
+		}
 	}
 
 	/**
-	 * Creates a comment on a specific task by the logged-in user.
+	 * Creates a comment on a specific task by the logged-in user. The task's
+	 * comment counter is advanced first, which also checks that the task exists,
+	 * and the comment is inserted in the same transaction with the task and
+	 * author set as references; the response takes the author's name from the
+	 * principal. With group commit enabled, the comment is only journaled and
+	 * queued.
 	 */
 	@Override
+	@Transactional
 	public CommentDao createComment(Long taskId, String content) {
-		Optional<Task> optionalTask = taskRepository.findById(taskId);
-		User user = jwtUtil.getLoggedInUser();
+		Long userId = jwtUtil.getLoggedInUserId();
+		if (userId == null) {
+		    throw new EntityNotFoundException("User or Task not found");
+		}
+		if (commentIngestService.isEnabled()) {
+		    return commentIngestService.submit(taskId, userId, jwtUtil.getLoggedInUserName(), content);
+		}
 
-		if (optionalTask.isPresent() && user != null) {
-		    Comment comment = new Comment();
-		    comment.setCreatedAt(new Date());
-		    comment.setContent(content);
-		    comment.setTask(optionalTask.get());
-		    comment.setUser(user);
-		    return commentRepository.save(comment).getCommentDao();
+		Date createdAt = new Date();
+		if (taskRepository.recordComment(taskId, createdAt) == 0) {
+		    throw new EntityNotFoundException("User or Task not found");
+		}
+		Comment comment = new Comment();
+		comment.setCreatedAt(createdAt);
+		comment.setContent(content);
+		comment.setTask(taskRepository.getReferenceById(taskId));
+		comment.setUser(userRepository.getReferenceById(userId));
+		try {
+		    comment = commentRepository.save(comment);
+		} catch (DataIntegrityViolationException e) {
+		    throw new EntityNotFoundException("User or Task not found");
 		}
 
-		throw new EntityNotFoundException("User or Task not found");
+		// The author's name comes from the principal, so the user reference is never loaded
+		CommentDao createdComment = new CommentDao(comment.getId(), content, createdAt, taskId, userId,
+				jwtUtil.getLoggedInUserName());
+		eventPublisher.publishEvent(CommentChangedEvent.saved(createdComment));
+		return createdComment;
 	}
 
 	/**
-	 * Retrieves all comments associated with a specific task.
+	 * Retrieves one page of a task's comments by keyset on (createdAt, id),
+	 * newest first unless ascending order is asked for.
 	 */
 	@Override
-	public List<CommentDao> getCommentsByTaskId(Long taskId) {
-		return commentRepository.findAllByTaskId(taskId)
-				.stream()
-				.map(Comment::getCommentDao)
-				.collect(Collectors.toList());
+	public CursorPage<CommentDao> getCommentsByTaskId(Long taskId, String cursor, int size, Sort.Direction order) {
+		Limit limit = Limit.of(CursorPage.clampSize(size));
+		boolean oldestFirst = order == Sort.Direction.ASC;
+		List<CommentDao> comments;
+		if (cursor == null || cursor.isBlank()) {
+			comments = oldestFirst
+					? commentRepository.findOldestByTaskId(taskId, limit)
+					: commentRepository.findNewestByTaskId(taskId, limit);
+		} else {
+			KeysetCursor position = KeysetCursor.parse(cursor);
+			comments = oldestFirst
+					? commentRepository.findNewerByTaskId(taskId, position.timestamp(), position.id(), limit)
+					: commentRepository.findOlderByTaskId(taskId, position.timestamp(), position.id(), limit);
+		}
+		return CursorPage.of(comments, limit.max(),
+				comment -> KeysetCursor.encode(comment.getCreatedAt(), comment.getId()));
 	}
 }
@@ -1,5 +1,7 @@
 package com.demo.services.auth;
 
+import com.demo.dao.AuthenticationRequest;
+import com.demo.dao.AuthenticationResponse;
 import com.demo.dao.SignupRequest;
 import com.demo.dao.UserDto;
 
@@ -20,4 +22,13 @@ public interface AuthService {
      * @return true if user exists, false otherwise
      */
     boolean hasUserWithEmail(String email);
+
+    /**
+     * Authenticates the user with a single user lookup and issues a JWT.
+     *
+     * @param authenticationRequest contains email and password
+     * @return the JWT together with the user's ID and role
+     * @throws org.springframework.security.authentication.BadCredentialsException if the credentials are invalid
+     */
+    AuthenticationResponse login(AuthenticationRequest authenticationRequest);
 }
@@ -2,14 +2,21 @@ package com.demo.services.auth;
 
 import java.util.Optional;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 
+import com.demo.dao.AuthenticationRequest;
+import com.demo.dao.AuthenticationResponse;
 import com.demo.dao.SignupRequest;
 import com.demo.dao.UserDto;
 import com.demo.entities.User;
 import com.demo.enums.UserRole;
+import com.demo.events.UserChangedEvent;
 import com.demo.repositories.UserRepository;
+import com.demo.services.jwt.UserService;
+import com.demo.utils.JwtUtil;
+import com.demo.utils.PasswordHasher;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +25,18 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
+    /**
+     * BCrypt hash of a random password, at the cost BCryptPasswordEncoder uses.
+     * Checked against when the email is unknown, so that such a login takes as
+     * long as one with a wrong password.
+     */
+    static final String UNKNOWN_USER_HASH = "$2a$10$0X1foGM4jytWRZNBWVIsS.Wd3sgEbHDaNS03lLm/CB87BPNmOVVhC";
+
     private final UserRepository userRepository;
+    private final UserService userService;
+    private final PasswordHasher passwordHasher;
+    private final JwtUtil jwtUtil;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Creates a default admin account if it does not already exist.
@@ -31,7 +49,7 @@ public class AuthServiceImpl implements AuthService {
             User user = new User();
             user.setEmail("admin@test.com");
             user.setName("admin");
-            user.setPassword(new BCryptPasswordEncoder().encode("admin")); // Encrypting default admin password
+            user.setPassword(passwordHasher.encode("admin")); // Encrypting default admin password
             user.setUserRole(UserRole.ADMIN);
             userRepository.save(user);
             System.out.println("Admin account created successfully!");
@@ -41,7 +59,8 @@ public class AuthServiceImpl implements AuthService {
     }
 
     /**
-     * Registers a new user with role EMPLOYEE based on the signup request.
+     * Registers a new user with role EMPLOYEE based on the signup request
+     * and publishes a {@link UserChangedEvent} for it.
      *
      * @param signupRequest contains name, email, and password
      * @return UserDto of the newly created user
@@ -51,10 +70,13 @@ public class AuthServiceImpl implements AuthService {
         User user = new User();
         user.setEmail(signupRequest.getEmail());
         user.setName(signupRequest.getName());
-        user.setPassword(new BCryptPasswordEncoder().encode(signupRequest.getPassword())); // Encrypt password
+        user.setPassword(passwordHasher.encode(signupRequest.getPassword())); // Encrypt password
         user.setUserRole(UserRole.EMPLOYEE); // Assign default role as EMPLOYEE
         User createdUser = userRepository.save(user);
-        return createdUser.getUserDto();
+        userService.evictUser(createdUser.getEmail()); // Drop any stale cached entry for this email
+        UserDto userDto = createdUser.getUserDto();
+        eventPublisher.publishEvent(new UserChangedEvent(userDto));
+        return userDto;
     }
 
     /**
@@ -67,4 +89,32 @@ public class AuthServiceImpl implements AuthService {
     public boolean hasUserWithEmail(String email) {
         return userRepository.findFirstByEmail(email).isPresent();
     }
+
+    /**
+     * Loads the user once, verifies the password on the hashing executor
+     * and issues a JWT for the same user instance. An unknown email is
+     * verified against {@link #UNKNOWN_USER_HASH} before it is rejected.
+     *
+     * @param authenticationRequest contains email and password
+     * @return AuthenticationResponse with JWT, user ID and role
+     */
+    @Override
+    public AuthenticationResponse login(AuthenticationRequest authenticationRequest) {
+        Optional<User> optionalUser = userRepository.findFirstByEmail(authenticationRequest.getEmail());
+        if (optionalUser.isEmpty()) {
+            passwordHasher.matches(authenticationRequest.getPassword(), UNKNOWN_USER_HASH);
+            throw new BadCredentialsException("Incorrect username or password");
+        }
+
+        User user = optionalUser.get();
+        if (!passwordHasher.matches(authenticationRequest.getPassword(), user.getPassword())) {
+            throw new BadCredentialsException("Incorrect username or password");
+        }
+
+        AuthenticationResponse authenticationResponse = new AuthenticationResponse();
+        authenticationResponse.setJwt(jwtUtil.generateToken(user));
+        authenticationResponse.setUserId(user.getId());
+        authenticationResponse.setUserRole(user.getUserRole());
+        return authenticationResponse;
+    }
 }
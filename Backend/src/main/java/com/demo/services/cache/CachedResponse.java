@@ -0,0 +1,83 @@
+package com.demo.services.cache;
+
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * A response body already encoded as JSON, in plain and gzip form, with the
+ * extra headers that go with it. The two forms are different representations,
+ * so the gzip one is sent with its own ETag, suffixed with {@value #GZIP_ETAG_SUFFIX}.
+ *
+ * @param json the JSON bytes
+ * @param gzip the same bytes, gzip-compressed
+ * @param headers extra response headers, such as the next-page cursor
+ */
+public record CachedResponse(byte[] json, byte[] gzip, Map<String, String> headers) {
+
+    public static final String GZIP_ETAG_SUFFIX = "-gzip";
+
+    /**
+     * Completes a response with this body, compressed when the client accepts
+     * gzip, and the ETag of the encoding sent.
+     *
+     * @param response the response builder, with status and caching headers set
+     * @param etag the quoted ETag of the plain representation
+     * @param acceptEncoding the request's Accept-Encoding header, or null
+     * @return the response
+     */
+    public ResponseEntity<byte[]> write(ResponseEntity.BodyBuilder response, String etag, String acceptEncoding) {
+        headers.forEach(response::header);
+        response.contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.eTag(gzipETag(etag)).header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(gzip.length).body(gzip);
+        }
+        return response.eTag(etag).contentLength(json.length).body(json);
+    }
+
+    /**
+     * ETag of the representation that {@link #write} sends for a request.
+     *
+     * @param etag the quoted ETag of the plain representation
+     * @param acceptEncoding the request's Accept-Encoding header, or null
+     * @return the ETag of the gzip or the plain representation
+     */
+    public static String eTag(String etag, String acceptEncoding) {
+        return acceptsGzip(acceptEncoding) ? gzipETag(etag) : etag;
+    }
+
+    /**
+     * ETag of the gzip representation.
+     *
+     * @param etag the quoted ETag of the plain representation
+     * @return the same ETag with {@value #GZIP_ETAG_SUFFIX} inside the quotes
+     */
+    public static String gzipETag(String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_ETAG_SUFFIX + "\"";
+    }
+
+    /**
+     * Weight of this entry in the response cache.
+     *
+     * @return total size of the stored bytes
+     */
+    public int size() {
+        return json.length + gzip.length;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,29 @@
+package com.demo.services.cache;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Service interface for caching encoded list responses.
+ */
+public interface ResponseCacheService {
+
+    /**
+     * Returns the cached response for the key, rendering and storing it on a miss.
+     * Keys must identify the data version as well as the request, such as a strong ETag.
+     *
+     * @param key the cache key
+     * @param loader renders the response on a miss, usually with {@link #encode}
+     * @return the cached response
+     */
+    CachedResponse get(String key, Supplier<CachedResponse> loader);
+
+    /**
+     * Encodes a body as JSON and gzip.
+     *
+     * @param body the response body
+     * @param headers extra response headers to store with it
+     * @return the encoded response
+     */
+    CachedResponse encode(Object body, Map<String, String> headers);
+}
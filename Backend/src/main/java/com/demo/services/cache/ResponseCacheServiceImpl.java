@@ -0,0 +1,119 @@
+package com.demo.services.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.demo.events.CommentChangedEvent;
+import com.demo.events.TaskChangedEvent;
+import com.demo.events.TasksBulkUpdatedEvent;
+import com.demo.events.UserChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache of list responses encoded once with the application's ObjectMapper
+ * and gzip, bounded by total bytes. A hit costs a map lookup, and writing it
+ * costs a copy of the stored bytes.
+ *
+ * <p>Keys carry the collection stamp, so an entry rendered from data older than
+ * a committed write is never served after it. The cache is still cleared on
+ * every write so that superseded entries do not hold memory until evicted.</p>
+ */
+@Service
+public class ResponseCacheServiceImpl implements ResponseCacheService {
+
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Encoded responses keyed by ETag. Hit, miss and eviction counts are
+	 * published as the "responses" cache metrics.
+	 */
+	private final Cache<String, CachedResponse> responseCache;
+
+	public ResponseCacheServiceImpl(ObjectMapper objectMapper,
+			MeterRegistry meterRegistry,
+			@Value("${app.cache.responses.max-bytes:67108864}") long maxBytes) {
+		this.objectMapper = objectMapper;
+		this.responseCache = Caffeine.newBuilder()
+				.maximumWeight(maxBytes)
+				.weigher((String key, CachedResponse response) -> response.size())
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, responseCache, "responses");
+	}
+
+	@Override
+	public CachedResponse get(String key, Supplier<CachedResponse> loader) {
+		return responseCache.get(key, k -> loader.get());
+	}
+
+	@Override
+	public CachedResponse encode(Object body, Map<String, String> headers) {
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(body);
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+			try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+				gzip.write(json);
+			}
+			return new CachedResponse(json, compressed.toByteArray(), Map.copyOf(headers));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Response body could not be encoded", e);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Clears the cache once a task change has been committed.
+	 *
+	 * @param event the change
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onTaskChanged(TaskChangedEvent event) {
+		responseCache.invalidateAll();
+	}
+
+	/**
+	 * Clears the cache once a set-based task update has been committed.
+	 *
+	 * @param event the change
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onTasksBulkUpdated(TasksBulkUpdatedEvent event) {
+		responseCache.invalidateAll();
+	}
+
+	/**
+	 * Clears the cache once a user change has been committed.
+	 *
+	 * @param event the change
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChanged(UserChangedEvent event) {
+		responseCache.invalidateAll();
+	}
+
+	/**
+	 * Clears the cache once a comment has been committed, as the cached task
+	 * lists carry comment counters.
+	 *
+	 * @param event the change
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCommentChanged(CommentChangedEvent event) {
+		responseCache.invalidateAll();
+	}
+}
@@ -0,0 +1,24 @@
+package com.demo.services.cache;
+
+import com.demo.dao.TaskDao;
+
+/**
+ * Service interface for cached single-task lookups.
+ */
+public interface TaskCacheService {
+
+    /**
+     * Retrieves a task by its ID, from the cache when possible.
+     *
+     * @param id the ID of the task
+     * @return the task, or null if it does not exist
+     */
+    TaskDao getTaskById(Long id);
+
+    /**
+     * Invalidates the cached entry for the given task.
+     *
+     * @param id the ID of the task
+     */
+    void evictTask(Long id);
+}
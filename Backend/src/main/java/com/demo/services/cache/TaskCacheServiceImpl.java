@@ -0,0 +1,110 @@
+package com.demo.services.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.demo.dao.TaskDao;
+import com.demo.events.CommentChangedEvent;
+import com.demo.events.TaskChangedEvent;
+import com.demo.events.TasksBulkUpdatedEvent;
+import com.demo.repositories.TaskRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache of {@link TaskDao}s keyed by task ID, bounded by size and
+ * time since write. Entries are invalidated once a task change, or a comment
+ * that moves the task's comment counters, is committed.
+ *
+ * <p>A load and an invalidation of the same key are serialized by the cache,
+ * so a load that read the row before a write committed cannot store its
+ * result after that write's invalidation has returned.</p>
+ */
+@Service
+public class TaskCacheServiceImpl implements TaskCacheService {
+
+	private final TaskRepository taskRepository;
+
+	/**
+	 * Tasks keyed by ID. Hit, miss and eviction counts are published as the
+	 * "tasks" cache metrics, along with the hit ratio.
+	 */
+	private final Cache<Long, TaskDao> taskCache;
+
+	public TaskCacheServiceImpl(TaskRepository taskRepository,
+			MeterRegistry meterRegistry,
+			@Value("${app.cache.tasks.max-size:10000}") long maxSize,
+			@Value("${app.cache.tasks.ttl:PT1M}") Duration ttl) {
+		this.taskRepository = taskRepository;
+		this.taskCache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, taskCache, "tasks");
+		Gauge.builder("cache.hit.ratio", taskCache, cache -> cache.stats().hitRate())
+				.description("Share of lookups served from the cache")
+				.tag("cache", "tasks")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Retrieves a task by its ID, loading it from the database on a miss.
+	 * Missing tasks are not cached.
+	 */
+	@Override
+	public TaskDao getTaskById(Long id) {
+		return taskCache.get(id, key -> taskRepository.findTaskDaoById(key).orElse(null));
+	}
+
+	/**
+	 * Invalidates the cached entry for the given task.
+	 */
+	@Override
+	public void evictTask(Long id) {
+		taskCache.invalidate(id);
+	}
+
+	/**
+	 * Invalidates the changed task once the change has been committed.
+	 *
+	 * @param event the change
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onTaskChanged(TaskChangedEvent event) {
+		evictTask(event.taskId());
+	}
+
+	/**
+	 * Invalidates the updated tasks once a set-based update has been committed;
+	 * all entries when the tasks were selected by criteria.
+	 *
+	 * @param event the change
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onTasksBulkUpdated(TasksBulkUpdatedEvent event) {
+		if (event.isUnbounded()) {
+			taskCache.invalidateAll();
+		} else {
+			taskCache.invalidateAll(event.taskIds());
+		}
+	}
+
+	/**
+	 * Invalidates the commented task once the comment has been committed, as
+	 * its comment counters changed.
+	 *
+	 * @param event the change
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCommentChanged(CommentChangedEvent event) {
+		evictTask(event.taskId());
+	}
+}
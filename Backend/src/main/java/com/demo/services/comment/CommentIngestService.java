@@ -0,0 +1,42 @@
+package com.demo.services.comment;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import com.demo.dao.CommentDao;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Service interface for the group-commit comment write path. Comments are
+ * acknowledged once they are journaled and queued, and a single writer stores
+ * them in batches.
+ */
+public interface CommentIngestService {
+
+    /**
+     * Tells whether comments should be written through this service rather
+     * than inserted one transaction at a time.
+     *
+     * @return true if the group-commit path is enabled
+     */
+    boolean isEnabled();
+
+    /**
+     * Journals a comment on an existing task and queues it for the writer. The comment is stored
+     * shortly afterwards; its thread's caches are invalidated when it is.
+     *
+     * @param taskId ID of the task commented on
+     * @param userId ID of the author
+     * @param postedBy name of the author, for the acknowledgement
+     * @param content the comment text
+     * @return the accepted comment, without an ID until it is stored
+     * @throws EntityNotFoundException if the task does not exist
+	 * @throws RejectedExecutionException if the queue is full or the service is shutting down
+     */
+    CommentDao submit(Long taskId, Long userId, String postedBy, String content);
+
+    /**
+     * @return number of accepted comments not yet handed to the writer
+     */
+    int queueDepth();
+}
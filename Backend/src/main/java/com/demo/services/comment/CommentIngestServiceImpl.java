@@ -0,0 +1,487 @@
+package com.demo.services.comment;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.demo.dao.CommentDao;
+import com.demo.entities.Task;
+import com.demo.events.CommentChangedEvent;
+import com.demo.utils.AppendOnlyJournal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of the CommentIngestService interface.
+ * Each accepted comment on an existing task gets a sequence number and is
+ * appended to a local journal and queued; it is acknowledged once the journal
+ * is forced to disk, and comments submitted concurrently share one force.
+ * A single writer thread takes
+ * comments off the queue in batches of up to {@code batch-size}, waiting at
+ * most {@code max-delay} after the first one, and inserts each batch with one
+ * JDBC batch in the transaction that advances the journal's checkpoint row
+ * and the comment counters of the tasks concerned.
+ * On startup, journaled comments past the checkpoint are stored before new
+ * ones are accepted, so each accepted comment is stored exactly once. The
+ * journal is emptied whenever the writer has caught up, and compacted down to
+ * the comments past the checkpoint once it grows beyond
+ * {@code journal-compact-size}, so it stays bounded under steady load.
+ */
+@Service
+@Slf4j
+public class CommentIngestServiceImpl implements CommentIngestService {
+
+	private static final String INSERT_COMMENT =
+			"insert into comment (content, created_at, task_id, user_id, version) values (?, ?, ?, ?, 0)";
+	private static final String RECORD_COMMENTS = "update task set comment_count = comment_count + ?, "
+			+ "last_comment_at = case when last_comment_at is null or last_comment_at < ? then ? else last_comment_at end "
+			+ "where id = ?";
+	private static final String TASK_EXISTS = "select count(*) from task where id = ?";
+	private static final String SELECT_CHECKPOINT = "select last_seq from comment_ingest_checkpoint where journal = ?";
+	private static final String INSERT_CHECKPOINT = "insert into comment_ingest_checkpoint (journal, last_seq) values (?, 0)";
+	private static final String UPDATE_CHECKPOINT = "update comment_ingest_checkpoint set last_seq = ? where journal = ?";
+
+	/**
+	 * Pause before retrying a batch after the database could not be reached.
+	 */
+	private static final long RETRY_BACKOFF_MILLIS = 1000;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final EntityManagerFactory entityManagerFactory;
+	private final boolean enabled;
+	private final int batchSize;
+	private final Duration maxDelay;
+	private final Path journalPath;
+	private final String journalId;
+	private final Duration shutdownTimeout;
+	private final long journalCompactSize;
+
+	private final BlockingQueue<PendingComment> queue;
+	private final DistributionSummary batchSizes;
+	private final Timer flushLatency;
+	private final Counter dropped;
+	private final Counter compactions;
+
+	/**
+	 * Guards sequence numbers, journal writes and journal truncation.
+	 */
+	private final Object lock = new Object();
+	private AppendOnlyJournal journal;
+	private long lastJournaledSeq;
+	private volatile long checkpoint;
+	private volatile boolean accepting;
+	private Thread writer;
+
+	public CommentIngestServiceImpl(JdbcTemplate jdbcTemplate,
+			TransactionTemplate transactionTemplate,
+			ApplicationEventPublisher eventPublisher,
+			EntityManagerFactory entityManagerFactory,
+			MeterRegistry meterRegistry,
+			@Value("${app.comments.group-commit.enabled:false}") boolean enabled,
+			@Value("${app.comments.group-commit.queue-capacity:10000}") int queueCapacity,
+			@Value("${app.comments.group-commit.batch-size:50}") int batchSize,
+			@Value("${app.comments.group-commit.max-delay:PT0.05S}") Duration maxDelay,
+			@Value("${app.comments.group-commit.journal:data/comment-journal.log}") String journalPath,
+			@Value("${app.comments.group-commit.journal-id:local}") String journalId,
+			@Value("${app.comments.group-commit.shutdown-timeout:PT30S}") Duration shutdownTimeout,
+			@Value("${app.comments.group-commit.journal-compact-size:8MB}") DataSize journalCompactSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.eventPublisher = eventPublisher;
+		this.entityManagerFactory = entityManagerFactory;
+		this.enabled = enabled;
+		this.batchSize = batchSize;
+		this.maxDelay = maxDelay;
+		this.journalPath = Path.of(journalPath);
+		this.journalId = journalId;
+		this.shutdownTimeout = shutdownTimeout;
+		this.journalCompactSize = journalCompactSize.toBytes();
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+		Gauge.builder("comments.ingest.queue.depth", queue, BlockingQueue::size)
+				.description("Accepted comments waiting for the writer")
+				.register(meterRegistry);
+		this.batchSizes = DistributionSummary.builder("comments.ingest.batch.size")
+				.description("Comments stored per flush")
+				.register(meterRegistry);
+		this.flushLatency = Timer.builder("comments.ingest.flush.latency")
+				.description("Time to store one batch of comments, including retries")
+				.register(meterRegistry);
+		this.dropped = Counter.builder("comments.ingest.dropped")
+				.description("Accepted comments rejected by the database, e.g. for a deleted task")
+				.register(meterRegistry);
+		this.compactions = Counter.builder("comments.ingest.journal.compactions")
+				.description("Journal rewrites dropping the comments already stored")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Stores the comments left in the journal by the previous run, then starts
+	 * the writer.
+	 */
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		journal = new AppendOnlyJournal(journalPath);
+		recover();
+		accepting = true;
+		writer = new Thread(this::runWriter, "comment-writer");
+		writer.setDaemon(true);
+		writer.start();
+		log.info("Comment group commit enabled; journal {} at sequence {}.", journalPath, lastJournaledSeq);
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Checks that the task exists, then assigns the next sequence number,
+	 * writes the comment to the journal and queues it, all under one lock so
+	 * that journal order is queue order. The journal is forced outside the
+	 * lock, so that one force covers every comment written meanwhile.
+	 */
+	@Override
+	public CommentDao submit(Long taskId, Long userId, String postedBy, String content) {
+		if (taskId == null || userId == null) {
+			throw new IllegalArgumentException("Task and author are required");
+		}
+		if (!taskExists(taskId)) {
+			throw new EntityNotFoundException("User or Task not found");
+		}
+		Date createdAt = new Date();
+		long offset;
+		synchronized (lock) {
+			if (!accepting) {
+				throw new RejectedExecutionException("Comments are not being accepted");
+			}
+			if (queue.remainingCapacity() == 0) {
+				throw new RejectedExecutionException("Comment queue is full");
+			}
+			PendingComment comment = new PendingComment(lastJournaledSeq + 1, taskId, userId, createdAt, content);
+			offset = journal.write(comment.toRecord());
+			lastJournaledSeq = comment.seq();
+			queue.add(comment);
+		}
+		journal.sync(offset);
+		return new CommentDao(null, content, createdAt, taskId, userId, postedBy);
+	}
+
+	/**
+	 * A cached task exists; otherwise its primary key is looked up. A task
+	 * deleted after this check is caught when the comment is stored.
+	 */
+	private boolean taskExists(Long taskId) {
+		return entityManagerFactory.getCache().contains(Task.class, taskId)
+				|| jdbcTemplate.queryForObject(TASK_EXISTS, Long.class, taskId) > 0;
+	}
+
+	@Override
+	public int queueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * Stops accepting comments and waits for the writer to store the queued
+	 * ones. Whatever is left after the timeout stays in the journal for the
+	 * next start.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		if (writer == null) {
+			return;
+		}
+		synchronized (lock) {
+			accepting = false;
+		}
+		try {
+			writer.join(shutdownTimeout.toMillis());
+			if (writer.isAlive()) {
+				writer.interrupt();
+				writer.join(RETRY_BACKOFF_MILLIS);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (writer.isAlive()) {
+			log.warn("Comment writer did not finish; {} comments stay in the journal.", lastJournaledSeq - checkpoint);
+			return;
+		}
+		journal.close();
+		log.info("Comment writer drained; last stored sequence {}.", checkpoint);
+	}
+
+	/**
+	 * Writer loop: collects a batch until it is full or the delay after its
+	 * first comment has passed, stores it, and exits once shutdown has been
+	 * requested and the queue is empty.
+	 */
+	private void runWriter() {
+		List<PendingComment> batch = new ArrayList<>(batchSize);
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				PendingComment first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					if (!accepting && queue.isEmpty()) {
+						return;
+					}
+					continue;
+				}
+				batch.add(first);
+				long deadline = System.nanoTime() + maxDelay.toNanos();
+				while (batch.size() < batchSize) {
+					long remaining = deadline - System.nanoTime();
+					PendingComment next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+				flush(batch);
+				batch.clear();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Stores a batch, retrying while the database cannot be reached. When the
+	 * batch violates a constraint, its comments are stored one by one and the
+	 * offending ones are dropped. Once every journaled comment is stored the
+	 * journal is truncated; otherwise, past its size limit, it is compacted to
+	 * the comments not yet stored.
+	 */
+	private void flush(List<PendingComment> batch) throws InterruptedException {
+		long started = System.nanoTime();
+		List<PendingComment> stored = new ArrayList<>(batch.size());
+		boolean oneByOne = false;
+		while (true) {
+			List<PendingComment> remaining = batch.stream().filter(comment -> comment.seq() > checkpoint).toList();
+			if (remaining.isEmpty()) {
+				break;
+			}
+			try {
+				if (oneByOne) {
+					storeEach(remaining, stored);
+				} else {
+					store(remaining);
+					stored.addAll(remaining);
+				}
+				break;
+			} catch (DataIntegrityViolationException e) {
+				oneByOne = true;
+			} catch (RuntimeException e) {
+				// Comments already stored are past the checkpoint and are not retried
+				log.warn("Storing {} comments failed, retrying: {}", remaining.size(), e.getMessage());
+				Thread.sleep(RETRY_BACKOFF_MILLIS);
+			}
+		}
+		flushLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+		batchSizes.record(batch.size());
+
+		boolean truncated;
+		synchronized (lock) {
+			truncated = checkpoint == lastJournaledSeq;
+			if (truncated) {
+				journal.truncate();
+			}
+		}
+		if (!truncated && journal.size() > journalCompactSize) {
+			long storedUpTo = checkpoint;
+			journal.compact(record -> {
+				PendingComment comment = PendingComment.parse(record);
+				return comment == null || comment.seq() > storedUpTo;
+			});
+			compactions.increment();
+		}
+		// One event per thread is enough to move its stamp. The counters were
+		// written past Hibernate, so the cached tasks are evicted here
+		Map<Long, PendingComment> latestPerTask = new LinkedHashMap<>();
+		for (PendingComment comment : stored) {
+			latestPerTask.put(comment.taskId(), comment);
+		}
+		latestPerTask.keySet().forEach(taskId -> entityManagerFactory.getCache().evict(Task.class, taskId));
+		latestPerTask.values().forEach(comment -> eventPublisher.publishEvent(CommentChangedEvent.saved(comment.toDao())));
+	}
+
+	/**
+	 * Stores comments one per transaction, skipping those the database rejects.
+	 *
+	 * @param stored receives the comments that were stored
+	 */
+	private void storeEach(List<PendingComment> batch, List<PendingComment> stored) {
+		for (PendingComment comment : batch) {
+			try {
+				store(List.of(comment));
+				stored.add(comment);
+			} catch (DataIntegrityViolationException e) {
+				log.warn("Dropping comment {} on task {} by user {}: {}", comment.seq(), comment.taskId(),
+						comment.userId(), e.getMostSpecificCause().getMessage());
+				dropped.increment();
+				transactionTemplate.executeWithoutResult(status -> advanceCheckpoint(comment.seq()));
+				checkpoint = comment.seq();
+			}
+		}
+	}
+
+	/**
+	 * Advances the comment counters of the tasks, inserts the comments with
+	 * one JDBC batch and advances the checkpoint to the last of them, in one
+	 * transaction. Tasks are updated in ID order, so that concurrent writers
+	 * lock their rows in the same order.
+	 */
+	private void store(List<PendingComment> comments) {
+		long lastSeq = comments.get(comments.size() - 1).seq();
+		List<List<PendingComment>> perTask = new ArrayList<>(comments.stream()
+				.collect(Collectors.groupingBy(PendingComment::taskId, TreeMap::new, Collectors.toList()))
+				.values());
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.batchUpdate(RECORD_COMMENTS, perTask, perTask.size(), (statement, taskComments) -> {
+				Timestamp latest = new Timestamp(taskComments.stream()
+						.mapToLong(comment -> comment.createdAt().getTime()).max().getAsLong());
+				statement.setLong(1, taskComments.size());
+				statement.setTimestamp(2, latest);
+				statement.setTimestamp(3, latest);
+				statement.setLong(4, taskComments.get(0).taskId());
+			});
+			jdbcTemplate.batchUpdate(INSERT_COMMENT, comments, comments.size(), (statement, comment) -> {
+				statement.setString(1, comment.content());
+				statement.setTimestamp(2, new Timestamp(comment.createdAt().getTime()));
+				statement.setLong(3, comment.taskId());
+				statement.setLong(4, comment.userId());
+			});
+			advanceCheckpoint(lastSeq);
+		});
+		checkpoint = lastSeq;
+	}
+
+	private void advanceCheckpoint(long seq) {
+		jdbcTemplate.update(UPDATE_CHECKPOINT, seq, journalId);
+	}
+
+	/**
+	 * Reads the checkpoint, creating it on first use, and stores the journaled
+	 * comments past it in batches. The journal is then empty and numbering
+	 * continues after the highest sequence seen.
+	 */
+	private void recover() {
+		List<Long> rows = jdbcTemplate.queryForList(SELECT_CHECKPOINT, Long.class, journalId);
+		if (rows.isEmpty()) {
+			jdbcTemplate.update(INSERT_CHECKPOINT, journalId);
+			checkpoint = 0;
+		} else {
+			checkpoint = rows.get(0);
+		}
+
+		List<PendingComment> pending = new ArrayList<>();
+		long highestSeq = checkpoint;
+		for (String record : journal.readAll()) {
+			PendingComment comment = PendingComment.parse(record);
+			if (comment == null) {
+				log.warn("Skipping unreadable comment journal record: {}", record);
+				continue;
+			}
+			highestSeq = Math.max(highestSeq, comment.seq());
+			if (comment.seq() > checkpoint) {
+				pending.add(comment);
+			}
+		}
+		lastJournaledSeq = highestSeq;
+		try {
+			for (int from = 0; from < pending.size(); from += batchSize) {
+				flush(pending.subList(from, Math.min(from + batchSize, pending.size())));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while replaying the comment journal", e);
+		}
+		if (!pending.isEmpty()) {
+			log.info("Stored {} comments replayed from journal {}.", pending.size(), journalPath);
+		}
+		synchronized (lock) {
+			checkpoint = Math.max(checkpoint, highestSeq);
+			journal.truncate();
+		}
+	}
+
+	/**
+	 * A journaled comment waiting to be stored.
+	 */
+	private record PendingComment(long seq, Long taskId, Long userId, Date createdAt, String content) {
+
+		/**
+		 * Marks a null content, which is not a valid Base64 string.
+		 */
+		private static final String NULL_CONTENT = "-";
+
+		/**
+		 * Encodes the comment as one tab-separated journal line; the content is
+		 * Base64 so that it cannot contain separators or line breaks.
+		 */
+		String toRecord() {
+			String encoded = content == null ? NULL_CONTENT
+					: Base64.getEncoder().encodeToString(content.getBytes(StandardCharsets.UTF_8));
+			return seq + "\t" + taskId + "\t" + userId + "\t" + createdAt.getTime() + "\t" + encoded;
+		}
+
+		/**
+		 * Decodes a journal line.
+		 *
+		 * @return the comment, or null if the line is malformed
+		 */
+		static PendingComment parse(String record) {
+			String[] fields = record.split("\t", -1);
+			if (fields.length != 5) {
+				return null;
+			}
+			try {
+				String content = fields[4].equals(NULL_CONTENT) ? null
+						: new String(Base64.getDecoder().decode(fields[4]), StandardCharsets.UTF_8);
+				return new PendingComment(Long.parseLong(fields[0]), Long.valueOf(fields[1]), Long.valueOf(fields[2]),
+						new Date(Long.parseLong(fields[3])), content);
+			} catch (IllegalArgumentException e) {
+				return null;
+			}
+		}
+
+		CommentDao toDao() {
+			return new CommentDao(null, content, createdAt, taskId, userId, null);
+		}
+	}
+}
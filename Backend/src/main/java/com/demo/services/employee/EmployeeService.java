@@ -2,8 +2,12 @@ package com.demo.services.employee;
 
 import java.util.List;
 
+import org.springframework.data.domain.Sort;
+
 import com.demo.dao.CommentDao;
+import com.demo.dao.CursorPage;
 import com.demo.dao.TaskDao;
+import com.demo.enums.TaskStatus;
 
 /**
  * Service interface for employee-specific operations
@@ -12,11 +16,15 @@ import com.demo.dao.TaskDao;
 public interface EmployeeService {
     
     /**
-     * Retrieves all tasks assigned to the currently logged-in employee.
+     * Retrieves a page of tasks assigned to the currently logged-in employee,
+     * ordered by due date and ID (descending).
      *
-     * @return List of TaskDao objects assigned to the user
+     * @param status optional status filter, or null for all tasks
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     * @param size   maximum number of tasks in the page
+     * @return the page of tasks and the cursor for the next one
      */
-    List<TaskDao> getTasksByUserId();
+    CursorPage<TaskDao> getTasksByUserId(TaskStatus status, String cursor, int size);
 
     /**
      * Updates the status of a specific task.
@@ -27,6 +35,17 @@ public interface EmployeeService {
      */
     TaskDao updateTask(Long id, String status);
 
+    /**
+     * Sets the status of a specific task with a single UPDATE statement,
+     * without loading the task or its assignee.
+     *
+     * @param id     the task ID
+     * @param status the new status
+     * @return the updated TaskDao object
+     * @throws jakarta.persistence.EntityNotFoundException if the task does not exist
+     */
+    TaskDao updateTaskStatus(Long id, TaskStatus status);
+
     /**
      * Retrieves a task by its ID.
      *
@@ -40,16 +59,21 @@ public interface EmployeeService {
      *
      * @param taskId  the task ID
      * @param content the comment content
-     * @return the created CommentDao object
+     * @return the created CommentDao object; without an ID if the comment was
+     *         accepted for group commit and is not stored yet
      */
     CommentDao createComment(Long taskId, String content);
 
     /**
-     * Retrieves all comments associated with a specific task.
+     * Retrieves a page of the comments on a specific task, ordered by creation
+     * time and ID.
      *
      * @param taskId the task ID
-     * @return List of CommentDao objects for the task
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     * @param size   maximum number of comments in the page
+     * @param order  DESC for newest first, ASC for oldest first
+     * @return CursorPage of CommentDao objects for the task
      */
-    List<CommentDao> getCommentsByTaskId(Long taskId);
+    CursorPage<CommentDao> getCommentsByTaskId(Long taskId, String cursor, int size, Sort.Direction order);
 
 }
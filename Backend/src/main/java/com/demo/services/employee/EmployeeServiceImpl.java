@@ -1,21 +1,28 @@
 package com.demo.services.employee;
 
-import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.demo.dao.CommentDao;
+import com.demo.dao.CursorPage;
+import com.demo.dao.KeysetCursor;
 import com.demo.dao.TaskDao;
 import com.demo.entities.Comment;
-import com.demo.entities.Task;
-import com.demo.entities.User;
 import com.demo.enums.TaskStatus;
+import com.demo.events.CommentChangedEvent;
+import com.demo.events.TaskChangedEvent;
 import com.demo.repositories.CommentRepository;
 import com.demo.repositories.TaskRepository;
+import com.demo.repositories.UserRepository;
+import com.demo.services.cache.TaskCacheService;
+import com.demo.services.comment.CommentIngestService;
 import com.demo.utils.JwtUtil;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -26,26 +33,50 @@ import lombok.RequiredArgsConstructor;
 public class EmployeeServiceImpl implements EmployeeService {
 	
 	private final TaskRepository taskRepository;
+	private final UserRepository userRepository;
 	private final JwtUtil jwtUtil;
 	private final CommentRepository commentRepository;
+	private final TaskCacheService taskCacheService;
+	private final CommentIngestService commentIngestService;
+	private final ApplicationEventPublisher eventPublisher;
 
 	/**
-	 * Retrieves all tasks assigned to the currently logged-in employee,
-	 * sorted by due date in descending order.
+	 * Retrieves a page of tasks assigned to the currently logged-in employee,
+	 * optionally filtered by status, with undated tasks last. Filtering,
+	 * ordering and the page limit are applied by the database on the
+	 * (user_id, task_status, due_date) index.
 	 *
-	 * @return List of TaskDao objects
+	 * @param status optional status filter, or null for all tasks
+	 * @param cursor opaque cursor from the previous page, or null for the first page
+	 * @param size   maximum number of tasks in the page
+	 * @return CursorPage of TaskDao objects
 	 */
 	@Override
-	public List<TaskDao> getTasksByUserId() {
-		User user = jwtUtil.getLoggedInUser();
-		if (user != null) {
-			return taskRepository.findAllByUserId(user.getId())
-					.stream()
-					.sorted(Comparator.comparing(Task::getDueDate).reversed())
-					.map(Task::getTaskDao)
-					.collect(Collectors.toList());
+	public CursorPage<TaskDao> getTasksByUserId(TaskStatus status, String cursor, int size) {
+		Long userId = jwtUtil.getLoggedInUserId();
+		if (userId == null) {
+			throw new EntityNotFoundException("User not found");
 		}
-		throw new EntityNotFoundException("User not found");
+
+		Limit limit = Limit.of(CursorPage.clampSize(size));
+		List<TaskDao> tasks;
+		if (cursor == null || cursor.isBlank()) {
+			tasks = status == null
+					? taskRepository.findUserFirstPage(userId, limit)
+					: taskRepository.findUserFirstPageByStatus(userId, status, limit);
+		} else {
+			KeysetCursor position = KeysetCursor.parse(cursor);
+			if (position.timestamp() == null) {
+				tasks = status == null
+						? taskRepository.findUserPageAfterUndated(userId, position.id(), limit)
+						: taskRepository.findUserPageAfterUndatedByStatus(userId, status, position.id(), limit);
+			} else {
+				tasks = status == null
+						? taskRepository.findUserPageAfter(userId, position.timestamp(), position.id(), limit)
+						: taskRepository.findUserPageAfterByStatus(userId, status, position.timestamp(), position.id(), limit);
+			}
+		}
+		return CursorPage.of(tasks, limit.max(), task -> KeysetCursor.encode(task.getDueDate(), task.getId()));
 	}
 
 	/**
@@ -56,14 +87,29 @@ public class EmployeeServiceImpl implements EmployeeService {
 	 * @return Updated TaskDao
 	 */
 	@Override
+	@Transactional
 	public TaskDao updateTask(Long id, String status) {
-		Optional<Task> optionalTask = taskRepository.findById(id);
-		if (optionalTask.isPresent()) {
-			Task existingTask = optionalTask.get();
-			existingTask.setTaskStatus(mapStringToTaskStatus(status));
-			return taskRepository.save(existingTask).getTaskDao();
+		return updateTaskStatus(id, mapStringToTaskStatus(status));
+	}
+
+	/**
+	 * Sets the task status with one targeted UPDATE and reads the result back
+	 * as a projection: two statements, with no entity or lazy assignee loads.
+	 *
+	 * @param id     Task ID
+	 * @param status New task status
+	 * @return Updated TaskDao
+	 */
+	@Override
+	@Transactional
+	public TaskDao updateTaskStatus(Long id, TaskStatus status) {
+		if (taskRepository.updateStatusById(id, status) == 0) {
+			throw new EntityNotFoundException("Task not found");
 		}
-		throw new EntityNotFoundException("Task not found");
+		TaskDao updatedTask = taskRepository.findTaskDaoById(id)
+				.orElseThrow(() -> new EntityNotFoundException("Task not found"));
+		eventPublisher.publishEvent(TaskChangedEvent.saved(updatedTask));
+		return updatedTask;
 	}
 
 	/**
@@ -83,53 +129,88 @@ public class EmployeeServiceImpl implements EmployeeService {
 	}
 
 	/**
-	 * Retrieves a task by its ID.
+	 * Retrieves a task by its ID through the task cache.
 	 *
 	 * @param id Task ID
 	 * @return TaskDao or null if not found
 	 */
 	@Override
 	public TaskDao getTaskById(Long id) {
-		Optional<Task> optionalTask = taskRepository.findById(id);
-		return optionalTask.map(Task::getTaskDao).orElse(null);
+		return taskCacheService.getTaskById(id);
 	}
 
 	/**
-	 * Creates a comment on a task by the currently logged-in employee.
+	 * Creates a comment on a task by the currently logged-in employee. The
+	 * task's comment counter is advanced first, which also checks that the task
+	 * exists, and the comment is inserted in the same transaction with the task
+	 * and author set as references; the response takes the author's name from
+	 * the principal. With group commit enabled, the comment is only journaled
+	 * and queued.
 	 *
 	 * @param taskId  Task ID
 	 * @param content Comment content
-	 * @return Created CommentDao
+	 * @return Created CommentDao, or the accepted one without an ID
 	 */
 	@Override
+	@Transactional
 	public CommentDao createComment(Long taskId, String content) {
-		Optional<Task> optionalTask = taskRepository.findById(taskId);
-		User user = jwtUtil.getLoggedInUser();
-
-		if (optionalTask.isPresent() && user != null) {
-			Comment comment = new Comment();
-			comment.setCreatedAt(new Date());
-			comment.setContent(content);
-			comment.setTask(optionalTask.get());
-			comment.setUser(user);
+		Long userId = jwtUtil.getLoggedInUserId();
+		if (userId == null) {
+			throw new EntityNotFoundException("User or Task not found");
+		}
+		if (commentIngestService.isEnabled()) {
+			return commentIngestService.submit(taskId, userId, jwtUtil.getLoggedInUserName(), content);
+		}
 
-			return commentRepository.save(comment).getCommentDao();
+		Date createdAt = new Date();
+		if (taskRepository.recordComment(taskId, createdAt) == 0) {
+			throw new EntityNotFoundException("User or Task not found");
+		}
+		Comment comment = new Comment();
+		comment.setCreatedAt(createdAt);
+		comment.setContent(content);
+		comment.setTask(taskRepository.getReferenceById(taskId));
+		comment.setUser(userRepository.getReferenceById(userId));
+		try {
+			comment = commentRepository.save(comment);
+		} catch (DataIntegrityViolationException e) {
+			throw new EntityNotFoundException("User or Task not found");
 		}
 
-		throw new EntityNotFoundException("User or Task not found");
+		// The author's name comes from the principal, so the user reference is never loaded
+		CommentDao createdComment = new CommentDao(comment.getId(), content, createdAt, taskId, userId,
+				jwtUtil.getLoggedInUserName());
+		eventPublisher.publishEvent(CommentChangedEvent.saved(createdComment));
+		return createdComment;
 	}
 
 	/**
-	 * Retrieves all comments for a given task ID.
+	 * Retrieves a page of a task's comments, newest first unless ascending
+	 * order is asked for. Ordering and the page limit are applied by the
+	 * database on the (task_id, created_at) index.
 	 *
 	 * @param taskId Task ID
-	 * @return List of CommentDao objects
+	 * @param cursor opaque cursor from the previous page, or null for the first page
+	 * @param size   maximum number of comments in the page
+	 * @param order  DESC to page from the newest comment back, ASC to page from the oldest forward
+	 * @return CursorPage of CommentDao objects
 	 */
 	@Override
-	public List<CommentDao> getCommentsByTaskId(Long taskId) {
-		return commentRepository.findAllByTaskId(taskId)
-				.stream()
-				.map(Comment::getCommentDao)
-				.collect(Collectors.toList());
+	public CursorPage<CommentDao> getCommentsByTaskId(Long taskId, String cursor, int size, Sort.Direction order) {
+		Limit limit = Limit.of(CursorPage.clampSize(size));
+		boolean oldestFirst = order == Sort.Direction.ASC;
+		List<CommentDao> comments;
+		if (cursor == null || cursor.isBlank()) {
+			comments = oldestFirst
+					? commentRepository.findOldestByTaskId(taskId, limit)
+					: commentRepository.findNewestByTaskId(taskId, limit);
+		} else {
+			KeysetCursor position = KeysetCursor.parse(cursor);
+			comments = oldestFirst
+					? commentRepository.findNewerByTaskId(taskId, position.timestamp(), position.id(), limit)
+					: commentRepository.findOlderByTaskId(taskId, position.timestamp(), position.id(), limit);
+		}
+		return CursorPage.of(comments, limit.max(),
+				comment -> KeysetCursor.encode(comment.getCreatedAt(), comment.getId()));
 	}
 }
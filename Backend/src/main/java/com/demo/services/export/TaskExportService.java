@@ -0,0 +1,23 @@
+package com.demo.services.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.demo.enums.ExportFormat;
+
+/**
+ * Service interface for full exports of the task table.
+ */
+public interface TaskExportService {
+
+    /**
+     * Writes every task, in ID order, to the given stream as it is read from
+     * the database. Memory use does not depend on the number of tasks.
+     *
+     * @param format the file format to write
+     * @param out    receives the export; flushed but not closed
+     * @return number of tasks written
+     * @throws IOException if writing to the stream fails
+     */
+    long exportTasks(ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,127 @@
+package com.demo.services.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.demo.dao.TaskDao;
+import com.demo.enums.ExportFormat;
+import com.demo.repositories.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Implementation of the TaskExportService interface.
+ * Tasks are read as projections through the repository's forward-only
+ * stream and written one at a time through a buffered writer, so only the
+ * current fetch of rows and the write buffer are held in memory. The fetch
+ * size applies to the export statement alone, so that other statements keep
+ * the driver's default fetching.
+ */
+@Service
+public class TaskExportServiceImpl implements TaskExportService {
+
+	/**
+	 * Rows written between two clears of the persistence context.
+	 */
+	static final int CLEAR_INTERVAL = 1000;
+
+	private static final String[] CSV_HEADER = { "id", "title", "description", "dueDate", "priority", "taskStatus",
+			"employeeId", "employeeName", "version", "commentCount", "lastCommentAt" };
+
+	private final TaskRepository taskRepository;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
+	private final int fetchSize;
+
+	public TaskExportServiceImpl(TaskRepository taskRepository,
+			EntityManager entityManager,
+			ObjectMapper objectMapper,
+			@Value("${app.export.fetch-size:500}") int fetchSize) {
+		this.taskRepository = taskRepository;
+		this.entityManager = entityManager;
+		this.objectMapper = objectMapper;
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Streams the tasks in a read-only transaction, clearing the persistence
+	 * context every {@link #CLEAR_INTERVAL} rows so that nothing accumulates
+	 * in it over a long export.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public long exportTasks(ExportFormat format, OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		if (format == ExportFormat.CSV) {
+			writeCsvRow(writer, CSV_HEADER);
+		}
+		long written = 0;
+		try (Stream<TaskDao> tasks = taskRepository.streamAllOrderById(fetchSize)) {
+			Iterator<TaskDao> iterator = tasks.iterator();
+			while (iterator.hasNext()) {
+				TaskDao task = iterator.next();
+				if (format == ExportFormat.CSV) {
+					writeCsvRow(writer, csvFields(task));
+				} else {
+					writer.write(objectMapper.writeValueAsString(task));
+					writer.write('\n');
+				}
+				if (++written % CLEAR_INTERVAL == 0) {
+					entityManager.clear();
+				}
+			}
+		}
+		writer.flush();
+		return written;
+	}
+
+	private static String[] csvFields(TaskDao task) {
+		return new String[] { text(task.getId()), task.getTitle(), task.getDescription(), text(task.getDueDate()),
+				task.getPriority(), text(task.getTaskStatus()), text(task.getEmployeeId()), task.getEmployeeName(),
+				text(task.getVersion()), text(task.getCommentCount()), text(task.getLastCommentAt()) };
+	}
+
+	/**
+	 * Writes one CSV record. Fields containing a separator, a quote or a line
+	 * break are quoted, with quotes doubled; nulls are written as empty fields.
+	 */
+	private static void writeCsvRow(Writer writer, String[] fields) throws IOException {
+		for (int i = 0; i < fields.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			String field = fields[i];
+			if (field == null) {
+				continue;
+			}
+			if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0
+					|| field.indexOf('\r') >= 0) {
+				writer.write('"');
+				writer.write(field.replace("\"", "\"\""));
+				writer.write('"');
+			} else {
+				writer.write(field);
+			}
+		}
+		writer.write("\r\n");
+	}
+
+	private static String text(Object value) {
+		if (value == null) {
+			return null;
+		}
+		return value instanceof Date date ? date.toInstant().toString() : value.toString();
+	}
+}
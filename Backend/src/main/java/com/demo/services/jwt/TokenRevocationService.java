@@ -0,0 +1,34 @@
+package com.demo.services.jwt;
+
+import java.util.Date;
+
+/**
+ * Service interface for revoking JWTs before they expire and for checking
+ * revocation on every authenticated request.
+ */
+public interface TokenRevocationService {
+
+	/**
+	 * Revokes a signed token (e.g. on logout or when it has leaked).
+	 *
+	 * @param token the raw JWT; its signature is verified before revoking
+	 */
+	void revokeToken(String token);
+
+	/**
+	 * Revokes the token with the given identifier until it expires.
+	 *
+	 * @param jti the token's jti claim
+	 * @param expiresAt when the token expires and the revocation can be dropped
+	 */
+	void revoke(String jti, Date expiresAt);
+
+	/**
+	 * Checks whether the token with the given identifier has been revoked.
+	 *
+	 * @param jti the token's jti claim, may be null for tokens issued without one
+	 * @return true if the token must be rejected
+	 */
+	boolean isRevoked(String jti);
+
+}
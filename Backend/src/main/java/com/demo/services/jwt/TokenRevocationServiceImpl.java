@@ -0,0 +1,122 @@
+package com.demo.services.jwt;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.demo.entities.RevokedToken;
+import com.demo.repositories.RevokedTokenRepository;
+import com.demo.utils.BloomFilter;
+import com.demo.utils.JwtUtil;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of the TokenRevocationService interface.
+ * A Bloom filter answers the common "not revoked" case with a single probe;
+ * only probable hits consult the exact in-memory set. Revocations are
+ * persisted so both structures can be rebuilt after a restart.
+ */
+@Service
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+	private static final double FALSE_POSITIVE_RATE = 0.01;
+
+	private final RevokedTokenRepository revokedTokenRepository;
+	private final JwtUtil jwtUtil;
+	private final long expectedRevocations;
+
+	/**
+	 * Exact set of revoked token IDs mapped to their expiry (epoch millis).
+	 */
+	private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+	private volatile BloomFilter bloomFilter;
+
+	public TokenRevocationServiceImpl(RevokedTokenRepository revokedTokenRepository,
+			JwtUtil jwtUtil,
+			@Value("${app.jwt.revocation.expected-revocations:10000}") long expectedRevocations) {
+		this.revokedTokenRepository = revokedTokenRepository;
+		this.jwtUtil = jwtUtil;
+		this.expectedRevocations = expectedRevocations;
+		this.bloomFilter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+	}
+
+	/**
+	 * Rebuilds the in-memory structures from the persisted revocations at startup.
+	 */
+	@PostConstruct
+	public void loadRevocations() {
+		for (RevokedToken revokedToken : revokedTokenRepository.findAllByExpiresAtAfter(new Date())) {
+			revoked.put(revokedToken.getJti(), revokedToken.getExpiresAt().getTime());
+		}
+		rebuildBloomFilter();
+		log.info("Loaded {} active token revocations.", revoked.size());
+	}
+
+	/**
+	 * Revokes a verified token until its own expiry.
+	 */
+	@Override
+	public void revokeToken(String token) {
+		revoke(jwtUtil.extractTokenId(token), jwtUtil.extractExpiration(token));
+	}
+
+	/**
+	 * Persists the revocation, then publishes it to the exact set and the filter.
+	 */
+	@Override
+	public void revoke(String jti, Date expiresAt) {
+		if (jti == null || expiresAt.before(new Date())) {
+			return;
+		}
+		RevokedToken revokedToken = new RevokedToken();
+		revokedToken.setJti(jti);
+		revokedToken.setExpiresAt(expiresAt);
+		revokedTokenRepository.save(revokedToken);
+
+		revoked.put(jti, expiresAt.getTime());
+		bloomFilter.put(jti);
+	}
+
+	/**
+	 * Single Bloom-filter probe for tokens that were never revoked.
+	 */
+	@Override
+	public boolean isRevoked(String jti) {
+		if (jti == null || !bloomFilter.mightContain(jti)) {
+			return false;
+		}
+		return revoked.containsKey(jti);
+	}
+
+	/**
+	 * Drops revocations whose tokens have expired, from memory and from the table,
+	 * and rebuilds the Bloom filter so stale bits do not accumulate.
+	 */
+	@Scheduled(fixedDelayString = "${app.jwt.revocation.prune-interval:PT10M}")
+	public void pruneExpired() {
+		long now = System.currentTimeMillis();
+		revoked.values().removeIf(expiresAt -> expiresAt < now);
+		rebuildBloomFilter();
+		int deleted = revokedTokenRepository.deleteExpired(new Date(now));
+		log.debug("Pruned {} expired token revocations.", deleted);
+	}
+
+	/**
+	 * Swaps in a freshly sized filter. Entries are re-added after the swap so a
+	 * revocation racing with the rebuild is never lost.
+	 */
+	private synchronized void rebuildBloomFilter() {
+		BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, 2L * revoked.size()), FALSE_POSITIVE_RATE);
+		revoked.keySet().forEach(rebuilt::put);
+		bloomFilter = rebuilt;
+		revoked.keySet().forEach(rebuilt::put);
+	}
+}
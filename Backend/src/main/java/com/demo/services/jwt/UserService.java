@@ -14,5 +14,13 @@ public interface UserService {
 	 * @return UserDetailsService instance
 	 */
 	UserDetailsService userDetailService();
+
+	/**
+	 * Removes the cached user details for the given email. Must be called
+	 * whenever a user is created, updated or deleted.
+	 *
+	 * @param email the email of the affected user
+	 */
+	void evictUser(String email);
 	
 }
@@ -1,48 +1,87 @@
 package com.demo.services.jwt;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.demo.entities.User;
 import com.demo.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 /**
  * Implementation of the UserService interface.
- * Provides user details for Spring Security authentication.
+ * Provides user details for Spring Security authentication, backed by a
+ * size- and TTL-bounded in-process cache.
  */
 @Service
-@RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 	
 	private final UserRepository userRepository;
+
+	/**
+	 * Users keyed by email. Hit, miss and eviction counts are published
+	 * as the "users" cache metrics.
+	 */
+	private final Cache<String, User> userCache;
+
+	private final UserDetailsService userDetailsService = new UserDetailsService() {
+
+		/**
+		 * Loads a user by username (email), from the cache when possible.
+		 *
+		 * @param username the email of the user
+		 * @return UserDetails of the authenticated user
+		 * @throws UsernameNotFoundException if user is not found
+		 */
+		@Override
+		public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+			User user = userCache.get(username, email -> userRepository.findFirstByEmail(email).orElse(null));
+			if (user == null) {
+				throw new UsernameNotFoundException("User not found");
+			}
+			return user;
+		}
+		
+	};
+
+	public UserServiceImpl(UserRepository userRepository,
+			MeterRegistry meterRegistry,
+			@Value("${app.cache.users.max-size:10000}") long maxSize,
+			@Value("${app.cache.users.ttl:PT5M}") Duration ttl) {
+		this.userRepository = userRepository;
+		this.userCache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, userCache, "users");
+	}
 	
 	/**
 	 * Returns a custom UserDetailsService implementation that
-	 * retrieves user details by email from the database.
+	 * retrieves user details by email from the cache or the database.
 	 *
 	 * @return UserDetailsService
 	 */
 	@Override
 	public UserDetailsService userDetailService() {
-		return new UserDetailsService() {
-
-			/**
-			 * Loads a user by username (email).
-			 *
-			 * @param username the email of the user
-			 * @return UserDetails of the authenticated user
-			 * @throws UsernameNotFoundException if user is not found
-			 */
-			@Override
-			public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-				return userRepository.findFirstByEmail(username)
-					.orElseThrow(() -> new UsernameNotFoundException("User not found"));
-			}
-			
-		};
+		return userDetailsService;
+	}
+
+	/**
+	 * Invalidates the cached entry for the given email.
+	 */
+	@Override
+	public void evictUser(String email) {
+		userCache.invalidate(email);
 	}
 	
 }
@@ -0,0 +1,25 @@
+package com.demo.services.search;
+
+import java.util.List;
+
+import com.demo.dao.TaskDao;
+
+/**
+ * Service interface for full-text search over tasks.
+ */
+public interface TaskSearchService {
+
+    /**
+     * Finds tasks whose title or description contains the query, ignoring case,
+     * ranked by relevance and then by due date (descending).
+     *
+     * @param query the text to search for
+     * @return matching tasks, best first
+     */
+    List<TaskDao> search(String query);
+
+    /**
+     * Rebuilds the search index from the database.
+     */
+    void rebuild();
+}
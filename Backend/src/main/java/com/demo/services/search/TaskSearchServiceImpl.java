@@ -0,0 +1,105 @@
+package com.demo.services.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.demo.dao.TaskDao;
+import com.demo.events.TaskChangedEvent;
+import com.demo.repositories.TaskRepository;
+import com.demo.utils.TrigramIndex;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Task search backed by an in-memory {@link TrigramIndex} over task titles and
+ * descriptions. The index is loaded at startup and kept current through
+ * {@link TaskChangedEvent}s; matching tasks are then read by primary key.
+ */
+@Service
+@Slf4j
+public class TaskSearchServiceImpl implements TaskSearchService {
+
+	/**
+	 * Number of tasks read per query while building the index.
+	 */
+	static final int BUILD_BATCH_SIZE = 1000;
+
+	private final TaskRepository taskRepository;
+	private final int maxResults;
+	private final TrigramIndex index = new TrigramIndex();
+
+	public TaskSearchServiceImpl(TaskRepository taskRepository,
+								 @Value("${app.search.max-results:200}") int maxResults) {
+		this.taskRepository = taskRepository;
+		this.maxResults = maxResults;
+	}
+
+	/**
+	 * Ranks matches in the index and loads the top results in one query.
+	 */
+	@Override
+	public List<TaskDao> search(String query) {
+		List<Long> ids = index.search(query, maxResults);
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		Map<Long, TaskDao> byId = taskRepository.findAllTaskDaoByIdIn(ids).stream()
+				.collect(Collectors.toMap(TaskDao::getId, Function.identity()));
+		List<TaskDao> tasks = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			TaskDao task = byId.get(id);
+			if (task != null) {
+				tasks.add(task);
+			}
+		}
+		return tasks;
+	}
+
+	/**
+	 * Loads every task into the index, walking the table in primary key batches.
+	 */
+	@Override
+	@PostConstruct
+	public void rebuild() {
+		List<TrigramIndex.Document> documents = new ArrayList<>();
+		Limit limit = Limit.of(BUILD_BATCH_SIZE);
+		List<TaskDao> batch = taskRepository.findBatchAfterId(0L, limit);
+		while (!batch.isEmpty()) {
+			batch.forEach(task -> documents.add(toDocument(task)));
+			if (batch.size() < BUILD_BATCH_SIZE) {
+				break;
+			}
+			batch = taskRepository.findBatchAfterId(batch.get(batch.size() - 1).getId(), limit);
+		}
+		index.reset(documents);
+		log.info("Task search index built with {} tasks.", index.size());
+	}
+
+	/**
+	 * Applies a task change to the index once the change has been committed.
+	 *
+	 * @param event the change
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onTaskChanged(TaskChangedEvent event) {
+		if (event.isDeleted()) {
+			index.remove(event.taskId());
+		} else {
+			index.put(toDocument(event.task()));
+		}
+	}
+
+	private static TrigramIndex.Document toDocument(TaskDao task) {
+		long dueDate = task.getDueDate() != null ? task.getDueDate().getTime() : Long.MIN_VALUE;
+		return new TrigramIndex.Document(task.getId(), task.getTitle(), task.getDescription(), dueDate);
+	}
+}
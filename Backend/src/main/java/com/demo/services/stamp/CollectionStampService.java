@@ -0,0 +1,34 @@
+package com.demo.services.stamp;
+
+/**
+ * Service interface for version stamps of task and comment collections.
+ * A stamp changes whenever the collection it covers may have changed, so it
+ * can stand in for the collection's contents in an ETag.
+ *
+ * <p>Read the stamp before querying the collection: a change committed in
+ * between then only makes the ETag stale, never wrong.</p>
+ */
+public interface CollectionStampService {
+
+    /**
+     * Returns the stamp covering every task listing.
+     *
+     * @return the current stamp
+     */
+    String taskListStamp();
+
+    /**
+     * Returns the stamp covering the user listing.
+     *
+     * @return the current stamp
+     */
+    String userListStamp();
+
+    /**
+     * Returns the stamp covering the comment thread of a task.
+     *
+     * @param taskId the ID of the task
+     * @return the current stamp
+     */
+    String commentListStamp(Long taskId);
+}
@@ -0,0 +1,136 @@
+package com.demo.services.stamp;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.demo.events.CommentChangedEvent;
+import com.demo.events.TaskChangedEvent;
+import com.demo.events.TasksBulkUpdatedEvent;
+import com.demo.events.UserChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Collection stamps derived from the database, so that every instance hands
+ * out the same stamp for the same data, also across restarts.
+ *
+ * <p>The task and user list stamps are the sums of their rows in
+ * {@code collection_stamp}. {@link TaskChangedEvent}s, {@link TasksBulkUpdatedEvent}s,
+ * {@link CommentChangedEvent}s and {@link UserChangedEvent}s add one to a row
+ * just before the transaction that published them commits, once per
+ * transaction and listing; the row is picked by thread, so that concurrent
+ * writers rarely wait on the same row lock. A comment thread's stamp is its
+ * task's comment counter, which the transaction inserting a comment advances.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CollectionStampServiceImpl implements CollectionStampService {
+
+	/**
+	 * Counter rows per listing, as created by the V7 migration.
+	 */
+	static final int SLOTS = 16;
+
+	static final String TASK_LIST = "task";
+	static final String USER_LIST = "user";
+
+	private static final String SELECT_STAMP = "select coalesce(sum(stamp), 0) from collection_stamp where name = ?";
+	private static final String ADVANCE_STAMP = "update collection_stamp set stamp = stamp + 1 where name = ? and slot = ?";
+	private static final String SELECT_COMMENT_COUNT = "select comment_count from task where id = ?";
+
+	/**
+	 * Stamp of the comment thread of a task that does not exist.
+	 */
+	private static final String NO_TASK = "none";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public String taskListStamp() {
+		return stamp(TASK_LIST);
+	}
+
+	@Override
+	public String userListStamp() {
+		return stamp(USER_LIST);
+	}
+
+	@Override
+	public String commentListStamp(Long taskId) {
+		List<Long> counts = jdbcTemplate.queryForList(SELECT_COMMENT_COUNT, Long.class, taskId);
+		return counts.isEmpty() ? NO_TASK : String.valueOf(counts.get(0));
+	}
+
+	/**
+	 * Advances the task list stamp. The comment thread of a deleted task
+	 * changes stamp with its task row.
+	 *
+	 * @param event the change
+	 */
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onTaskChanged(TaskChangedEvent event) {
+		advance(TASK_LIST);
+	}
+
+	/**
+	 * Advances the task list stamp after a set-based task update.
+	 *
+	 * @param event the change
+	 */
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onTasksBulkUpdated(TasksBulkUpdatedEvent event) {
+		advance(TASK_LIST);
+	}
+
+	/**
+	 * Advances the user list stamp.
+	 *
+	 * @param event the change
+	 */
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onUserChanged(UserChangedEvent event) {
+		advance(USER_LIST);
+	}
+
+	/**
+	 * Advances the task list stamp, as task lists carry comment counters.
+	 *
+	 * @param event the change
+	 */
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onCommentChanged(CommentChangedEvent event) {
+		advance(TASK_LIST);
+	}
+
+	private String stamp(String name) {
+		return String.valueOf(jdbcTemplate.queryForObject(SELECT_STAMP, Long.class, name));
+	}
+
+	/**
+	 * Adds one to a counter row of the listing, in the current transaction if
+	 * there is one. Later changes in the same transaction are covered by the
+	 * same increment, as they become visible together.
+	 */
+	private void advance(String name) {
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			String key = CollectionStampServiceImpl.class.getName() + "." + name;
+			if (TransactionSynchronizationManager.hasResource(key)) {
+				return;
+			}
+			TransactionSynchronizationManager.bindResource(key, Boolean.TRUE);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(key);
+				}
+			});
+		}
+		jdbcTemplate.update(ADVANCE_STAMP, name, (int) (Thread.currentThread().getId() % SLOTS));
+	}
+}
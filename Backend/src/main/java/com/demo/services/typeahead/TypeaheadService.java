@@ -0,0 +1,36 @@
+package com.demo.services.typeahead;
+
+import java.util.List;
+
+import com.demo.dao.Suggestion;
+
+/**
+ * Service interface for prefix completion of task titles and employee names.
+ */
+public interface TypeaheadService {
+
+    /**
+     * Suggests tasks whose title has a word starting with the prefix,
+     * latest due date first.
+     *
+     * @param prefix the typed prefix
+     * @param limit maximum number of suggestions; capped by configuration
+     * @return suggestions, best first
+     */
+    List<Suggestion> suggestTasks(String prefix, int limit);
+
+    /**
+     * Suggests employees whose name has a word starting with the prefix,
+     * in alphabetical order.
+     *
+     * @param prefix the typed prefix
+     * @param limit maximum number of suggestions; capped by configuration
+     * @return suggestions, best first
+     */
+    List<Suggestion> suggestUsers(String prefix, int limit);
+
+    /**
+     * Rebuilds both tries from the database.
+     */
+    void rebuild();
+}
@@ -0,0 +1,145 @@
+package com.demo.services.typeahead;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.demo.dao.Suggestion;
+import com.demo.dao.TaskDao;
+import com.demo.dao.UserDto;
+import com.demo.enums.UserRole;
+import com.demo.events.TaskChangedEvent;
+import com.demo.events.UserChangedEvent;
+import com.demo.repositories.TaskRepository;
+import com.demo.repositories.UserRepository;
+import com.demo.utils.RadixTrie;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Typeahead backed by two in-memory {@link RadixTrie}s, one over task titles
+ * weighted by due date and one over employee names. Both are loaded at startup
+ * and kept current through {@link TaskChangedEvent}s and {@link UserChangedEvent}s.
+ * Their size and estimated memory are published as gauges tagged by trie.
+ */
+@Service
+@Slf4j
+public class TypeaheadServiceImpl implements TypeaheadService {
+
+	/**
+	 * Number of tasks read per query while building the task trie.
+	 */
+	static final int BUILD_BATCH_SIZE = 1000;
+
+	private final TaskRepository taskRepository;
+	private final UserRepository userRepository;
+	private final int maxResults;
+	private final RadixTrie taskTrie = new RadixTrie();
+	private final RadixTrie userTrie = new RadixTrie();
+
+	public TypeaheadServiceImpl(TaskRepository taskRepository,
+								UserRepository userRepository,
+								MeterRegistry meterRegistry,
+								@Value("${app.typeahead.max-results:20}") int maxResults) {
+		this.taskRepository = taskRepository;
+		this.userRepository = userRepository;
+		this.maxResults = maxResults;
+		registerGauges(meterRegistry, "tasks", taskTrie);
+		registerGauges(meterRegistry, "users", userTrie);
+	}
+
+	@Override
+	public List<Suggestion> suggestTasks(String prefix, int limit) {
+		return suggest(taskTrie, prefix, limit);
+	}
+
+	@Override
+	public List<Suggestion> suggestUsers(String prefix, int limit) {
+		return suggest(userTrie, prefix, limit);
+	}
+
+	/**
+	 * Loads every task title and employee name, walking tasks in primary key batches.
+	 */
+	@Override
+	@PostConstruct
+	public void rebuild() {
+		Limit limit = Limit.of(BUILD_BATCH_SIZE);
+		List<TaskDao> batch = taskRepository.findBatchAfterId(0L, limit);
+		while (!batch.isEmpty()) {
+			batch.forEach(this::putTask);
+			if (batch.size() < BUILD_BATCH_SIZE) {
+				break;
+			}
+			batch = taskRepository.findBatchAfterId(batch.get(batch.size() - 1).getId(), limit);
+		}
+		userRepository.findSuggestionsByUserRole(UserRole.EMPLOYEE)
+				.forEach(user -> userTrie.put(user.getId(), user.getText(), 0));
+		log.info("Typeahead tries built with {} tasks and {} employees.", taskTrie.size(), userTrie.size());
+	}
+
+	/**
+	 * Applies a task change to the task trie once the change has been committed.
+	 *
+	 * @param event the change
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onTaskChanged(TaskChangedEvent event) {
+		if (event.isDeleted()) {
+			taskTrie.remove(event.taskId());
+		} else {
+			putTask(event.task());
+		}
+	}
+
+	/**
+	 * Applies a user change to the user trie once the change has been committed.
+	 *
+	 * @param event the change
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChanged(UserChangedEvent event) {
+		putUser(event.user());
+	}
+
+	private List<Suggestion> suggest(RadixTrie trie, String prefix, int limit) {
+		return trie.complete(prefix, Math.min(Math.max(limit, 1), maxResults)).stream()
+				.map(match -> new Suggestion(match.id(), match.text()))
+				.toList();
+	}
+
+	private void putTask(TaskDao task) {
+		long weight = task.getDueDate() != null ? task.getDueDate().getTime() : Long.MIN_VALUE;
+		taskTrie.put(task.getId(), task.getTitle(), weight);
+	}
+
+	private void putUser(UserDto user) {
+		if (user.getUserRole() == UserRole.EMPLOYEE) {
+			userTrie.put(user.getId(), user.getName(), 0);
+		} else {
+			userTrie.remove(user.getId());
+		}
+	}
+
+	private static void registerGauges(MeterRegistry registry, String name, RadixTrie trie) {
+		Gauge.builder("typeahead.trie.entries", trie, RadixTrie::size)
+				.description("Items in the typeahead trie")
+				.tag("trie", name)
+				.register(registry);
+		Gauge.builder("typeahead.trie.nodes", trie, RadixTrie::nodeCount)
+				.description("Nodes in the typeahead trie")
+				.tag("trie", name)
+				.register(registry);
+		Gauge.builder("typeahead.trie.memory", trie, RadixTrie::estimatedBytes)
+				.description("Estimated heap used by the typeahead trie")
+				.baseUnit("bytes")
+				.tag("trie", name)
+				.register(registry);
+	}
+}
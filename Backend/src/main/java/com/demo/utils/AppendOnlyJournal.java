@@ -0,0 +1,255 @@
+package com.demo.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Local append-only file of text records, one per line. A record is durable
+ * once {@link #sync(long)} has returned for the offset its {@link #write}
+ * returned; callers that write concurrently and then sync share one force of
+ * the file, so the cost of flushing to the storage device is paid once per
+ * group rather than once per record. A record cut short by a crash has no
+ * line terminator; it is dropped when the journal is reopened.
+ * <p>
+ * Offsets are logical: they count every byte written since the journal was
+ * opened and keep growing when it is truncated or compacted.
+ * <p>
+ * Locks are taken in the order {@code syncLock}, then the journal itself.
+ */
+public class AppendOnlyJournal implements AutoCloseable {
+
+	private final Path path;
+
+	/**
+	 * Held while forcing the file or replacing it, so that one caller forces
+	 * on behalf of every record written before it started.
+	 */
+	private final Object syncLock = new Object();
+	private FileChannel channel;
+	private long written;
+	private volatile long synced;
+
+	/**
+	 * Opens the journal, creating the file and its directory if needed.
+	 *
+	 * @param path location of the journal file
+	 */
+	public AppendOnlyJournal(Path path) {
+		this.path = path;
+		try {
+			if (path.toAbsolutePath().getParent() != null) {
+				Files.createDirectories(path.toAbsolutePath().getParent());
+			}
+			this.channel = open(path);
+			// Drop a record cut short by a crash, so the next append starts on a fresh line
+			long end = scan(null);
+			if (end < channel.size()) {
+				channel.truncate(end);
+				channel.force(true);
+			}
+			channel.position(end);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open journal " + path, e);
+		}
+	}
+
+	/**
+	 * Appends a record and forces it to disk.
+	 *
+	 * @param record the record; must not contain line terminators
+	 */
+	public void append(String record) {
+		sync(write(record));
+	}
+
+	/**
+	 * Appends a record without forcing it to disk.
+	 *
+	 * @param record the record; must not contain line terminators
+	 * @return the offset to pass to {@link #sync(long)} to make the record durable
+	 */
+	public synchronized long write(String record) {
+		if (record.indexOf('\n') >= 0 || record.indexOf('\r') >= 0) {
+			throw new IllegalArgumentException("Journal records must be single lines");
+		}
+		ByteBuffer buffer = ByteBuffer.wrap((record + "\n").getBytes(StandardCharsets.UTF_8));
+		try {
+			while (buffer.hasRemaining()) {
+				written += channel.write(buffer);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot append to journal " + path, e);
+		}
+		return written;
+	}
+
+	/**
+	 * Returns once every record up to the offset is on disk. Callers waiting
+	 * here while another one forces the file are covered by the next force,
+	 * which includes everything written before it started.
+	 *
+	 * @param offset an offset returned by {@link #write(String)}
+	 */
+	public void sync(long offset) {
+		if (synced >= offset) {
+			return;
+		}
+		synchronized (syncLock) {
+			if (synced >= offset) {
+				return;
+			}
+			FileChannel target;
+			long end;
+			synchronized (this) {
+				target = channel;
+				end = written;
+			}
+			try {
+				target.force(false);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot sync journal " + path, e);
+			}
+			synced = end;
+		}
+	}
+
+	/**
+	 * Reads every complete record, oldest first.
+	 *
+	 * @return the records
+	 */
+	public synchronized List<String> readAll() {
+		List<String> records = new ArrayList<>();
+		scan(records);
+		return records;
+	}
+
+	/**
+	 * Discards every record, once they are all stored elsewhere.
+	 */
+	public void truncate() {
+		synchronized (syncLock) {
+			synchronized (this) {
+				try {
+					channel.truncate(0);
+					channel.position(0);
+					channel.force(true);
+				} catch (IOException e) {
+					throw new UncheckedIOException("Cannot truncate journal " + path, e);
+				}
+				synced = written;
+			}
+		}
+	}
+
+	/**
+	 * Discards the records that are stored elsewhere while keeping the others.
+	 * The kept records are written to a new file, which then atomically
+	 * replaces the journal, so a crash leaves either the old or the new file.
+	 * Appends wait until the journal has been replaced.
+	 *
+	 * @param keep selects the records to keep, in their order
+	 */
+	public void compact(Predicate<String> keep) {
+		synchronized (syncLock) {
+			synchronized (this) {
+				List<String> records = new ArrayList<>();
+				scan(records);
+				Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+				try {
+					StringBuilder kept = new StringBuilder();
+					records.stream().filter(keep).forEach(record -> kept.append(record).append('\n'));
+					try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+							StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+						ByteBuffer buffer = ByteBuffer.wrap(kept.toString().getBytes(StandardCharsets.UTF_8));
+						while (buffer.hasRemaining()) {
+							target.write(buffer);
+						}
+						target.force(true);
+					}
+					Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+					channel.close();
+					channel = open(path);
+					channel.position(channel.size());
+				} catch (IOException e) {
+					throw new UncheckedIOException("Cannot compact journal " + path, e);
+				}
+				synced = written;
+			}
+		}
+	}
+
+	/**
+	 * @return the size of the journal file in bytes
+	 */
+	public synchronized long size() {
+		try {
+			return channel.size();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read journal " + path, e);
+		}
+	}
+
+	/**
+	 * Reads the file from the start, collecting complete records if asked to.
+	 *
+	 * @param records receives the records, or null to only find their end
+	 * @return the offset just past the last line terminator
+	 */
+	private long scan(List<String> records) {
+		long end = 0;
+		try {
+			ByteBuffer buffer = ByteBuffer.allocate(8192);
+			ByteArrayOutputStream line = new ByteArrayOutputStream();
+			long offset = 0;
+			while (channel.read(buffer, offset) > 0) {
+				buffer.flip();
+				while (buffer.hasRemaining()) {
+					byte b = buffer.get();
+					offset++;
+					if (b == '\n') {
+						if (records != null) {
+							records.add(line.toString(StandardCharsets.UTF_8));
+						}
+						line.reset();
+						end = offset;
+					} else {
+						line.write(b);
+					}
+				}
+				buffer.clear();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read journal " + path, e);
+		}
+		return end;
+	}
+
+	private static FileChannel open(Path path) throws IOException {
+		return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+
+	@Override
+	public void close() {
+		synchronized (syncLock) {
+			synchronized (this) {
+				try {
+					channel.close();
+				} catch (IOException e) {
+					throw new UncheckedIOException("Cannot close journal " + path, e);
+				}
+			}
+		}
+	}
+}
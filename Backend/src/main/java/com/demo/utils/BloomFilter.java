@@ -0,0 +1,85 @@
+package com.demo.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings. Membership tests may return false
+ * positives at roughly the configured rate but never false negatives, so a
+ * negative answer can be trusted without consulting any other structure.
+ */
+public class BloomFilter {
+
+	private final AtomicLongArray bits;
+	private final long bitCount;
+	private final int hashCount;
+
+	/**
+	 * Creates a filter sized for the expected number of insertions.
+	 *
+	 * @param expectedInsertions number of elements the filter should hold
+	 * @param falsePositiveRate target false-positive probability, e.g. 0.01
+	 */
+	public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+		long n = Math.max(expectedInsertions, 1);
+		long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.bitCount = Math.max(64, ((m + 63) / 64) * 64);
+		this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+		this.bits = new AtomicLongArray((int) (bitCount / 64));
+	}
+
+	/**
+	 * Adds a value to the filter.
+	 *
+	 * @param value the value to add
+	 */
+	public void put(String value) {
+		long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+		long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+			int index = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long current;
+			do {
+				current = bits.get(index);
+				if ((current & mask) != 0) {
+					break;
+				}
+			} while (!bits.compareAndSet(index, current, current | mask));
+		}
+	}
+
+	/**
+	 * Tests whether the value may have been added.
+	 *
+	 * @param value the value to test
+	 * @return false if the value was definitely never added
+	 */
+	public boolean mightContain(String value) {
+		long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+		long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+			if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Seeded 64-bit FNV-1a hash followed by a final avalanche mix.
+	 */
+	private static long hash(String value, long seed) {
+		long hash = 0xCBF29CE484222325L ^ seed;
+		for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b;
+			hash *= 0x100000001B3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
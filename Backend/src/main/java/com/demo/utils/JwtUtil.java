@@ -1,45 +1,125 @@
 package com.demo.utils;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import com.demo.entities.User;
+import com.demo.enums.UserRole;
 import com.demo.repositories.UserRepository;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 
 /**
  * Utility class for managing JWT (JSON Web Token) operations such as
  * token generation, validation, extraction, and retrieving authenticated user details.
  */
 @Component
-@RequiredArgsConstructor
 public class JwtUtil {
-	
+
+	/**
+	 * Claim carrying the user's database ID.
+	 */
+	public static final String CLAIM_USER_ID = "userId";
+
+	/**
+	 * Claim carrying the user's role.
+	 */
+	public static final String CLAIM_USER_ROLE = "userRole";
+
+	/**
+	 * Claim carrying the user's display name.
+	 */
+	public static final String CLAIM_USER_NAME = "name";
+
+	/**
+	 * Lifetime of issued tokens (24 hours).
+	 */
+	public static final long TOKEN_VALIDITY_MILLIS = 1000L * 60 * 60 * 24;
+
+	/**
+	 * Upper bound on the number of verified tokens kept in memory.
+	 */
+	private static final long CLAIMS_CACHE_MAX_SIZE = 10_000;
+
+	/**
+	 * HMAC SHA-256 signing key, decoded once instead of on every sign/parse.
+	 */
+	private static final Key SIGNING_KEY =
+			Keys.hmacShaKeyFor(Decoders.BASE64.decode("413F442847284862506553685660597033733676397924422645294848406351"));
+
+	/**
+	 * Thread-safe parser reused for every signature verification.
+	 */
+	static final JwtParser PARSER = Jwts.parserBuilder()
+			.setSigningKey(SIGNING_KEY)
+			.build();
+
 	private final UserRepository userRepository;
+	private final JwtParser parser;
+
+	/**
+	 * Claims of tokens that already passed signature verification, keyed by a
+	 * SHA-256 digest of the token. Each entry expires together with its token.
+	 */
+	private final Cache<String, Claims> claimsCache = Caffeine.newBuilder()
+			.maximumSize(CLAIMS_CACHE_MAX_SIZE)
+			.expireAfter(new ClaimsExpiry())
+			.build();
+
+	@Autowired
+	public JwtUtil(UserRepository userRepository) {
+		this(userRepository, PARSER);
+	}
+
+	/**
+	 * Creates the utility with the given verifying parser.
+	 */
+	JwtUtil(UserRepository userRepository, JwtParser parser) {
+		this.userRepository = userRepository;
+		this.parser = parser;
+	}
 
 	/**
-	 * Generates a JWT token for the given user details.
+	 * Generates a JWT token for the given user details. When the details are a
+	 * {@link User}, its ID, role and name are embedded so that the request filter
+	 * can build the principal without a database lookup.
 	 * 
 	 * @param userDetails the authenticated user details
 	 * @return a signed JWT token
 	 */
 	public String generateToken(UserDetails userDetails) {
-		return generateToken(new HashMap<>(), userDetails);
+		Map<String, Object> claims = new HashMap<>();
+		if (userDetails instanceof User user) {
+			claims.put(CLAIM_USER_ID, user.getId());
+			claims.put(CLAIM_USER_ROLE, user.getUserRole().name());
+			claims.put(CLAIM_USER_NAME, user.getName());
+		}
+		return generateToken(claims, userDetails);
 	}
 
 	/**
@@ -52,9 +132,10 @@ public class JwtUtil {
 	private String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
 		return Jwts.builder()
 			.setClaims(extraClaims)
+			.setId(UUID.randomUUID().toString()) // jti, used for revocation
 			.setSubject(userDetails.getUsername())
 			.setIssuedAt(new Date(System.currentTimeMillis()))
-			.setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24)) // 24 hours
+			.setExpiration(new Date(System.currentTimeMillis() + TOKEN_VALIDITY_MILLIS)) // 24 hours
 			.signWith(getSigningKey(), SignatureAlgorithm.HS256)
 			.compact();
 	}
@@ -65,8 +146,7 @@ public class JwtUtil {
 	 * @return HMAC SHA-256 signing key
 	 */
 	private Key getSigningKey() {
-		byte[] keyBytes = Decoders.BASE64.decode("413F442847284862506553685660597033733676397924422645294848406351");
-		return Keys.hmacShaKeyFor(keyBytes);
+		return SIGNING_KEY;
 	}
 
 	/**
@@ -77,8 +157,18 @@ public class JwtUtil {
 	 * @return true if the token is valid, false otherwise
 	 */
 	public boolean isTokenValid(String token, UserDetails userDetails) {
-		final String userName = extractUserName(token);
-		return (userName.equals(userDetails.getUsername())) && !isTokenExpired(token);
+		return isTokenValid(parseClaims(token), userDetails);
+	}
+
+	/**
+	 * Validates already parsed claims by comparing username and checking expiry.
+	 * 
+	 * @param claims the verified claims of the token
+	 * @param userDetails the authenticated user details
+	 * @return true if the token is valid, false otherwise
+	 */
+	public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+		return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
 	}
 
 	/**
@@ -92,13 +182,46 @@ public class JwtUtil {
 	}
 
 	/**
-	 * Checks if the token is expired.
+	 * Extracts the unique token identifier (jti) from the JWT token.
 	 * 
 	 * @param token the JWT token
-	 * @return true if token is expired, false otherwise
+	 * @return the jti, or null for tokens issued without one
 	 */
-	private boolean isTokenExpired(String token) {
-		return extractExpiration(token).before(new Date());
+	public String extractTokenId(String token) {
+		return extractClaim(token, Claims::getId);
+	}
+
+	/**
+	 * Builds a lightweight principal from the claims of the token, without
+	 * touching the database. The returned user carries no password.
+	 * 
+	 * @param token the JWT token
+	 * @return the principal, or null if the token predates the user claims
+	 */
+	public User extractPrincipal(String token) {
+		return extractPrincipal(parseClaims(token));
+	}
+
+	/**
+	 * Builds a lightweight principal from already parsed claims, without
+	 * touching the database. The returned user carries no password.
+	 * 
+	 * @param claims the verified claims of the token
+	 * @return the principal, or null if the token predates the user claims
+	 */
+	public User extractPrincipal(Claims claims) {
+		Number userId = claims.get(CLAIM_USER_ID, Number.class);
+		String userRole = claims.get(CLAIM_USER_ROLE, String.class);
+		if (userId == null || userRole == null) {
+			return null;
+		}
+
+		User user = new User();
+		user.setId(userId.longValue());
+		user.setEmail(claims.getSubject());
+		user.setName(claims.get(CLAIM_USER_NAME, String.class));
+		user.setUserRole(UserRole.valueOf(userRole));
+		return user;
 	}
 
 	/**
@@ -107,7 +230,7 @@ public class JwtUtil {
 	 * @param token the JWT token
 	 * @return expiration date
 	 */
-	private Date extractExpiration(String token) {
+	public Date extractExpiration(String token) {
 		return extractClaim(token, Claims::getExpiration);
 	}
 
@@ -120,22 +243,103 @@ public class JwtUtil {
 	 * @return extracted claim
 	 */
 	private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-		final Claims claims = extractAllClaims(token);
+		final Claims claims = parseClaims(token);
 		return claimsResolver.apply(claims);
 	}
 
 	/**
-	 * Extracts all claims from the JWT token.
+	 * Extracts all claims from the JWT token. The signature is verified only the
+	 * first time a token is seen; later calls are answered from the claims cache
+	 * until the token expires. Each call digests the token for the cache lookup,
+	 * so callers reading several claims should parse once and keep the result.
 	 * 
 	 * @param token the JWT token
 	 * @return all claims
 	 */
-	private Claims extractAllClaims(String token) {
-		return Jwts.parserBuilder()
-			.setSigningKey(getSigningKey())
-			.build()
-			.parseClaimsJws(token)
-			.getBody();
+	public Claims parseClaims(String token) {
+		String key = digest(token);
+		Claims claims = claimsCache.getIfPresent(key);
+		if (claims == null) {
+			claims = parser.parseClaimsJws(token).getBody();
+			claimsCache.put(key, claims);
+		}
+		return claims;
+	}
+
+	/**
+	 * Computes the cache key for a token so raw bearer tokens are never retained.
+	 * 
+	 * @param token the JWT token
+	 * @return Base64-encoded SHA-256 digest of the token
+	 */
+	private static String digest(String token) {
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(hash);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	/**
+	 * Expires each cached entry at the {@code exp} claim of its token.
+	 */
+	private static final class ClaimsExpiry implements Expiry<String, Claims> {
+
+		@Override
+		public long expireAfterCreate(String key, Claims claims, long currentTime) {
+			Date expiration = claims.getExpiration();
+			if (expiration == null) {
+				return 0;
+			}
+			long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, claims, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+
+	/**
+	 * Retrieves the ID of the currently logged-in user straight from the
+	 * security context principal, without querying the database.
+	 * 
+	 * @return ID of the authenticated user, or null if not authenticated
+	 */
+	public Long getLoggedInUserId() {
+	    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+	    if (authentication != null && authentication.isAuthenticated()
+	            && authentication.getPrincipal() instanceof User user) {
+	        return user.getId();
+	    }
+
+	    return null;
+	}
+
+	/**
+	 * Retrieves the name of the currently logged-in user straight from the
+	 * security context principal, without querying the database.
+	 *
+	 * @return name of the authenticated user, or null if not authenticated
+	 */
+	public String getLoggedInUserName() {
+	    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+	    if (authentication != null && authentication.isAuthenticated()
+	            && authentication.getPrincipal() instanceof User user) {
+	        return user.getName();
+	    }
+
+	    return null;
 	}
 
 	/**
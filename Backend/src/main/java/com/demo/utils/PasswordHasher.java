@@ -0,0 +1,129 @@
+package com.demo.utils;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated, bounded executor so that
+ * bursts of logins or signups cannot occupy every servlet request thread.
+ * When the queue is full, or a task waits longer than the configured timeout,
+ * the call is rejected with a {@link RejectedExecutionException}.
+ */
+@Component
+public class PasswordHasher {
+
+	private final PasswordEncoder passwordEncoder;
+	private final ThreadPoolExecutor executor;
+	private final Duration timeout;
+	private final Timer encodeTimer;
+	private final Timer matchesTimer;
+
+	public PasswordHasher(PasswordEncoder passwordEncoder,
+			MeterRegistry meterRegistry,
+			@Value("${app.password-hashing.threads:2}") int threads,
+			@Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+			@Value("${app.password-hashing.timeout:PT5S}") Duration timeout) {
+		this.passwordEncoder = passwordEncoder;
+		this.timeout = timeout;
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new HasherThreadFactory(),
+				new ThreadPoolExecutor.AbortPolicy());
+
+		Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size())
+				.description("Password hashing tasks waiting for a worker")
+				.register(meterRegistry);
+		Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+				.description("Password hashing tasks currently running")
+				.register(meterRegistry);
+		this.encodeTimer = Timer.builder("password.hashing.latency")
+				.tag("operation", "encode")
+				.register(meterRegistry);
+		this.matchesTimer = Timer.builder("password.hashing.latency")
+				.tag("operation", "matches")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Hashes a raw password.
+	 *
+	 * @param rawPassword the password to hash
+	 * @return the encoded password
+	 */
+	public String encode(String rawPassword) {
+		return run(() -> encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword)));
+	}
+
+	/**
+	 * Verifies a raw password against a stored hash.
+	 *
+	 * @param rawPassword the password supplied by the user
+	 * @param encodedPassword the stored hash
+	 * @return true if the password matches
+	 */
+	public boolean matches(String rawPassword, String encodedPassword) {
+		return run(() -> matchesTimer.recordCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+	}
+
+	/**
+	 * Submits the work to the hashing executor and waits for the result.
+	 */
+	private <T> T run(Callable<T> task) {
+		Future<T> future = executor.submit(task);
+		try {
+			return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw new RejectedExecutionException("Password hashing timed out", e);
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException("Interrupted while waiting for password hashing", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Stops the executor when the application shuts down.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Names worker threads so they are recognisable in thread dumps.
+	 */
+	private static final class HasherThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "password-hasher-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,430 @@
+package com.demo.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe compressed (radix) trie for prefix completion. Each item is
+ * reachable under its whole text and under every word start within it, all
+ * lower-cased, so "doe" completes "John Doe".
+ *
+ * <p>Every node records the highest item weight in its subtree. Completion
+ * walks the subtree of the prefix best-first on that bound, so it returns the
+ * top {@code limit} items by weight after visiting only the nodes
+ * on their paths rather than the whole subtree.</p>
+ */
+public class RadixTrie {
+
+	private static final char[] NO_KEYS = new char[0];
+	private static final Node[] NO_CHILDREN = new Node[0];
+	private static final long[] NO_ENTRIES = new long[0];
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Long, Item> items = new HashMap<>();
+	private final Node root = new Node("");
+	private int nodeCount = 1;
+
+	/**
+	 * A completion result.
+	 *
+	 * @param id item ID
+	 * @param text item text as it was stored
+	 */
+	public record Match(long id, String text) {
+	}
+
+	private record Item(String text, long weight) {
+	}
+
+	/**
+	 * Adds an item, replacing any previous version with the same ID.
+	 *
+	 * @param id item ID
+	 * @param text text to complete; blank texts are not indexed
+	 * @param weight ranking weight, higher first
+	 */
+	public void put(long id, String text, long weight) {
+		lock.writeLock().lock();
+		try {
+			removeItem(id);
+			if (text == null || text.isBlank()) {
+				return;
+			}
+			items.put(id, new Item(text, weight));
+			for (String key : keys(text)) {
+				insert(key, id);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes an item if present.
+	 *
+	 * @param id item ID
+	 */
+	public void remove(long id) {
+		lock.writeLock().lock();
+		try {
+			removeItem(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the highest-weighted items with a word starting with the prefix,
+	 * ignoring case. Ties are broken by the matching text from that word on.
+	 *
+	 * @param prefix the typed prefix
+	 * @param limit maximum number of items to return
+	 * @return matching items, best first
+	 */
+	public List<Match> complete(String prefix, int limit) {
+		String key = normalize(prefix);
+		if (key.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+		lock.readLock().lock();
+		try {
+			Node node = root;
+			String path = "";
+			int i = 0;
+			while (i < key.length()) {
+				Node child = node.child(key.charAt(i));
+				if (child == null) {
+					return List.of();
+				}
+				int common = commonPrefix(child.label, key, i);
+				if (i + common < key.length() && common < child.label.length()) {
+					return List.of();
+				}
+				i += common;
+				path += child.label;
+				node = child;
+			}
+			return bestFirst(node, path, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of items.
+	 *
+	 * @return item count
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return items.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of trie nodes.
+	 *
+	 * @return node count
+	 */
+	public int nodeCount() {
+		lock.readLock().lock();
+		try {
+			return nodeCount;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Estimates the heap used by the nodes and stored texts, assuming
+	 * compressed object pointers and compact (Latin-1) strings.
+	 *
+	 * @return estimated size in bytes
+	 */
+	public long estimatedBytes() {
+		lock.readLock().lock();
+		try {
+			long bytes = 0;
+			List<Node> pending = new ArrayList<>(List.of(root));
+			while (!pending.isEmpty()) {
+				Node node = pending.remove(pending.size() - 1);
+				bytes += 40 + stringBytes(node.label)
+						+ 16 + 2L * node.keys.length
+						+ 16 + 4L * node.children.length
+						+ 16 + 8L * node.entries.length;
+				for (int c = 0; c < node.childCount; c++) {
+					pending.add(node.children[c]);
+				}
+			}
+			for (Item item : items.values()) {
+				bytes += 16 + 16 + 24 + stringBytes(item.text());
+			}
+			return bytes;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Walks the subtree best-first: a node is expanded only when its subtree
+	 * bound beats every item already queued.
+	 */
+	private List<Match> bestFirst(Node start, String startPath, int limit) {
+		Comparator<Candidate> order = Comparator.comparingLong(Candidate::weight).reversed()
+				.thenComparing(Candidate::key)
+				.thenComparingLong(Candidate::id);
+		PriorityQueue<Candidate> queue = new PriorityQueue<>(order);
+		queue.add(new Candidate(start.maxWeight, startPath, start, 0));
+
+		List<Match> matches = new ArrayList<>(limit);
+		Set<Long> seen = new HashSet<>();
+		while (!queue.isEmpty() && matches.size() < limit) {
+			Candidate candidate = queue.poll();
+			Node node = candidate.node();
+			if (node == null) {
+				if (seen.add(candidate.id())) {
+					matches.add(new Match(candidate.id(), items.get(candidate.id()).text()));
+				}
+				continue;
+			}
+			for (int e = 0; e < node.entryCount; e++) {
+				long id = node.entries[e];
+				Item item = items.get(id);
+				queue.add(new Candidate(item.weight(), candidate.key(), null, id));
+			}
+			for (int c = 0; c < node.childCount; c++) {
+				Node child = node.children[c];
+				queue.add(new Candidate(child.maxWeight, candidate.key() + child.label, child, 0));
+			}
+		}
+		return matches;
+	}
+
+	private void removeItem(long id) {
+		Item item = items.get(id);
+		if (item == null) {
+			return;
+		}
+		for (String key : keys(item.text())) {
+			delete(key, id);
+		}
+		items.remove(id);
+	}
+
+	private void insert(String key, long id) {
+		List<Node> path = new ArrayList<>();
+		path.add(root);
+		Node node = root;
+		int i = 0;
+		while (i < key.length()) {
+			Node child = node.child(key.charAt(i));
+			if (child == null) {
+				child = new Node(key.substring(i));
+				node.addChild(child);
+				nodeCount++;
+				i = key.length();
+			} else {
+				int common = commonPrefix(child.label, key, i);
+				if (common < child.label.length()) {
+					Node middle = new Node(child.label.substring(0, common));
+					child.label = child.label.substring(common);
+					node.replaceChild(middle);
+					middle.addChild(child);
+					middle.maxWeight = child.maxWeight;
+					nodeCount++;
+					child = middle;
+				}
+				i += common;
+			}
+			path.add(child);
+			node = child;
+		}
+		node.addEntry(id);
+		updateWeights(path);
+	}
+
+	private void delete(String key, long id) {
+		List<Node> path = new ArrayList<>();
+		path.add(root);
+		Node node = root;
+		int i = 0;
+		while (i < key.length()) {
+			Node child = node.child(key.charAt(i));
+			if (child == null || !key.startsWith(child.label, i)) {
+				return;
+			}
+			i += child.label.length();
+			path.add(child);
+			node = child;
+		}
+		node.removeEntry(id);
+
+		// Drop empty leaves and merge single-child chains, bottom-up
+		for (int depth = path.size() - 1; depth > 0; depth--) {
+			Node current = path.get(depth);
+			Node parent = path.get(depth - 1);
+			if (current.entryCount == 0 && current.childCount == 0) {
+				parent.removeChild(current);
+				path.remove(depth);
+				nodeCount--;
+			} else if (current.entryCount == 0 && current.childCount == 1) {
+				Node only = current.children[0];
+				only.label = current.label + only.label;
+				parent.replaceChild(only);
+				path.set(depth, only);
+				nodeCount--;
+			}
+		}
+		updateWeights(path);
+	}
+
+	/**
+	 * Recomputes the subtree weight bound of the nodes on a path, deepest first.
+	 */
+	private void updateWeights(List<Node> path) {
+		for (int depth = path.size() - 1; depth >= 0; depth--) {
+			Node node = path.get(depth);
+			long max = Long.MIN_VALUE;
+			for (int e = 0; e < node.entryCount; e++) {
+				max = Math.max(max, items.get(node.entries[e]).weight());
+			}
+			for (int c = 0; c < node.childCount; c++) {
+				max = Math.max(max, node.children[c].maxWeight);
+			}
+			node.maxWeight = max;
+		}
+	}
+
+	/**
+	 * Returns the lower-cased text and each suffix starting at a word.
+	 */
+	private static Set<String> keys(String text) {
+		String normalized = normalize(text);
+		Set<String> keys = new LinkedHashSet<>();
+		keys.add(normalized);
+		for (int i = 1; i < normalized.length(); i++) {
+			if (Character.isWhitespace(normalized.charAt(i - 1)) && !Character.isWhitespace(normalized.charAt(i))) {
+				keys.add(normalized.substring(i));
+			}
+		}
+		return keys;
+	}
+
+	private static String normalize(String text) {
+		return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static int commonPrefix(String label, String key, int offset) {
+		int max = Math.min(label.length(), key.length() - offset);
+		int i = 0;
+		while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+			i++;
+		}
+		return i;
+	}
+
+	private static long stringBytes(String value) {
+		return 24 + 16 + value.length();
+	}
+
+	/**
+	 * A queued node (when {@code node} is set) or item in the best-first walk.
+	 */
+	private record Candidate(long weight, String key, Node node, long id) {
+	}
+
+	/**
+	 * Trie node. Children are kept in parallel arrays indexed by the first
+	 * character of their label.
+	 */
+	private static final class Node {
+
+		private String label;
+		private char[] keys = NO_KEYS;
+		private Node[] children = NO_CHILDREN;
+		private int childCount;
+		private long[] entries = NO_ENTRIES;
+		private int entryCount;
+		private long maxWeight = Long.MIN_VALUE;
+
+		Node(String label) {
+			this.label = label;
+		}
+
+		Node child(char first) {
+			for (int c = 0; c < childCount; c++) {
+				if (keys[c] == first) {
+					return children[c];
+				}
+			}
+			return null;
+		}
+
+		void addChild(Node child) {
+			if (childCount == children.length) {
+				int capacity = Math.max(2, childCount << 1);
+				keys = Arrays.copyOf(keys, capacity);
+				children = Arrays.copyOf(children, capacity);
+			}
+			keys[childCount] = child.label.charAt(0);
+			children[childCount++] = child;
+		}
+
+		void replaceChild(Node child) {
+			char first = child.label.charAt(0);
+			for (int c = 0; c < childCount; c++) {
+				if (keys[c] == first) {
+					children[c] = child;
+					return;
+				}
+			}
+		}
+
+		void removeChild(Node child) {
+			for (int c = 0; c < childCount; c++) {
+				if (children[c] == child) {
+					childCount--;
+					keys[c] = keys[childCount];
+					children[c] = children[childCount];
+					children[childCount] = null;
+					return;
+				}
+			}
+		}
+
+		void addEntry(long id) {
+			for (int e = 0; e < entryCount; e++) {
+				if (entries[e] == id) {
+					return;
+				}
+			}
+			if (entryCount == entries.length) {
+				entries = Arrays.copyOf(entries, Math.max(1, entryCount << 1));
+			}
+			entries[entryCount++] = id;
+		}
+
+		void removeEntry(long id) {
+			for (int e = 0; e < entryCount; e++) {
+				if (entries[e] == id) {
+					entries[e] = entries[--entryCount];
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,419 @@
+package com.demo.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Thread-safe in-memory inverted index answering case-insensitive substring
+ * queries over a title and a description per document.
+ *
+ * <p>Matches are ranked in three relevance tiers (title starts with the query,
+ * title contains it, only the description contains it) and, within a tier, by
+ * due date and ID, both descending.</p>
+ *
+ * <p>Each document occupies a slot, and posting lists map the trigrams of the
+ * title, of the description and of the title start to the slots containing
+ * them. Slots are kept in rank order, so a search walks the intersected posting
+ * lists from the best-ranked slot and stops as soon as it has enough matches
+ * instead of scoring every candidate. Changed documents are appended to an
+ * unsorted tail that every search checks in full; the slots are re-sorted once
+ * the tail and the retired slots grow past an eighth of the index. Trigram
+ * matches are confirmed against the stored text, so results contain no false
+ * positives. Queries shorter than a trigram are answered by scanning.</p>
+ */
+public class TrigramIndex {
+
+	private static final int GRAM = 3;
+	private static final int MIN_REORGANIZE_SLOTS = 1024;
+
+	private static final int TIER_TITLE_PREFIX = 0;
+	private static final int TIER_TITLE = 1;
+	private static final int TIER_DESCRIPTION = 2;
+	private static final int TIER_COUNT = 3;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<Long, Integer> slotById = new HashMap<>();
+	private Map<Long, IntList> titlePostings = new HashMap<>();
+	private Map<Long, IntList> titleStartPostings = new HashMap<>();
+	private Map<Long, IntList> descriptionPostings = new HashMap<>();
+	private long[] ids = new long[16];
+	private long[] dueDates = new long[16];
+	private String[] titles = new String[16];
+	private String[] descriptions = new String[16];
+	private int slotCount;
+	private int sortedCount;
+	private int deadCount;
+
+	/**
+	 * A document to index.
+	 *
+	 * @param id document ID
+	 * @param title title text, may be null
+	 * @param description description text, may be null
+	 * @param dueDate due date in epoch milliseconds, used to order matches
+	 */
+	public record Document(long id, String title, String description, long dueDate) {
+	}
+
+	/**
+	 * Adds a document, replacing any previous version with the same ID.
+	 *
+	 * @param document the document
+	 */
+	public void put(Document document) {
+		lock.writeLock().lock();
+		try {
+			retire(document.id());
+			append(document.id(), normalize(document.title()), normalize(document.description()), document.dueDate());
+			reorganizeIfStale();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Replaces the whole content of the index, sorting it once.
+	 *
+	 * @param documents the documents to index
+	 */
+	public void reset(Collection<Document> documents) {
+		lock.writeLock().lock();
+		try {
+			slotById.clear();
+			titlePostings = new HashMap<>();
+			titleStartPostings = new HashMap<>();
+			descriptionPostings = new HashMap<>();
+			Arrays.fill(titles, 0, slotCount, null);
+			Arrays.fill(descriptions, 0, slotCount, null);
+			slotCount = 0;
+			sortedCount = 0;
+			deadCount = 0;
+			for (Document document : documents) {
+				retire(document.id());
+				append(document.id(), normalize(document.title()), normalize(document.description()),
+						document.dueDate());
+			}
+			reorganize();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes a document if present.
+	 *
+	 * @param id document ID
+	 */
+	public void remove(long id) {
+		lock.writeLock().lock();
+		try {
+			retire(id);
+			reorganizeIfStale();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of live documents.
+	 *
+	 * @return document count
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return slotById.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds the documents whose title or description contains the query,
+	 * ignoring case, in rank order.
+	 *
+	 * @param query substring to look for
+	 * @param limit maximum number of IDs to return
+	 * @return matching document IDs, best first
+	 */
+	public List<Long> search(String query, int limit) {
+		String needle = normalize(query);
+		if (needle.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+		Set<Long> grams = trigrams(needle, new LinkedHashSet<>());
+		lock.readLock().lock();
+		try {
+			List<Long> result = new ArrayList<>();
+			for (int tier = 0; tier < TIER_COUNT && result.size() < limit; tier++) {
+				List<IntList> lists = grams.isEmpty() ? List.of() : postings(tier, grams);
+				if (lists == null) {
+					continue;
+				}
+				int remaining = limit - result.size();
+				int currentTier = tier;
+				List<Integer> hits = new ArrayList<>();
+				forEachCandidate(lists, 0, sortedCount, slot -> {
+					if (tierOf(slot, needle) == currentTier) {
+						hits.add(slot);
+					}
+					return hits.size() < remaining;
+				});
+				int sortedHits = hits.size();
+				forEachCandidate(lists, sortedCount, slotCount, slot -> {
+					if (tierOf(slot, needle) == currentTier) {
+						hits.add(slot);
+					}
+					return true;
+				});
+				if (hits.size() > sortedHits) {
+					hits.sort(rankOrder());
+				}
+				for (int i = 0; i < hits.size() && i < remaining; i++) {
+					result.add(ids[hits.get(i)]);
+				}
+			}
+			return result;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the posting lists a slot must appear in to match the query in the
+	 * given tier, smallest first, or null if one of them is empty.
+	 */
+	private List<IntList> postings(int tier, Set<Long> grams) {
+		Map<Long, IntList> source = tier == TIER_DESCRIPTION ? descriptionPostings : titlePostings;
+		List<IntList> lists = new ArrayList<>(grams.size() + 1);
+		if (tier == TIER_TITLE_PREFIX) {
+			IntList starts = titleStartPostings.get(grams.iterator().next());
+			if (starts == null) {
+				return null;
+			}
+			lists.add(starts);
+		}
+		for (Long gram : grams) {
+			IntList list = source.get(gram);
+			if (list == null) {
+				return null;
+			}
+			lists.add(list);
+		}
+		lists.sort(Comparator.comparingInt(list -> list.size));
+		return lists;
+	}
+
+	/**
+	 * Visits, in slot order, the slots in [from, to) present in all lists, or
+	 * every slot in the range when there are no lists. Stops when the visitor
+	 * returns false.
+	 */
+	private static void forEachCandidate(List<IntList> lists, int from, int to, IntPredicate visitor) {
+		if (lists.isEmpty()) {
+			for (int slot = from; slot < to; slot++) {
+				if (!visitor.test(slot)) {
+					return;
+				}
+			}
+			return;
+		}
+		int[] positions = new int[lists.size()];
+		for (int l = 0; l < lists.size(); l++) {
+			positions[l] = lists.get(l).seek(from, 0);
+		}
+		IntList smallest = lists.get(0);
+		for (int i = positions[0]; i < smallest.size; i++) {
+			int slot = smallest.data[i];
+			if (slot >= to) {
+				return;
+			}
+			boolean inAll = true;
+			for (int l = 1; l < lists.size() && inAll; l++) {
+				IntList other = lists.get(l);
+				positions[l] = other.seek(slot, positions[l]);
+				if (positions[l] == other.size) {
+					return;
+				}
+				inAll = other.data[positions[l]] == slot;
+			}
+			if (inAll && !visitor.test(slot)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the relevance tier in which a slot matches, or -1 if it is retired or does not match.
+	 */
+	private int tierOf(int slot, String needle) {
+		String title = titles[slot];
+		if (title == null) {
+			return -1;
+		}
+		if (title.startsWith(needle)) {
+			return TIER_TITLE_PREFIX;
+		}
+		if (title.contains(needle)) {
+			return TIER_TITLE;
+		}
+		return descriptions[slot].contains(needle) ? TIER_DESCRIPTION : -1;
+	}
+
+	/**
+	 * Orders slots by due date and then ID, both descending.
+	 */
+	private Comparator<Integer> rankOrder() {
+		return Comparator.<Integer>comparingLong(slot -> dueDates[slot])
+				.thenComparingLong(slot -> ids[slot])
+				.reversed();
+	}
+
+	private void append(long id, String title, String description, long dueDate) {
+		if (slotCount == ids.length) {
+			int capacity = slotCount + (slotCount >> 1);
+			ids = Arrays.copyOf(ids, capacity);
+			dueDates = Arrays.copyOf(dueDates, capacity);
+			titles = Arrays.copyOf(titles, capacity);
+			descriptions = Arrays.copyOf(descriptions, capacity);
+		}
+		int slot = slotCount++;
+		ids[slot] = id;
+		dueDates[slot] = dueDate;
+		titles[slot] = title;
+		descriptions[slot] = description;
+		slotById.put(id, slot);
+
+		for (Long gram : trigrams(title, new LinkedHashSet<>())) {
+			titlePostings.computeIfAbsent(gram, key -> new IntList()).add(slot);
+		}
+		if (title.length() >= GRAM) {
+			titleStartPostings.computeIfAbsent(trigram(title, 0), key -> new IntList()).add(slot);
+		}
+		for (Long gram : trigrams(description, new LinkedHashSet<>())) {
+			descriptionPostings.computeIfAbsent(gram, key -> new IntList()).add(slot);
+		}
+	}
+
+	/**
+	 * Marks the document's current slot as dead; its postings are dropped when the slots are re-sorted.
+	 */
+	private void retire(long id) {
+		Integer slot = slotById.remove(id);
+		if (slot != null) {
+			titles[slot] = null;
+			descriptions[slot] = null;
+			deadCount++;
+		}
+	}
+
+	/**
+	 * Re-sorts the slots once the unsorted tail and the dead slots make up too much of the index.
+	 */
+	private void reorganizeIfStale() {
+		int stale = slotCount - sortedCount + deadCount;
+		if (stale > Math.max(MIN_REORGANIZE_SLOTS, slotById.size() / 8)) {
+			reorganize();
+		}
+	}
+
+	/**
+	 * Rebuilds the slots and postings from the live documents in rank order.
+	 */
+	private void reorganize() {
+		Integer[] live = new Integer[slotById.size()];
+		int count = 0;
+		for (int slot = 0; slot < slotCount; slot++) {
+			if (titles[slot] != null) {
+				live[count++] = slot;
+			}
+		}
+		Arrays.sort(live, rankOrder());
+
+		long[] oldIds = ids;
+		long[] oldDueDates = dueDates;
+		String[] oldTitles = titles;
+		String[] oldDescriptions = descriptions;
+		int capacity = Math.max(16, count + (count >> 3));
+		ids = new long[capacity];
+		dueDates = new long[capacity];
+		titles = new String[capacity];
+		descriptions = new String[capacity];
+		titlePostings = new HashMap<>();
+		titleStartPostings = new HashMap<>();
+		descriptionPostings = new HashMap<>();
+		slotById.clear();
+		slotCount = 0;
+		for (Integer slot : live) {
+			append(oldIds[slot], oldTitles[slot], oldDescriptions[slot], oldDueDates[slot]);
+		}
+		sortedCount = slotCount;
+		deadCount = 0;
+	}
+
+	private static String normalize(String text) {
+		return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Adds the packed trigrams of the text, in order of first occurrence, to the given set.
+	 */
+	private static Set<Long> trigrams(String text, Set<Long> into) {
+		for (int i = 0; i + GRAM <= text.length(); i++) {
+			into.add(trigram(text, i));
+		}
+		return into;
+	}
+
+	private static long trigram(String text, int start) {
+		return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+	}
+
+	/**
+	 * Growable list of slot numbers in ascending order.
+	 */
+	private static final class IntList {
+
+		private int[] data = new int[4];
+		private int size;
+
+		void add(int value) {
+			if (size == data.length) {
+				data = Arrays.copyOf(data, size << 1);
+			}
+			data[size++] = value;
+		}
+
+		/**
+		 * Returns the index of the first value at or after {@code start} that is
+		 * not below {@code target}, or {@code size} if there is none. Gallops
+		 * forward from {@code start}, so consecutive seeks are cheap.
+		 */
+		int seek(int target, int start) {
+			if (start >= size || data[start] >= target) {
+				return start;
+			}
+			int low = start;
+			int step = 1;
+			while (low + step < size && data[low + step] < target) {
+				low += step;
+				step <<= 1;
+			}
+			int high = Math.min(low + step, size);
+			int index = Arrays.binarySearch(data, low + 1, high, target);
+			return index >= 0 ? index : -index - 1;
+		}
+	}
+}
@@ -0,0 +1,8 @@
+-- Revoked JWT IDs, kept until the token would have expired anyway. Created here
+-- rather than in the baseline because databases baselined at V1 never had it.
+
+create table revoked_token (
+    jti varchar(255) not null,
+    expires_at datetime(6),
+    primary key (jti)
+);
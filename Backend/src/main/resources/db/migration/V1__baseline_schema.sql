@@ -0,0 +1,36 @@
+-- Baseline: the schema previously maintained by spring.jpa.hibernate.ddl-auto=update
+-- for the User, Task and Comment entities. Existing databases are baselined at this
+-- version (spring.flyway.baseline-on-migrate) and skip this script, so anything added
+-- after the baseline belongs in a later migration.
+
+create table user (
+    id bigint not null auto_increment,
+    email varchar(255),
+    name varchar(255),
+    password varchar(255),
+    user_role tinyint check (user_role between 0 and 1),
+    primary key (id)
+);
+
+create table task (
+    id bigint not null auto_increment,
+    description varchar(255),
+    due_date datetime(6),
+    priority varchar(255),
+    task_status tinyint check (task_status between 0 and 4),
+    title varchar(255),
+    user_id bigint not null,
+    primary key (id),
+    constraint fk_task_user foreign key (user_id) references user (id) on delete cascade
+);
+
+create table comment (
+    id bigint not null auto_increment,
+    content varchar(255),
+    created_at datetime(6),
+    task_id bigint not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint fk_comment_task foreign key (task_id) references task (id) on delete cascade,
+    constraint fk_comment_user foreign key (user_id) references user (id) on delete cascade
+);
@@ -0,0 +1,20 @@
+-- Indexes for access paths that had none under ddl-auto=update.
+
+-- findFirstByEmail runs on every authenticated request; emails are login names.
+-- Fails on databases that already hold duplicate emails: deduplicate those first.
+create unique index uk_user_email on user (email);
+
+-- findByUserRole (admin account bootstrap).
+create index idx_user_role on user (user_role);
+
+-- Keyset pages of the admin task list, newest due date first, ties broken by id.
+create index idx_task_due_date_id on task (due_date, id);
+
+-- Keyset pages of an employee's task feed, optionally narrowed to one status.
+create index idx_task_user_status_due_date on task (user_id, task_status, due_date);
+
+-- Comment threads of one task in creation order.
+create index idx_comment_task_created_at on comment (task_id, created_at);
+
+-- Startup reload of live revocations and the periodic prune of expired ones.
+create index idx_revoked_token_expires_at on revoked_token (expires_at);
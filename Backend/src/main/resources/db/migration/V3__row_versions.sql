@@ -0,0 +1,6 @@
+-- Optimistic-locking versions for tasks and comments. They also back the
+-- strong ETags of the task and comment endpoints.
+
+alter table task add column version bigint not null default 0;
+
+alter table comment add column version bigint not null default 0;
@@ -0,0 +1,14 @@
+-- Pooled ID generation for tasks. auto_increment IDs are assigned by the INSERT
+-- itself, which keeps Hibernate from batching task inserts; the table generator
+-- hands out blocks of 50 IDs (Task's allocationSize) per round trip instead.
+
+create table id_generator (
+    sequence_name varchar(255) not null,
+    next_val bigint,
+    primary key (sequence_name)
+);
+
+-- The pooled optimizer reads next_val as the upper end of its first block, so
+-- seeding it one block above the highest existing ID keeps new IDs unique.
+insert into id_generator (sequence_name, next_val)
+select 'task', coalesce(max(id), 0) + 50 from task;
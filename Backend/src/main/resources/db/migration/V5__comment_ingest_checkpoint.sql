@@ -0,0 +1,9 @@
+-- Progress of the group-commit comment writer, per local journal. Each batch of
+-- journaled comments is inserted in the same transaction that advances last_seq,
+-- so after a crash the journal is replayed from the first comment not yet stored.
+
+create table comment_ingest_checkpoint (
+    journal varchar(255) not null,
+    last_seq bigint not null,
+    primary key (journal)
+);
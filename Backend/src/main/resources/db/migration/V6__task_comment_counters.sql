@@ -0,0 +1,10 @@
+-- Denormalized comment activity per task, maintained in the transaction that
+-- inserts the comments, so task lists can show it without counting per row.
+
+alter table task add column comment_count bigint not null default 0;
+
+alter table task add column last_comment_at datetime(6);
+
+update task set
+    comment_count = (select count(*) from comment c where c.task_id = task.id),
+    last_comment_at = (select max(c.created_at) from comment c where c.task_id = task.id);
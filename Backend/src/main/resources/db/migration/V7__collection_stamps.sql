@@ -0,0 +1,45 @@
+-- Version stamps of the task and user listings, shared by every instance. Each
+-- listing has 16 counter rows; a change adds one to a single row in the
+-- transaction that made it, and the stamp is the sum of the listing's rows, so
+-- concurrent writers rarely wait on the same row lock.
+
+create table collection_stamp (
+    name varchar(32) not null,
+    slot int not null,
+    stamp bigint not null,
+    primary key (name, slot)
+);
+
+insert into collection_stamp (name, slot, stamp) values
+    ('task', 0, 0),
+    ('task', 1, 0),
+    ('task', 2, 0),
+    ('task', 3, 0),
+    ('task', 4, 0),
+    ('task', 5, 0),
+    ('task', 6, 0),
+    ('task', 7, 0),
+    ('task', 8, 0),
+    ('task', 9, 0),
+    ('task', 10, 0),
+    ('task', 11, 0),
+    ('task', 12, 0),
+    ('task', 13, 0),
+    ('task', 14, 0),
+    ('task', 15, 0),
+    ('user', 0, 0),
+    ('user', 1, 0),
+    ('user', 2, 0),
+    ('user', 3, 0),
+    ('user', 4, 0),
+    ('user', 5, 0),
+    ('user', 6, 0),
+    ('user', 7, 0),
+    ('user', 8, 0),
+    ('user', 9, 0),
+    ('user', 10, 0),
+    ('user', 11, 0),
+    ('user', 12, 0),
+    ('user', 13, 0),
+    ('user', 14, 0),
+    ('user', 15, 0);
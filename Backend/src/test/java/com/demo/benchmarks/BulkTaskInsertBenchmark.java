@@ -0,0 +1,139 @@
+package com.demo.benchmarks;
+
+import com.demo.SmartTaskApplication;
+import com.demo.dao.BulkTaskResult;
+import com.demo.dao.TaskDao;
+import com.demo.entities.Task;
+import com.demo.entities.User;
+import com.demo.enums.UserRole;
+import com.demo.repositories.UserRepository;
+import com.demo.services.admin.AdminService;
+import com.demo.services.search.TaskSearchService;
+import com.demo.services.typeahead.TypeaheadService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating tasks one at a time, as repeated {@code POST /api/admin/task}
+ * calls do, with {@code POST /api/admin/tasks/bulk}. Both go through AdminService
+ * in a booted application context, with the configured Hibernate batch settings
+ * ({@code jdbc.batch_size=50}, {@code order_inserts}) and the pooled id_generator.
+ * The single path runs one transaction per task: the assignee lookup, answered by
+ * the second-level cache once warm, and one INSERT. The bulk path resolves every
+ * assignee with one IN query and flushes the inserts as JDBC batches of 50 in one
+ * transaction. HTTP overhead, which favours the bulk path further, is left out.
+ *
+ * <p>The context runs against in-memory H2, which executes each JDBC batch as
+ * separate statements. The numbers therefore reflect the saved transactions and
+ * per-task work only, not MySQL's {@code rewriteBatchedStatements=true}, which
+ * sends each batch to the server as one multi-row INSERT.</p>
+ *
+ * <p>Not run by the test suite. Run after {@code mvn test-compile} with:</p>
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.demo.benchmarks.BulkTaskInsertBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkTaskInsertBenchmark {
+
+    private static final int EMPLOYEE_COUNT = 100;
+
+    @Param({"1000"})
+    private int taskCount;
+
+    private ConfigurableApplicationContext context;
+    private AdminService adminService;
+    private JdbcTemplate jdbcTemplate;
+    private List<TaskDao> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SmartTaskApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:bulk_task_insert_benchmark;MODE=MySQL;"
+                                + "DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER,VALUE",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run();
+        adminService = context.getBean(AdminService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<User> employees = new ArrayList<>();
+        for (int i = 1; i <= EMPLOYEE_COUNT; i++) {
+            User employee = new User();
+            employee.setName("Employee " + i);
+            employee.setEmail("employee" + i + "@example.com");
+            employee.setUserRole(UserRole.EMPLOYEE);
+            employees.add(employee);
+        }
+        employees = context.getBean(UserRepository.class).saveAll(employees);
+
+        long dueDate = System.currentTimeMillis();
+        tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            TaskDao task = new TaskDao();
+            task.setTitle("Task " + i);
+            task.setDescription("Generated task " + i);
+            task.setPriority("Medium");
+            task.setDueDate(new Date(dueDate + i * 60_000L));
+            task.setEmployeeId(employees.get(i % EMPLOYEE_COUNT).getId());
+            tasks.add(task);
+        }
+    }
+
+    /**
+     * Deletes the tasks of the previous iteration and drops them from the
+     * caches and in-memory indexes, so that those do not grow without bound.
+     */
+    @Setup(Level.Iteration)
+    public void clearTasks() {
+        jdbcTemplate.update("delete from task");
+        context.getBean(EntityManagerFactory.class).getCache().evict(Task.class);
+        context.getBean(TaskSearchService.class).rebuild();
+        context.getBean(TypeaheadService.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long singleCreates() {
+        Long lastId = null;
+        for (TaskDao task : tasks) {
+            lastId = adminService.createTask(task).getId();
+        }
+        return lastId;
+    }
+
+    @Benchmark
+    public List<BulkTaskResult> bulkCreate() {
+        return adminService.createTasks(tasks);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BulkTaskInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,164 @@
+package com.demo.benchmarks;
+
+import com.demo.utils.TrigramIndex;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares task search through the in-memory TrigramIndex with the former SQL
+ * path: a {@code LIKE '%query%'} scan over the task table, ordered by due date.
+ * Both return the top 200 tasks whose title or description contains the query.
+ *
+ * <p>Not run by the test suite. Run after {@code mvn test-compile} with:</p>
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.demo.benchmarks.TaskSearchBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskSearchBenchmark {
+
+    private static final int LIMIT = 200;
+
+    private static final int VOCABULARY_SIZE = 5000;
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ne", "ru", "ta", "po", "si", "de", "ga", "vi", "zo", "be", "fu", "ho", "ja"
+    };
+
+    @Param({"1000000"})
+    private int taskCount;
+
+    /**
+     * Frequency rank of the searched word: 0 is the most common word, higher ranks are rarer.
+     */
+    @Param({"0", "50", "2500"})
+    private int wordRank;
+
+    private String query;
+    private TrigramIndex index;
+    private Connection connection;
+    private PreparedStatement likeStatement;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        List<TrigramIndex.Document> documents = new ArrayList<>(taskCount);
+        connection = DriverManager.getConnection("jdbc:h2:mem:task_search_benchmark;MODE=MySQL", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table task (id bigint primary key, title varchar(255), "
+                    + "description varchar(255), due_date timestamp(6))");
+        }
+
+        Random random = new Random(42);
+        String[] words = vocabulary(random);
+        query = words[wordRank];
+        long now = System.currentTimeMillis();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into task (id, title, description, due_date) values (?, ?, ?, ?)")) {
+            for (int id = 1; id <= taskCount; id++) {
+                String title = sentence(random, words, 3) + " #" + id;
+                String description = sentence(random, words, 8);
+                long dueDate = now + random.nextInt(365) * 86_400_000L;
+                documents.add(new TrigramIndex.Document(id, title, description, dueDate));
+
+                insert.setLong(1, id);
+                insert.setString(2, title);
+                insert.setString(3, description);
+                insert.setTimestamp(4, new Timestamp(dueDate));
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        index = new TrigramIndex();
+        index.reset(documents);
+
+        likeStatement = connection.prepareStatement("select id from task "
+                + "where lower(title) like ? or lower(description) like ? "
+                + "order by due_date desc, id desc limit " + LIMIT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        likeStatement.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Long> trigramIndex() {
+        return index.search(query, LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> sqlLike() throws SQLException {
+        String pattern = "%" + query.toLowerCase() + "%";
+        likeStatement.setString(1, pattern);
+        likeStatement.setString(2, pattern);
+        List<Long> ids = new ArrayList<>(LIMIT);
+        try (ResultSet resultSet = likeStatement.executeQuery()) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Generates distinct pseudo-words from random syllables.
+     */
+    private static String[] vocabulary(Random random) {
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < VOCABULARY_SIZE) {
+            StringBuilder word = new StringBuilder();
+            for (int s = 2 + random.nextInt(3); s > 0; s--) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words.add(word.toString());
+        }
+        return words.toArray(new String[0]);
+    }
+
+    /**
+     * Builds a sentence with a skewed word distribution: low-ranked words are far more frequent.
+     */
+    private static String sentence(Random random, String[] words, int length) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            double skewed = Math.pow(random.nextDouble(), 3);
+            sentence.append(words[(int) (skewed * words.length)]);
+        }
+        return sentence.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TaskSearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
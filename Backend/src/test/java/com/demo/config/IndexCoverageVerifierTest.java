@@ -0,0 +1,65 @@
+package com.demo.config;
+
+import com.demo.entities.Task;
+import com.demo.repositories.IndexedBy;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for IndexCoverageVerifier against the schema created by the Flyway migrations.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IndexCoverageVerifier.class)
+class IndexCoverageVerifierTest {
+
+    @Autowired private IndexCoverageVerifier indexCoverageVerifier;
+
+    /**
+     * Test: Every repository query method names an index that exists after migration.
+     * Fails when a query method is added without @IndexedBy or without its index.
+     */
+    @Test
+    void testAllRepositoryQueriesAreCovered() {
+        assertEquals(List.of(), indexCoverageVerifier.findViolations());
+    }
+
+    /**
+     * Test: Undeclared, unjustified and missing indexes are each reported.
+     */
+    @Test
+    void testUncoveredQueriesAreReported() {
+        List<String> violations = IndexCoverageVerifier.findViolations(UncoveredRepository.class,
+                Set.of("idx_task_due_date_id"));
+
+        assertEquals(3, violations.size());
+        assertTrue(violations.stream().anyMatch(v -> v.startsWith("UncoveredRepository.findAllByPriority")));
+        assertTrue(violations.stream().anyMatch(v -> v.startsWith("UncoveredRepository.findAllByDescription")));
+        assertTrue(violations.stream().anyMatch(v -> v.endsWith("missing index idx_task_title")));
+    }
+
+    interface UncoveredRepository extends JpaRepository<Task, Long> {
+
+        List<Task> findAllByPriority(String priority);
+
+        @IndexedBy
+        List<Task> findAllByDescription(String description);
+
+        @IndexedBy("idx_task_title")
+        List<Task> findAllByTitle(String title);
+
+        @IndexedBy({"idx_task_due_date_id", IndexedBy.PRIMARY_KEY})
+        List<Task> findAllByOrderByDueDateDesc();
+    }
+}
@@ -0,0 +1,162 @@
+package com.demo.config;
+
+import com.demo.entities.Task;
+import com.demo.entities.User;
+import com.demo.enums.TaskStatus;
+import com.demo.enums.UserRole;
+import com.demo.repositories.TaskRepository;
+import com.demo.repositories.UserRepository;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Hibernate second-level and query caches configured by SecondLevelCacheConfig.
+ * Runs without a test transaction so that cached entries are published on commit, as in production.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheConfigTest {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private User employee;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        employee = new User();
+        employee.setName("Cache Tester");
+        employee.setEmail("cache.tester@example.com");
+        employee.setPassword("secret");
+        employee.setUserRole(UserRole.EMPLOYEE);
+        employee = userRepository.save(employee);
+
+        task = new Task();
+        task.setTitle("Cached task");
+        task.setDueDate(new Date());
+        task.setTaskStatus(TaskStatus.PENDING);
+        task.setUser(employee);
+        task = taskRepository.save(task);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteById(task.getId());
+        userRepository.deleteById(employee.getId());
+    }
+
+    /**
+     * Test: Repeated email lookups on the authentication path run a single statement.
+     */
+    @Test
+    void testFindFirstByEmail_ServedFromQueryCache() {
+        Statistics statistics = statistics();
+
+        assertEquals(employee.getId(), userRepository.findFirstByEmail("cache.tester@example.com").orElseThrow().getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        User cached = userRepository.findFirstByEmail("cache.tester@example.com").orElseThrow();
+        assertEquals("Cache Tester", cached.getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    /**
+     * Test: A change to the user table invalidates cached query results.
+     */
+    @Test
+    void testFindFirstByEmail_InvalidatedByUpdate() {
+        userRepository.findFirstByEmail("cache.tester@example.com");
+        employee.setName("Renamed Tester");
+        userRepository.save(employee);
+        Statistics statistics = statistics();
+
+        assertEquals("Renamed Tester", userRepository.findFirstByEmail("cache.tester@example.com").orElseThrow().getName());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    /**
+     * Test: Loading a task by ID, as the update and comment paths do, runs no statement
+     * once the task is cached, and an evicted task is loaded once and cached again.
+     */
+    @Test
+    void testFindTaskById_ServedFromEntityCache() {
+        entityManagerFactory.getCache().evict(Task.class);
+        Statistics statistics = statistics();
+
+        assertEquals("Cached task", taskRepository.findById(task.getId()).orElseThrow().getTitle());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertEquals("Cached task", taskRepository.findById(task.getId()).orElseThrow().getTitle());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.TASK_REGION).getHitCount());
+    }
+
+    /**
+     * Test: Status changes and comment counts evict the task they change from the entity
+     * cache and leave the other cached tasks in place.
+     */
+    @Test
+    void testTaskWrites_EvictOnlyChangedTasks() {
+        Task other = new Task();
+        other.setTitle("Other cached task");
+        other.setDueDate(new Date());
+        other.setTaskStatus(TaskStatus.PENDING);
+        other.setUser(employee);
+        other = taskRepository.save(other);
+        Long otherId = other.getId();
+        Cache cache = entityManagerFactory.getCache();
+        try {
+            taskRepository.findById(task.getId());
+            taskRepository.findById(otherId);
+            assertTrue(cache.contains(Task.class, task.getId()));
+            assertTrue(cache.contains(Task.class, otherId));
+
+            transactionTemplate.executeWithoutResult(status -> taskRepository.recordComment(task.getId(), new Date()));
+
+            assertFalse(cache.contains(Task.class, task.getId()));
+            assertTrue(cache.contains(Task.class, otherId));
+            assertEquals(1L, taskRepository.findById(task.getId()).orElseThrow().getCommentCount());
+
+            transactionTemplate.executeWithoutResult(
+                    status -> taskRepository.updateStatusById(task.getId(), TaskStatus.COMPLETED));
+
+            assertFalse(cache.contains(Task.class, task.getId()));
+            assertTrue(cache.contains(Task.class, otherId));
+            assertEquals(TaskStatus.COMPLETED, taskRepository.findById(task.getId()).orElseThrow().getTaskStatus());
+        } finally {
+            taskRepository.deleteById(otherId);
+        }
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -1,27 +1,56 @@
 package com.demo.controller.admin;
 
+import com.demo.controller.ETags;
+import com.demo.exceptions.GlobalExceptionHandler;
+import com.demo.exceptions.TaskConflictException;
+import com.demo.dao.BulkTaskResult;
 import com.demo.dao.CommentDao;
+import com.demo.dao.CursorPage;
+import com.demo.dao.Suggestion;
 import com.demo.dao.TaskDao;
+import com.demo.dao.TaskFilter;
+import com.demo.dao.EmployeeSummary;
+import com.demo.enums.ExportFormat;
+import com.demo.enums.TaskStatus;
 import com.demo.services.admin.AdminService;
+import com.demo.services.cache.ResponseCacheService;
+import com.demo.services.cache.ResponseCacheServiceImpl;
+import com.demo.services.export.TaskExportService;
+import com.demo.services.stamp.CollectionStampService;
+import com.demo.services.typeahead.TypeaheadService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +64,19 @@ class AdminControllerTest {
     @Mock
     private AdminService adminService; // Mocked service dependency
 
+    @Mock
+    private TypeaheadService typeaheadService; // Mocked typeahead dependency
+
+    @Mock
+    private CollectionStampService collectionStampService; // Mocked collection stamps
+
+    @Mock
+    private TaskExportService taskExportService; // Mocked export dependency
+
+    @Spy
+    private ResponseCacheService responseCacheService =
+            new ResponseCacheServiceImpl(new ObjectMapper(), new SimpleMeterRegistry(), 1_000_000); // Real byte cache
+
     @InjectMocks
     private AdminController adminController; // Controller under test
 
@@ -77,17 +119,173 @@ class AdminControllerTest {
         verify(adminService, times(1)).createTask(any(TaskDao.class));
     }
 
+    // ✅ Test bulk task creation reports a result per item
+    @Test
+    void testCreateTasksInBulk() throws Exception {
+        when(adminService.createTasks(anyList())).thenReturn(List.of(
+                BulkTaskResult.created(0, 11L), BulkTaskResult.rejected(1, "Employee not found: 99")));
+
+        mockMvc.perform(post("/api/admin/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(task1, task2))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(2))
+                .andExpect(jsonPath("$[0].id").value(11))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].error").value("Employee not found: 99"));
+
+        verify(adminService).createTasks(argThat(tasks -> tasks.size() == 2));
+    }
+
+    // ✅ Test bulk status change by ID and by filter
+    @Test
+    void testUpdateTaskStatusInBulk() throws Exception {
+        when(adminService.updateTaskStatus(List.of(1L, 2L), TaskStatus.COMPLETED)).thenReturn(2);
+        when(adminService.updateTaskStatus(any(TaskFilter.class), eq(TaskStatus.CANCELLED))).thenReturn(5);
+
+        mockMvc.perform(put("/api/admin/tasks/status").param("newStatus", "COMPLETED")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+
+        mockMvc.perform(put("/api/admin/tasks/filter/status")
+                        .param("employeeId", "7").param("status", "DEFERRED").param("newStatus", "CANCELLED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(5));
+
+        verify(adminService).updateTaskStatus(argThat((TaskFilter filter) -> filter.getEmployeeId() == 7L
+                && filter.getStatus() == TaskStatus.DEFERRED), eq(TaskStatus.CANCELLED));
+    }
+
+    // ✅ Test reassigning open tasks between employees
+    @Test
+    void testReassignOpenTasks() throws Exception {
+        when(adminService.reassignOpenTasks(1L, 2L)).thenReturn(3);
+
+        mockMvc.perform(put("/api/admin/tasks/reassign").param("from", "1").param("to", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(3));
+    }
+
     // ✅ Test fetching all tasks
     @Test
     void testGetAllTasks() throws Exception {
         List<TaskDao> taskList = Arrays.asList(task1, task2);
-        when(adminService.getAllTasks()).thenReturn(taskList);
+        when(adminService.getAllTasks(null, 50)).thenReturn(new CursorPage<>(taskList, null));
 
         mockMvc.perform(get("/api/admin/tasks"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.size()").value(2));
+
+        verify(adminService, times(1)).getAllTasks(null, 50);
+    }
+
+    // ✅ Test fetching a page of tasks returns the next cursor header
+    @Test
+    void testGetAllTasks_WithCursor() throws Exception {
+        when(adminService.getAllTasks("1700000000000_9", 2))
+                .thenReturn(new CursorPage<>(Arrays.asList(task1, task2), "1600000000000_2"));
+
+        mockMvc.perform(get("/api/admin/tasks").param("cursor", "1700000000000_9").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "1600000000000_2"))
                 .andExpect(jsonPath("$.size()").value(2));
+    }
+
+    // ✅ Test a task page whose stamp is unchanged is answered with 304 without querying
+    @Test
+    void testGetAllTasks_NotModified() throws Exception {
+        when(collectionStampService.taskListStamp()).thenReturn("a-1");
+        when(adminService.getAllTasks(eq(null), anyInt())).thenReturn(new CursorPage<>(List.of(task1), null));
+
+        String etag = mockMvc.perform(get("/api/admin/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/admin/tasks").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/admin/tasks").param("size", "10").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        verify(adminService, times(1)).getAllTasks(null, 50);
+        verify(adminService, times(1)).getAllTasks(null, 10);
+    }
+
+    // ✅ Test repeated task pages are served from the encoded byte cache, gzip-compressed on request
+    @Test
+    void testGetAllTasks_ServedFromResponseCache() throws Exception {
+        when(collectionStampService.taskListStamp()).thenReturn("a-1");
+        when(adminService.getAllTasks(null, 2)).thenReturn(new CursorPage<>(List.of(task1, task2), "1600000000000_2"));
+
+        mockMvc.perform(get("/api/admin/tasks").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "1600000000000_2"))
+                .andExpect(jsonPath("$[1].title").value("Task Two"));
 
-        verify(adminService, times(1)).getAllTasks();
+        MockHttpServletResponse compressed = mockMvc.perform(get("/api/admin/tasks").param("size", "2").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("X-Next-Cursor", "1600000000000_2"))
+                .andReturn().getResponse();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.getContentAsByteArray()))) {
+            assertEquals(2, objectMapper.readTree(in).size());
+        }
+        String gzipETag = compressed.getHeader("ETag");
+        assertTrue(gzipETag.endsWith("-gzip\""));
+
+        // Either encoding's ETag revalidates; the 304 carries the ETag of the encoding asked for
+        mockMvc.perform(get("/api/admin/tasks").param("size", "2").header("If-None-Match", gzipETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", gzipETag.replace("-gzip", "")));
+        mockMvc.perform(get("/api/admin/tasks").param("size", "2").header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", gzipETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", gzipETag));
+
+        verify(adminService, times(1)).getAllTasks(null, 2);
+    }
+
+    // ✅ Test the employee directory is cached until the user or task stamp changes
+    @Test
+    void testGetUsers_CachedPerStamp() throws Exception {
+        EmployeeSummary employee = new EmployeeSummary(5L, "Jane", "jane@example.com", 3L);
+        when(adminService.getUsers(null, 0, 200)).thenReturn(new PageImpl<>(List.of(employee), PageRequest.of(0, 200), 1));
+        when(collectionStampService.userListStamp()).thenReturn("a-1");
+        when(collectionStampService.taskListStamp()).thenReturn("a-1");
+
+        mockMvc.perform(get("/api/admin/users"))
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$[0].name").value("Jane"))
+                .andExpect(jsonPath("$[0].openTaskCount").value(3));
+        mockMvc.perform(get("/api/admin/users")).andExpect(jsonPath("$[0].name").value("Jane"));
+        verify(adminService, times(1)).getUsers(null, 0, 200);
+
+        when(collectionStampService.taskListStamp()).thenReturn("a-2");
+        mockMvc.perform(get("/api/admin/users")).andExpect(status().isOk());
+        verify(adminService, times(2)).getUsers(null, 0, 200);
+    }
+
+    // ✅ Test filtering tasks returns the page and the total count header
+    @Test
+    void testFilterTasks() throws Exception {
+        when(adminService.filterTasks(any(TaskFilter.class), eq(0), eq(1)))
+                .thenReturn(new PageImpl<>(List.of(task1), PageRequest.of(0, 1), 7));
+
+        mockMvc.perform(get("/api/admin/tasks/filter")
+                        .param("status", "PENDING")
+                        .param("employeeId", "3")
+                        .param("dueFrom", "2025-01-01")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "7"))
+                .andExpect(jsonPath("$.size()").value(1));
+
+        verify(adminService).filterTasks(argThat(filter -> filter.getStatus() == TaskStatus.PENDING
+                && filter.getEmployeeId() == 3L
+                && LocalDate.of(2025, 1, 1).equals(filter.getDueFrom())), eq(0), eq(1));
     }
 
     // ✅ Test deleting a task by ID
@@ -115,6 +313,51 @@ class AdminControllerTest {
         verify(adminService, times(1)).updateTask(eq(1L), any(TaskDao.class));
     }
 
+    // ✅ Test that an update based on a stale version returns 409 with the current task
+    @Test
+    void testUpdateTask_Conflict() throws Exception {
+        task1.setVersion(3L);
+        task1.setCommentCount(4L);
+        when(adminService.updateTask(eq(1L), any(TaskDao.class))).thenThrow(new TaskConflictException(task1));
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(adminController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvcWithAdvice.perform(put("/api/admin/task/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Renamed\", \"employeeId\": 1, \"version\": 2}"))
+                .andExpect(status().isConflict())
+                .andExpect(header().string("ETag", ETags.of("task", 1L, 3L, 4L)))
+                .andExpect(jsonPath("$.current.version").value(3))
+                .andExpect(jsonPath("$.current.title").value("Task One"));
+
+        verify(adminService).updateTask(eq(1L), argThat(changes -> changes.getVersion() == 2L));
+    }
+
+    // ✅ Test partially updating a task
+    @Test
+    void testPatchTask() throws Exception {
+        task1.setVersion(2L);
+        task1.setCommentCount(0L);
+        when(adminService.patchTask(eq(1L), any(TaskDao.class))).thenReturn(task1);
+        when(adminService.patchTask(eq(2L), any(TaskDao.class))).thenReturn(null);
+
+        mockMvc.perform(patch("/api/admin/task/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"taskStatus\": \"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETags.of("task", 1L, 2L, 0L)))
+                .andExpect(jsonPath("$.title").value("Task One"));
+
+        mockMvc.perform(patch("/api/admin/task/2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Renamed\"}"))
+                .andExpect(status().isNotFound());
+
+        verify(adminService).patchTask(eq(1L), argThat(changes -> changes.getTaskStatus() == TaskStatus.COMPLETED
+                && changes.getTitle() == null));
+    }
+
     // ✅ Test searching tasks by title
     @Test
     void testSearchTaskByTitle() throws Exception {
@@ -128,6 +371,19 @@ class AdminControllerTest {
         verify(adminService, times(1)).searchTaskByTitle("Task");
     }
 
+    // ✅ Test task typeahead suggestions
+    @Test
+    void testSuggestTasks() throws Exception {
+        when(typeaheadService.suggestTasks("ta", 10)).thenReturn(List.of(new Suggestion(1L, "Task One")));
+
+        mockMvc.perform(get("/api/admin/typeahead/tasks").param("prefix", "ta"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].text").value("Task One"));
+
+        verify(typeaheadService, times(1)).suggestTasks("ta", 10);
+    }
+
     // ✅ Test fetching task by ID
     @Test
     void testGetTaskById() throws Exception {
@@ -140,6 +396,25 @@ class AdminControllerTest {
         verify(adminService, times(1)).getTaskById(1L);
     }
 
+    // ✅ Test a task's ETag follows its row version
+    @Test
+    void testGetTaskById_ETagFollowsVersion() throws Exception {
+        task1.setVersion(3L);
+        when(adminService.getTaskById(1L)).thenReturn(task1);
+
+        String etag = mockMvc.perform(get("/api/admin/task/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/admin/task/1").header("If-None-Match", "W/" + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        task1.setVersion(4L);
+        mockMvc.perform(get("/api/admin/task/1").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
     // ✅ Test creating a comment for a task
     @Test
     void testCreateComment() throws Exception {
@@ -153,15 +428,50 @@ class AdminControllerTest {
         verify(adminService, times(1)).createComment(1L, "Nice Work");
     }
 
-    // ✅ Test fetching comments by task ID
+    // ✅ Test exporting tasks streams the service's output as a CSV attachment
+    @Test
+    void testExportTasks_Csv() throws Exception {
+        when(taskExportService.exportTasks(eq(ExportFormat.CSV), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("id,title\r\n1,Task One\r\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/admin/tasks/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.csv\""))
+                .andExpect(content().string("id,title\r\n1,Task One\r\n"));
+    }
+
+    // ✅ Test fetching comments by task ID, newest first by default
     @Test
     void testGetCommentsByTaskId() throws Exception {
-        when(adminService.getCommentsByTaskId(1L)).thenReturn(List.of(comment));
+        when(adminService.getCommentsByTaskId(1L, null, 50, Sort.Direction.DESC))
+                .thenReturn(new CursorPage<>(List.of(comment), null));
 
         mockMvc.perform(get("/api/admin/comments/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(AdminController.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$.size()").value(1));
 
-        verify(adminService, times(1)).getCommentsByTaskId(1L);
+        verify(adminService, times(1)).getCommentsByTaskId(1L, null, 50, Sort.Direction.DESC);
+    }
+
+    // ✅ Test paging comments oldest first from a cursor, with the next cursor in a header
+    @Test
+    void testGetCommentsByTaskId_AscendingFromCursor() throws Exception {
+        when(adminService.getCommentsByTaskId(1L, "1600000000000_2", 1, Sort.Direction.ASC))
+                .thenReturn(new CursorPage<>(List.of(comment), "1600000000000_3"));
+
+        mockMvc.perform(get("/api/admin/comments/1")
+                        .param("cursor", "1600000000000_2")
+                        .param("size", "1")
+                        .param("order", "ASC"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(AdminController.NEXT_CURSOR_HEADER, "1600000000000_3"));
     }
 }
@@ -0,0 +1,71 @@
+package com.demo.controller.auth;
+
+import com.demo.services.auth.AuthService;
+import com.demo.services.jwt.TokenRevocationService;
+
+import io.jsonwebtoken.MalformedJwtException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private AuthService authService; // Mocked service layer
+
+    @Mock
+    private TokenRevocationService tokenRevocationService; // Mocked revocations
+
+    @InjectMocks
+    private AuthController authController; // Controller under test
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(authController).build();
+    }
+
+    // ✅ Test logging out revokes the presented token
+    @Test
+    void testLogout_RevokesToken() throws Exception {
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer valid.jwt.token"))
+                .andExpect(status().isNoContent());
+
+        verify(tokenRevocationService).revokeToken("valid.jwt.token");
+    }
+
+    // ✅ Test logging out with a token that cannot be parsed is rejected
+    @Test
+    void testLogout_UnparseableToken_BadRequest() throws Exception {
+        doThrow(new MalformedJwtException("malformed")).when(tokenRevocationService).revokeToken("not-a-jwt");
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer not-a-jwt"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ✅ Test logging out without a bearer token is rejected
+    @Test
+    void testLogout_MissingToken_BadRequest() throws Exception {
+        mockMvc.perform(post("/api/auth/logout"))
+                .andExpect(status().isBadRequest());
+
+        verify(tokenRevocationService, never()).revokeToken(anyString());
+    }
+}
@@ -1,8 +1,11 @@
 package com.demo.controller.employee;
 
 import com.demo.dao.CommentDao;
+import com.demo.dao.CursorPage;
 import com.demo.dao.TaskDao;
+import com.demo.enums.TaskStatus;
 import com.demo.services.employee.EmployeeService;
+import com.demo.services.stamp.CollectionStampService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -33,6 +37,9 @@ class EmployeeControllerTest {
     @Mock
     private EmployeeService employeeService; // Mocked service layer
 
+    @Mock
+    private CollectionStampService collectionStampService; // Mocked collection stamps
+
     @InjectMocks
     private EmployeeController employeeController; // Controller under test
 
@@ -58,13 +65,29 @@ class EmployeeControllerTest {
     // ✅ Test fetching tasks assigned to the logged-in employee
     @Test
     void testGetTasksByUserId() throws Exception {
-        when(employeeService.getTasksByUserId()).thenReturn(Arrays.asList(dummyTask));
+        when(employeeService.getTasksByUserId(null, null, 50)).thenReturn(new CursorPage<>(Arrays.asList(dummyTask), null));
 
         mockMvc.perform(get("/api/employee/tasks"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$[0].id").value(1L));
 
-        verify(employeeService).getTasksByUserId();
+        verify(employeeService).getTasksByUserId(null, null, 50);
+    }
+
+    // ✅ Test fetching a filtered page returns the next cursor header
+    @Test
+    void testGetTasksByUserId_WithStatusAndCursor() throws Exception {
+        when(employeeService.getTasksByUserId(TaskStatus.PENDING, "1700000000000_9", 1))
+                .thenReturn(new CursorPage<>(Arrays.asList(dummyTask), "1600000000000_1"));
+
+        mockMvc.perform(get("/api/employee/tasks")
+                        .param("status", "PENDING")
+                        .param("cursor", "1700000000000_9")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "1600000000000_1"))
+                .andExpect(jsonPath("$.size()").value(1));
     }
 
     // ✅ Test fetching a specific task by ID
@@ -102,6 +125,20 @@ class EmployeeControllerTest {
         verify(employeeService).updateTask(1L, "INVALID");
     }
 
+    // ✅ Test patching the task status
+    @Test
+    void testUpdateTaskStatus_Patch() throws Exception {
+        dummyTask.setVersion(2L);
+        when(employeeService.updateTaskStatus(1L, TaskStatus.COMPLETED)).thenReturn(dummyTask);
+
+        mockMvc.perform(patch("/api/employee/task/1/status").param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.id").value(1L));
+
+        verify(employeeService).updateTaskStatus(1L, TaskStatus.COMPLETED);
+    }
+
     // ✅ Test adding a comment to a task successfully
     @Test
     void testCreateComment_Success() throws Exception {
@@ -115,6 +152,20 @@ class EmployeeControllerTest {
         verify(employeeService).createComment(1L, "Test comment");
     }
 
+    // ✅ Test a comment accepted for group commit is answered with 202 and no ID
+    @Test
+    void testCreateComment_Accepted() throws Exception {
+        dummyComment.setId(null);
+        when(employeeService.createComment(1L, "Test comment")).thenReturn(dummyComment);
+
+        mockMvc.perform(post("/api/employee/task/comment/1")
+                        .param("content", "Test comment"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").doesNotExist());
+
+        verify(employeeService).createComment(1L, "Test comment");
+    }
+
     // ❌ Test failure to add comment due to bad content
     @Test
     void testCreateComment_Failure() throws Exception {
@@ -131,12 +182,55 @@ class EmployeeControllerTest {
     @Test
     void testGetCommentsByTaskId() throws Exception {
         List<CommentDao> comments = Arrays.asList(dummyComment);
-        when(employeeService.getCommentsByTaskId(1L)).thenReturn(comments);
+        when(employeeService.getCommentsByTaskId(1L, null, 50, Sort.Direction.DESC))
+                .thenReturn(new CursorPage<>(comments, "1600000000000_1"));
 
         mockMvc.perform(get("/api/employee/comments/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "1600000000000_1"))
                 .andExpect(jsonPath("$[0].content").value("Test Comment"));
 
-        verify(employeeService).getCommentsByTaskId(1L);
+        verify(employeeService).getCommentsByTaskId(1L, null, 50, Sort.Direction.DESC);
+    }
+
+    // ✅ Test an unchanged comment thread is answered with 304 without querying
+    @Test
+    void testGetCommentsByTaskId_NotModified() throws Exception {
+        when(collectionStampService.commentListStamp(1L)).thenReturn("a-1");
+        when(employeeService.getCommentsByTaskId(1L, null, 50, Sort.Direction.DESC))
+                .thenReturn(new CursorPage<>(List.of(dummyComment), null));
+
+        String etag = mockMvc.perform(get("/api/employee/comments/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/employee/comments/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        verify(employeeService, times(1)).getCommentsByTaskId(1L, null, 50, Sort.Direction.DESC);
+
+        when(collectionStampService.commentListStamp(1L)).thenReturn("a-2");
+        mockMvc.perform(get("/api/employee/comments/1").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        verify(employeeService, times(2)).getCommentsByTaskId(1L, null, 50, Sort.Direction.DESC);
+    }
+
+    // ✅ Test the task feed ETag depends on the logged-in employee
+    @Test
+    void testGetTasksByUserId_ETagPerEmployee() throws Exception {
+        when(collectionStampService.taskListStamp()).thenReturn("a-1");
+        when(employeeService.getTasksByUserId(null, null, 50)).thenReturn(new CursorPage<>(List.of(dummyTask), null));
+
+        String etag = mockMvc.perform(get("/api/employee/tasks").principal(() -> "john@example.com"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/employee/tasks").principal(() -> "john@example.com").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/employee/tasks").principal(() -> "jane@example.com").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        verify(employeeService, times(2)).getTasksByUserId(null, null, 50);
     }
 }
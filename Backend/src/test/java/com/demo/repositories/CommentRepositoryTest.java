@@ -0,0 +1,124 @@
+package com.demo.repositories;
+
+import com.demo.dao.CommentDao;
+import com.demo.entities.Comment;
+import com.demo.entities.Task;
+import com.demo.entities.User;
+import com.demo.enums.TaskStatus;
+import com.demo.enums.UserRole;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repository tests for CommentRepository projections against an in-memory database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CommentRepositoryTest {
+
+    @Autowired private CommentRepository commentRepository;
+    @Autowired private TestEntityManager entityManager;
+
+    private User author;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        author = new User();
+        author.setName("John Doe");
+        author.setEmail("john@example.com");
+        author.setUserRole(UserRole.EMPLOYEE);
+        entityManager.persist(author);
+
+        task = new Task();
+        task.setTitle("Task");
+        task.setDueDate(new Date());
+        task.setTaskStatus(TaskStatus.PENDING);
+        task.setUser(author);
+        entityManager.persist(task);
+    }
+
+    /**
+     * Test: The first page holds the newest comments with the author joined, in one statement.
+     */
+    @Test
+    void testFindNewestByTaskId_ProjectsNewestFirst() {
+        long base = 1_700_000_000_000L;
+        for (int i = 0; i < 3; i++) {
+            persistComment("Comment " + i, new Date(base + i * 1000L));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CommentDao> comments = commentRepository.findNewestByTaskId(task.getId(), Limit.of(2));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of("Comment 2", "Comment 1"), comments.stream().map(CommentDao::getContent).toList());
+        assertEquals("John Doe", comments.get(0).getPostedBy());
+        assertEquals(task.getId(), comments.get(0).getTaskId());
+        assertEquals(author.getId(), comments.get(0).getUserId());
+    }
+
+    /**
+     * Test: Keyset pages walk the thread in both directions without gaps or repeats,
+     * also across comments created in the same instant.
+     */
+    @Test
+    void testKeysetPages_BothDirectionsAcrossTies() {
+        Date sameInstant = new Date(1_700_000_000_000L);
+        persistComment("A", new Date(sameInstant.getTime() - 1000));
+        persistComment("B", sameInstant);
+        persistComment("C", sameInstant);
+        persistComment("D", sameInstant);
+        persistComment("E", new Date(sameInstant.getTime() + 1000));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<String> newestFirst = new ArrayList<>();
+        List<CommentDao> page = commentRepository.findNewestByTaskId(task.getId(), Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(comment -> newestFirst.add(comment.getContent()));
+            CommentDao last = page.get(page.size() - 1);
+            page = commentRepository.findOlderByTaskId(task.getId(), last.getCreatedAt(), last.getId(), Limit.of(2));
+        }
+        assertEquals(List.of("E", "D", "C", "B", "A"), newestFirst);
+
+        List<String> oldestFirst = new ArrayList<>();
+        page = commentRepository.findOldestByTaskId(task.getId(), Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(comment -> oldestFirst.add(comment.getContent()));
+            CommentDao last = page.get(page.size() - 1);
+            page = commentRepository.findNewerByTaskId(task.getId(), last.getCreatedAt(), last.getId(), Limit.of(2));
+        }
+        assertEquals(List.of("A", "B", "C", "D", "E"), oldestFirst);
+    }
+
+    private void persistComment(String content, Date createdAt) {
+        Comment comment = new Comment();
+        comment.setContent(content);
+        comment.setCreatedAt(createdAt);
+        comment.setTask(task);
+        comment.setUser(author);
+        entityManager.persist(comment);
+    }
+}
@@ -0,0 +1,381 @@
+package com.demo.repositories;
+
+import com.demo.dao.KeysetCursor;
+import com.demo.dao.TaskDao;
+import com.demo.dao.TaskFilter;
+import com.demo.entities.Task;
+import com.demo.entities.User;
+import com.demo.enums.TaskStatus;
+import com.demo.enums.UserRole;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repository tests for TaskRepository queries against an in-memory database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskRepositoryTest {
+
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TestEntityManager entityManager;
+
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = new User();
+        employee.setName("John Doe");
+        employee.setEmail("john@example.com");
+        employee.setUserRole(UserRole.EMPLOYEE);
+        employee = userRepository.save(employee);
+
+        // Five tasks; two share a due date to exercise the ID tie-breaker
+        long base = 1_700_000_000_000L;
+        saveTask("A", new Date(base), TaskStatus.PENDING);
+        saveTask("B", new Date(base + 1000), TaskStatus.COMPLETED);
+        saveTask("C", new Date(base + 1000), TaskStatus.PENDING);
+        saveTask("D", new Date(base + 2000), TaskStatus.COMPLETED);
+        saveTask("E", new Date(base + 3000), TaskStatus.PENDING);
+    }
+
+    /**
+     * Test: Walking the keyset pages returns every task once, in (dueDate, id) descending order.
+     */
+    @Test
+    void testKeysetPagination_WalksAllTasksInOrder() {
+        List<String> titles = new ArrayList<>();
+        List<TaskDao> page = taskRepository.findFirstPage(Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(task -> titles.add(task.getTitle()));
+            TaskDao last = page.get(page.size() - 1);
+            page = taskRepository.findPageAfter(last.getDueDate(), last.getId(), Limit.of(2));
+        }
+
+        assertEquals(List.of("E", "D", "C", "B", "A"), titles);
+    }
+
+    /**
+     * Test: Walking the table in ID batches returns every task once, in ID order.
+     */
+    @Test
+    void testBatchAfterId_WalksAllTasksInIdOrder() {
+        List<Long> ids = new ArrayList<>();
+        List<TaskDao> batch = taskRepository.findBatchAfterId(0L, Limit.of(2));
+        while (!batch.isEmpty()) {
+            batch.forEach(task -> ids.add(task.getId()));
+            batch = taskRepository.findBatchAfterId(batch.get(batch.size() - 1).getId(), Limit.of(2));
+        }
+
+        assertEquals(5, ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    /**
+     * Test: The employee feed pages through one user's tasks, optionally filtered by status.
+     */
+    @Test
+    void testUserKeysetPagination_FiltersByUserAndStatus() {
+        User other = new User();
+        other.setName("Jane Roe");
+        other.setEmail("jane@example.com");
+        other.setUserRole(UserRole.EMPLOYEE);
+        other = userRepository.save(other);
+        Task foreign = new Task();
+        foreign.setTitle("F");
+        foreign.setDueDate(new Date(1_800_000_000_000L));
+        foreign.setTaskStatus(TaskStatus.PENDING);
+        foreign.setUser(other);
+        taskRepository.save(foreign);
+
+        List<String> all = new ArrayList<>();
+        List<TaskDao> page = taskRepository.findUserFirstPage(employee.getId(), Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(task -> all.add(task.getTitle()));
+            TaskDao last = page.get(page.size() - 1);
+            page = taskRepository.findUserPageAfter(employee.getId(), last.getDueDate(), last.getId(), Limit.of(2));
+        }
+        assertEquals(List.of("E", "D", "C", "B", "A"), all);
+
+        List<String> pending = new ArrayList<>();
+        page = taskRepository.findUserFirstPageByStatus(employee.getId(), TaskStatus.PENDING, Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(task -> pending.add(task.getTitle()));
+            TaskDao last = page.get(page.size() - 1);
+            page = taskRepository.findUserPageAfterByStatus(employee.getId(), TaskStatus.PENDING,
+                    last.getDueDate(), last.getId(), Limit.of(2));
+        }
+        assertEquals(List.of("E", "C", "A"), pending);
+    }
+
+    /**
+     * Test: Tasks without a due date come after the dated ones and are reached through the
+     * cursors, in the task list and in the employee feed.
+     */
+    @Test
+    void testKeysetPagination_ReachesUndatedTasks() {
+        saveTask("U1", null, TaskStatus.PENDING);
+        saveTask("U2", null, TaskStatus.PENDING);
+        saveTask("U3", null, TaskStatus.COMPLETED);
+
+        List<String> all = new ArrayList<>();
+        List<TaskDao> page = taskRepository.findFirstPage(Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(task -> all.add(task.getTitle()));
+            KeysetCursor position = lastPosition(page);
+            page = position.timestamp() == null
+                    ? taskRepository.findPageAfterUndated(position.id(), Limit.of(2))
+                    : taskRepository.findPageAfter(position.timestamp(), position.id(), Limit.of(2));
+        }
+        assertEquals(List.of("E", "D", "C", "B", "A", "U3", "U2", "U1"), all);
+
+        List<String> pending = new ArrayList<>();
+        page = taskRepository.findUserFirstPageByStatus(employee.getId(), TaskStatus.PENDING, Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(task -> pending.add(task.getTitle()));
+            KeysetCursor position = lastPosition(page);
+            page = position.timestamp() == null
+                    ? taskRepository.findUserPageAfterUndatedByStatus(employee.getId(), TaskStatus.PENDING,
+                            position.id(), Limit.of(2))
+                    : taskRepository.findUserPageAfterByStatus(employee.getId(), TaskStatus.PENDING,
+                            position.timestamp(), position.id(), Limit.of(2));
+        }
+        assertEquals(List.of("E", "C", "A", "U2", "U1"), pending);
+
+        List<String> feed = new ArrayList<>();
+        page = taskRepository.findUserFirstPage(employee.getId(), Limit.of(3));
+        while (!page.isEmpty()) {
+            page.forEach(task -> feed.add(task.getTitle()));
+            KeysetCursor position = lastPosition(page);
+            page = position.timestamp() == null
+                    ? taskRepository.findUserPageAfterUndated(employee.getId(), position.id(), Limit.of(3))
+                    : taskRepository.findUserPageAfter(employee.getId(), position.timestamp(), position.id(), Limit.of(3));
+        }
+        assertEquals(List.of("E", "D", "C", "B", "A", "U3", "U2", "U1"), feed);
+    }
+
+    /**
+     * Test: Filters combine into one projection query, with a count query only when the page is full.
+     */
+    @Test
+    void testFilterTasks_CombinesCriteriaWithTotalCount() {
+        Statistics statistics = statistics();
+
+        TaskFilter filter = new TaskFilter();
+        filter.setEmployeeId(employee.getId());
+        filter.setStatus(TaskStatus.PENDING);
+        Page<TaskDao> page = taskRepository.filterTasks(filter, PageRequest.of(0, 2));
+        assertEquals(List.of("E", "C"), page.getContent().stream().map(TaskDao::getTitle).toList());
+        assertEquals(3, page.getTotalElements());
+        assertEquals("John Doe", page.getContent().get(0).getEmployeeName());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        filter.setTitle("c");
+        page = taskRepository.filterTasks(filter, PageRequest.of(0, 2));
+        assertEquals(List.of("C"), page.getContent().stream().map(TaskDao::getTitle).toList());
+        assertEquals(1, page.getTotalElements());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        TaskFilter byDue = new TaskFilter();
+        LocalDate day = new Date(1_700_000_001_000L).toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        byDue.setDueFrom(day);
+        byDue.setDueTo(day);
+        byDue.setStatus(TaskStatus.COMPLETED);
+        page = taskRepository.filterTasks(byDue, PageRequest.of(0, 10));
+        assertEquals(List.of("D", "B"), page.getContent().stream().map(TaskDao::getTitle).toList());
+    }
+
+    /**
+     * Test: Task lists are projected with the assignee joined in a single statement.
+     */
+    @Test
+    void testListProjections_SingleStatementRegardlessOfSize() {
+        Statistics statistics = statistics();
+
+        List<TaskDao> byUser = taskRepository.findUserFirstPage(employee.getId(), Limit.of(10));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(5, byUser.size());
+        assertEquals("John Doe", byUser.get(0).getEmployeeName());
+        assertEquals("E", byUser.get(0).getTitle());
+        assertEquals(0L, byUser.get(0).getVersion());
+
+        statistics.clear();
+        List<TaskDao> byIds = taskRepository.findAllTaskDaoByIdIn(List.of(byUser.get(0).getId(), byUser.get(1).getId()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, byIds.size());
+        assertEquals(employee.getId(), byIds.get(0).getEmployeeId());
+
+        statistics.clear();
+        taskRepository.findFirstPage(Limit.of(3));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * Test: Saving many tasks takes pooled IDs and flushes the inserts as JDBC batches.
+     */
+    @Test
+    void testSaveAll_BatchesInsertsWithPooledIds() {
+        Statistics statistics = statistics();
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Task task = new Task();
+            task.setTitle("Bulk " + i);
+            task.setDueDate(new Date(1_900_000_000_000L + i));
+            task.setTaskStatus(TaskStatus.PENDING);
+            task.setUser(entityManager.getEntityManager().getReference(User.class, employee.getId()));
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertEquals(120, tasks.stream().map(Task::getId).distinct().count());
+        // Batched inserts reuse one prepared statement; unbatched, every row would prepare its own
+        assertTrue(statistics.getPrepareStatementCount() <= 5,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test: Status changes by ID run as one UPDATE that skips tasks already in the status and bumps versions.
+     */
+    @Test
+    void testUpdateStatusByIdIn_SingleStatement() {
+        List<TaskDao> tasks = taskRepository.findUserFirstPage(employee.getId(), Limit.of(10));
+        List<Long> ids = tasks.stream().map(TaskDao::getId).toList();
+        Statistics statistics = statistics();
+
+        assertEquals(3, taskRepository.updateStatusByIdIn(ids, TaskStatus.COMPLETED));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        for (TaskDao task : taskRepository.findAllTaskDaoByIdIn(ids)) {
+            assertEquals(TaskStatus.COMPLETED, task.getTaskStatus());
+            boolean wasPending = List.of("A", "C", "E").contains(task.getTitle());
+            assertEquals(wasPending ? 1L : 0L, task.getVersion());
+        }
+    }
+
+    /**
+     * Test: Status changes by filter lock and update only the matching tasks, in two statements.
+     */
+    @Test
+    void testUpdateStatusByFilter_SingleStatement() {
+        TaskFilter filter = new TaskFilter();
+        filter.setEmployeeId(employee.getId());
+        filter.setStatus(TaskStatus.PENDING);
+        filter.setTitle("c");
+        Statistics statistics = statistics();
+
+        assertEquals(1, taskRepository.updateStatus(filter, TaskStatus.DEFERRED));
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        TaskFilter deferred = new TaskFilter();
+        deferred.setStatus(TaskStatus.DEFERRED);
+        assertEquals(List.of("C"), taskRepository.filterTasks(deferred, PageRequest.of(0, 10)).getContent()
+                .stream().map(TaskDao::getTitle).toList());
+    }
+
+    /**
+     * Test: Reassignment locks and moves only open tasks, in two statements.
+     */
+    @Test
+    void testReassignTasks_MovesOpenTasksOnly() {
+        User other = new User();
+        other.setName("Jane Roe");
+        other.setEmail("jane@example.com");
+        other.setUserRole(UserRole.EMPLOYEE);
+        other = userRepository.save(other);
+        Statistics statistics = statistics();
+
+        assertEquals(3, taskRepository.reassignTasks(
+                entityManager.getEntityManager().getReference(User.class, employee.getId()),
+                entityManager.getEntityManager().getReference(User.class, other.getId()), TaskStatus.OPEN));
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        assertEquals(List.of("E", "C", "A"), taskRepository.findUserFirstPage(other.getId(), Limit.of(10))
+                .stream().map(TaskDao::getTitle).toList());
+        assertEquals(List.of("D", "B"), taskRepository.findUserFirstPage(employee.getId(), Limit.of(10))
+                .stream().map(TaskDao::getTitle).toList());
+    }
+
+    /**
+     * Test: Counting a comment is one statement that keeps the latest comment time and the
+     * row version, and a later entity update does not write back a stale count.
+     */
+    @Test
+    void testRecordComment_CountsWithoutVersionBump() {
+        Long id = taskRepository.findUserFirstPage(employee.getId(), Limit.of(1)).get(0).getId();
+        Date later = new Date(1_700_000_100_000L);
+        Date earlier = new Date(1_700_000_000_000L);
+
+        Statistics statistics = statistics();
+
+        assertEquals(1, taskRepository.recordComment(id, later));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, taskRepository.recordComment(id, earlier));
+        assertEquals(0, taskRepository.recordComment(Long.MAX_VALUE, later));
+
+        TaskDao counted = taskRepository.findTaskDaoById(id).orElseThrow();
+        assertEquals(2L, counted.getCommentCount());
+        assertEquals(later.getTime(), counted.getLastCommentAt().getTime());
+        assertEquals(0L, counted.getVersion());
+
+        Task task = taskRepository.findById(id).orElseThrow();
+        task.setTitle("Renamed");
+        taskRepository.saveAndFlush(task);
+        taskRepository.recordComment(id, later);
+        assertEquals(3L, taskRepository.findTaskDaoById(id).orElseThrow().getCommentCount());
+    }
+
+    /**
+     * Flushes pending inserts, detaches everything and resets Hibernate statistics.
+     */
+    private Statistics statistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    /**
+     * Round-trips the position of the last task of a page through its cursor string.
+     */
+    private static KeysetCursor lastPosition(List<TaskDao> page) {
+        TaskDao last = page.get(page.size() - 1);
+        return KeysetCursor.parse(KeysetCursor.encode(last.getDueDate(), last.getId()));
+    }
+
+    private void saveTask(String title, Date dueDate, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDueDate(dueDate);
+        task.setTaskStatus(status);
+        task.setUser(employee);
+        taskRepository.save(task);
+    }
+}
@@ -0,0 +1,132 @@
+package com.demo.repositories;
+
+import com.demo.dao.EmployeeSummary;
+import com.demo.dao.Suggestion;
+import com.demo.entities.Task;
+import com.demo.entities.User;
+import com.demo.enums.TaskStatus;
+import com.demo.enums.UserRole;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repository tests for the UserRepository employee directory and typeahead
+ * projection against an in-memory database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserRepositoryTest {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        User alice = saveUser("Dir Alice", UserRole.EMPLOYEE);
+        User bob = saveUser("Dir Bob", UserRole.EMPLOYEE);
+        saveUser("Dir Carol", UserRole.EMPLOYEE);
+        saveUser("Dir Admin", UserRole.ADMIN);
+        saveUser("Dir 100%_done", UserRole.EMPLOYEE);
+
+        saveTask(alice, TaskStatus.PENDING);
+        saveTask(alice, TaskStatus.INPROGRESS);
+        saveTask(alice, TaskStatus.COMPLETED);
+        saveTask(bob, TaskStatus.DEFERRED);
+        saveTask(bob, TaskStatus.CANCELLED);
+    }
+
+    /**
+     * Test: The directory lists employees by name with open task counts, in one
+     * statement per page plus the count, without loading any entity.
+     */
+    @Test
+    void testFindDirectory_CountsOpenTasksInOneQuery() {
+        Statistics statistics = statistics();
+
+        Page<EmployeeSummary> page = userRepository.findDirectory(UserRole.EMPLOYEE, "dir ", PageRequest.of(0, 3));
+
+        assertEquals(List.of("Dir 100%_done", "Dir Alice", "Dir Bob"),
+                page.getContent().stream().map(EmployeeSummary::getName).toList());
+        assertEquals(List.of(0L, 2L, 1L), page.getContent().stream().map(EmployeeSummary::getOpenTaskCount).toList());
+        assertEquals(4, page.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        Page<EmployeeSummary> last = userRepository.findDirectory(UserRole.EMPLOYEE, "DIR", PageRequest.of(1, 3));
+        assertEquals(List.of("Dir Carol"), last.getContent().stream().map(EmployeeSummary::getName).toList());
+        assertEquals(0L, last.getContent().get(0).getOpenTaskCount());
+    }
+
+    /**
+     * Test: LIKE wildcards in the name term are matched literally.
+     */
+    @Test
+    void testFindDirectory_EscapesWildcards() {
+        Page<EmployeeSummary> page = userRepository.findDirectory(UserRole.EMPLOYEE, "0%_", PageRequest.of(0, 10));
+
+        assertEquals(List.of("Dir 100%_done"), page.getContent().stream().map(EmployeeSummary::getName).toList());
+        assertEquals(0, userRepository.findDirectory(UserRole.EMPLOYEE, "a_i", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    /**
+     * Test: The typeahead projection returns the ID and name of the role's users only,
+     * without loading any entity.
+     */
+    @Test
+    void testFindSuggestionsByUserRole_ProjectsIdAndName() {
+        Statistics statistics = statistics();
+
+        List<String> names = userRepository.findSuggestionsByUserRole(UserRole.EMPLOYEE).stream()
+                .map(Suggestion::getText)
+                .filter(name -> name.startsWith("Dir "))
+                .sorted()
+                .toList();
+
+        assertEquals(List.of("Dir 100%_done", "Dir Alice", "Dir Bob", "Dir Carol"), names);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private Statistics statistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private User saveUser(String name, UserRole role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name.replaceAll("[^A-Za-z0-9]", "").toLowerCase() + "@example.com");
+        user.setUserRole(role);
+        return userRepository.save(user);
+    }
+
+    private void saveTask(User user, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setDueDate(new Date());
+        task.setTaskStatus(status);
+        task.setUser(user);
+        taskRepository.save(task);
+    }
+}
@@ -0,0 +1,193 @@
+package com.demo.services;
+
+import com.demo.dao.TaskDao;
+import com.demo.entities.Task;
+import com.demo.entities.User;
+import com.demo.enums.TaskStatus;
+import com.demo.enums.UserRole;
+import com.demo.exceptions.TaskConflictException;
+import com.demo.repositories.TaskRepository;
+import com.demo.repositories.UserRepository;
+import com.demo.services.admin.AdminServiceImpl;
+import com.demo.services.cache.TaskCacheService;
+import com.demo.services.comment.CommentIngestService;
+import com.demo.services.employee.EmployeeServiceImpl;
+import com.demo.services.search.TaskSearchService;
+import com.demo.utils.JwtUtil;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers one task from several threads, each in its own transactions, and
+ * checks that no committed update is lost: every edit is present in the final
+ * row and the version counts every successful write.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AdminServiceImpl.class, EmployeeServiceImpl.class})
+class TaskConcurrencyTest {
+
+    private static final int EDITORS = 4;
+    private static final int EDITS_PER_EDITOR = 25;
+    private static final int STATUS_WRITERS = 2;
+    private static final int STATUS_CHANGES_PER_WRITER = 25;
+
+    @Autowired private AdminServiceImpl adminService;
+    @Autowired private EmployeeServiceImpl employeeService;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private UserRepository userRepository;
+
+    @MockitoBean private JwtUtil jwtUtil;
+    @MockitoBean private TaskSearchService taskSearchService;
+    @MockitoBean private TaskCacheService taskCacheService;
+    @MockitoBean private CommentIngestService commentIngestService;
+
+    private User employee;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        employee = new User();
+        employee.setName("John Doe");
+        employee.setEmail("concurrency@example.com");
+        employee.setUserRole(UserRole.EMPLOYEE);
+        employee = userRepository.save(employee);
+
+        task = new Task();
+        task.setTitle("Hot task");
+        task.setDescription("");
+        task.setDueDate(new Date());
+        task.setTaskStatus(TaskStatus.PENDING);
+        task.setUser(employee);
+        task = taskRepository.save(task);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteById(task.getId());
+        userRepository.deleteById(employee.getId());
+    }
+
+    /**
+     * Test: Editors append to the description with read-modify-write cycles,
+     * alternating PATCH and PUT and retrying on 409, while status writers change
+     * the status through the employee endpoint and through status-only patches
+     * with a stale version. Every append survives and every write is counted.
+     */
+    @Test
+    void testConcurrentWrites_NoLostUpdates() throws Exception {
+        AtomicInteger writes = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Callable<Void>> workers = new ArrayList<>();
+
+        for (int e = 0; e < EDITORS; e++) {
+            String mark = String.valueOf((char) ('a' + e));
+            workers.add(() -> {
+                for (int i = 0; i < EDITS_PER_EDITOR; i++) {
+                    while (true) {
+                        TaskDao seen = taskRepository.findTaskDaoById(task.getId()).orElseThrow();
+                        try {
+                            if (i % 2 == 0) {
+                                TaskDao changes = new TaskDao();
+                                changes.setDescription(seen.getDescription() + mark);
+                                changes.setVersion(seen.getVersion());
+                                adminService.patchTask(task.getId(), changes);
+                            } else {
+                                seen.setDescription(seen.getDescription() + mark);
+                                adminService.updateTask(task.getId(), seen);
+                            }
+                            writes.incrementAndGet();
+                            break;
+                        } catch (TaskConflictException ex) {
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        for (int w = 0; w < STATUS_WRITERS; w++) {
+            boolean viaPatch = w % 2 == 0;
+            workers.add(() -> {
+                for (int i = 0; i < STATUS_CHANGES_PER_WRITER; i++) {
+                    TaskStatus status = i % 2 == 0 ? TaskStatus.INPROGRESS : TaskStatus.PENDING;
+                    if (viaPatch) {
+                        TaskDao changes = new TaskDao();
+                        changes.setTaskStatus(status);
+                        changes.setVersion(0L);
+                        try {
+                            adminService.patchTask(task.getId(), changes);
+                            writes.incrementAndGet();
+                        } catch (TaskConflictException ex) {
+                            conflicts.incrementAndGet();
+                        }
+                    } else {
+                        employeeService.updateTaskStatus(task.getId(), status);
+                        writes.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        runTogether(workers);
+
+        TaskDao result = taskRepository.findTaskDaoById(task.getId()).orElseThrow();
+        for (int e = 0; e < EDITORS; e++) {
+            char mark = (char) ('a' + e);
+            assertEquals(EDITS_PER_EDITOR, result.getDescription().chars().filter(c -> c == mark).count(),
+                    "edits of editor " + mark);
+        }
+        assertEquals("Hot task", result.getTitle());
+        assertEquals(task.getVersion() + writes.get(), result.getVersion());
+        assertTrue(writes.get() >= EDITORS * EDITS_PER_EDITOR + STATUS_CHANGES_PER_WRITER,
+                "writes: " + writes.get() + ", conflicts: " + conflicts.get());
+    }
+
+    /**
+     * Starts all workers at once and waits for them, rethrowing the first failure.
+     */
+    private static void runTogether(List<Callable<Void>> workers) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(workers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> worker : workers) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return worker.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.demo.services;
+
+import com.demo.dao.CommentDao;
+import com.demo.dao.TaskDao;
+import com.demo.entities.Task;
+import com.demo.entities.User;
+import com.demo.enums.TaskStatus;
+import com.demo.enums.UserRole;
+import com.demo.repositories.TaskRepository;
+import com.demo.repositories.UserRepository;
+import com.demo.services.admin.AdminServiceImpl;
+import com.demo.services.cache.TaskCacheService;
+import com.demo.services.comment.CommentIngestService;
+import com.demo.services.employee.EmployeeServiceImpl;
+import com.demo.services.search.TaskSearchService;
+import com.demo.utils.JwtUtil;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import javax.sql.DataSource;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the SQL statements issued by the task and comment writes of the admin
+ * and employee services, starting from an empty persistence context. Tests that
+ * run without a surrounding transaction commit their data and delete it again.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AdminServiceImpl.class, EmployeeServiceImpl.class})
+class WriteStatementCountTest {
+
+    @Autowired private AdminServiceImpl adminService;
+    @Autowired private EmployeeServiceImpl employeeService;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private DataSource dataSource;
+
+    @MockitoBean private JwtUtil jwtUtil;
+    @MockitoBean private TaskSearchService taskSearchService;
+    @MockitoBean private TaskCacheService taskCacheService;
+    @MockitoBean private CommentIngestService commentIngestService;
+
+    private User employee;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        employee = new User();
+        employee.setName("John Doe");
+        employee.setEmail("john@example.com");
+        employee.setUserRole(UserRole.EMPLOYEE);
+        employee = userRepository.save(employee);
+
+        task = new Task();
+        task.setTitle("Write report");
+        task.setDueDate(new Date());
+        task.setTaskStatus(TaskStatus.PENDING);
+        task.setUser(employee);
+        task = taskRepository.save(task);
+    }
+
+    /**
+     * Test: A status change is one UPDATE plus the projection read, with no entity loads.
+     */
+    @Test
+    void testEmployeeStatusChange_UpdateAndProjection() {
+        Statistics statistics = statistics();
+
+        TaskDao updated = employeeService.updateTaskStatus(task.getId(), TaskStatus.COMPLETED);
+
+        assertEquals(TaskStatus.COMPLETED, updated.getTaskStatus());
+        assertEquals("John Doe", updated.getEmployeeName());
+        assertEquals(task.getVersion() + 1, updated.getVersion());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * Test: The status change by name, as the employee controller calls it, opens its own
+     * transaction for the native update.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testEmployeeStatusChangeByName_WithoutCallerTransaction() {
+        try {
+            TaskDao updated = employeeService.updateTask(task.getId(), "COMPLETED");
+
+            assertEquals(TaskStatus.COMPLETED, updated.getTaskStatus());
+            assertEquals("John Doe", updated.getEmployeeName());
+            assertEquals(TaskStatus.COMPLETED, taskRepository.findById(task.getId()).orElseThrow().getTaskStatus());
+        } finally {
+            deleteCommitted();
+        }
+    }
+
+    /**
+     * Test: A task created without a surrounding transaction takes its assignee from the
+     * second-level cache and costs the INSERT alone; the ID comes from the pooled generator.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testAdminCreate_CachedAssigneeAndInsert() {
+        try {
+            userRepository.findById(employee.getId());
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            TaskDao created = adminService.createTask(task.getTaskDao());
+
+            assertNotNull(created.getId());
+            assertEquals("John Doe", created.getEmployeeName());
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertEquals(1, statistics.getEntityInsertCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+
+            TaskDao unknownEmployee = task.getTaskDao();
+            unknownEmployee.setEmployeeId(Long.MAX_VALUE);
+            assertNull(adminService.createTask(unknownEmployee));
+        } finally {
+            deleteCommitted();
+        }
+    }
+
+    /**
+     * Test: A patch writes only the given fields in one UPDATE, plus the projection read.
+     */
+    @Test
+    void testAdminPatch_UpdateAndProjection() {
+        Statistics statistics = statistics();
+
+        TaskDao changes = new TaskDao();
+        changes.setTitle("Write final report");
+        changes.setEmployeeId(employee.getId());
+        TaskDao patched = adminService.patchTask(task.getId(), changes);
+
+        assertEquals("Write final report", patched.getTitle());
+        assertEquals(TaskStatus.PENDING, patched.getTaskStatus());
+        assertNotNull(patched.getDueDate());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        assertNull(adminService.patchTask(Long.MAX_VALUE, changes));
+    }
+
+    /**
+     * Test: A full update loads the task with its assignee and writes it back in one UPDATE;
+     * the result is built from the managed entity.
+     */
+    @Test
+    void testAdminUpdate_LoadAndUpdate() {
+        Statistics statistics = statistics();
+
+        TaskDao changes = task.getTaskDao();
+        changes.setTitle("Write final report");
+        changes.setTaskStatus(TaskStatus.COMPLETED);
+        TaskDao updated = adminService.updateTask(task.getId(), changes);
+
+        assertEquals("Write final report", updated.getTitle());
+        assertEquals("John Doe", updated.getEmployeeName());
+        assertEquals(task.getVersion() + 1, updated.getVersion());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+    }
+
+    /**
+     * Test: A comment is inserted with task and author references next to the task's counter
+     * update; neither the task nor the author is loaded.
+     */
+    @Test
+    void testCreateComment_InsertsWithReferences() {
+        when(jwtUtil.getLoggedInUserId()).thenReturn(employee.getId());
+        when(jwtUtil.getLoggedInUserName()).thenReturn(employee.getName());
+        Statistics statistics = statistics();
+
+        CommentDao comment = employeeService.createComment(task.getId(), "Done");
+
+        assertEquals(task.getId(), comment.getTaskId());
+        assertEquals("John Doe", comment.getPostedBy());
+        // The counter update and the insert
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1L, taskRepository.findTaskDaoById(task.getId()).orElseThrow().getCommentCount());
+    }
+
+    /**
+     * Flushes pending inserts, detaches everything and resets Hibernate statistics.
+     */
+    private Statistics statistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    /**
+     * Deletes the employee and their tasks committed by a test without a transaction.
+     */
+    private void deleteCommitted() {
+        new JdbcTemplate(dataSource).update("delete from task where user_id = ?", employee.getId());
+        userRepository.deleteById(employee.getId());
+    }
+}
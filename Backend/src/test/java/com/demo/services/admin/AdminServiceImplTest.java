@@ -1,8 +1,12 @@
 package com.demo.services.admin;
 
+import com.demo.dao.BulkTaskResult;
 import com.demo.dao.CommentDao;
+import com.demo.dao.CursorPage;
+import com.demo.dao.EmployeeSummary;
+import com.demo.dao.KeysetCursor;
 import com.demo.dao.TaskDao;
-import com.demo.dao.UserDto;
+import com.demo.dao.TaskFilter;
 import com.demo.entities.Comment;
 import com.demo.entities.Task;
 import com.demo.entities.User;
@@ -10,17 +14,39 @@ import com.demo.enums.TaskStatus;
 import com.demo.enums.UserRole;
 import com.demo.repositories.CommentRepository;
 import com.demo.repositories.TaskRepository;
+import com.demo.events.CommentChangedEvent;
+import com.demo.events.TaskChangedEvent;
+import com.demo.events.TasksBulkUpdatedEvent;
+import com.demo.exceptions.TaskConflictException;
 import com.demo.repositories.UserRepository;
+import com.demo.services.cache.TaskCacheService;
+import com.demo.services.comment.CommentIngestService;
+import com.demo.services.search.TaskSearchService;
 import com.demo.utils.JwtUtil;
 
+import jakarta.persistence.EntityNotFoundException;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +63,13 @@ class AdminServiceImplTest {
     @Mock private TaskRepository taskRepository;
     @Mock private CommentRepository commentRepository;
     @Mock private JwtUtil jwtUtil;
+    @Mock private TaskSearchService taskSearchService;
+    @Mock private TaskCacheService taskCacheService;
+    @Mock private CommentIngestService commentIngestService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    // Runs callbacks directly; the mocked manager begins and commits nothing
+    @Spy private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
 
     // Inject mocks into AdminServiceImpl
     @InjectMocks
@@ -69,18 +102,16 @@ class AdminServiceImplTest {
     }
 
     /**
-     * Test: Fetch all users and return only EMPLOYEES as DTOs.
+     * Test: The employee directory comes from the role-filtered projection with a clamped page.
      */
     @Test
-    void testGetUsers_ReturnsListOfEmployees() {
-        User admin = new User();
-        admin.setUserRole(UserRole.ADMIN);
-
-        when(userRepository.findAll()).thenReturn(List.of(employee, admin));
-        List<UserDto> result = adminService.getUsers();
+    void testGetUsers_ReturnsEmployeeDirectoryPage() {
+        Page<EmployeeSummary> expected = new PageImpl<>(List.of(new EmployeeSummary(1L, "John Doe", "john@example.com", 2L)));
+        when(userRepository.findDirectory(UserRole.EMPLOYEE, "john", PageRequest.of(0, CursorPage.MAX_PAGE_SIZE)))
+                .thenReturn(expected);
 
-        assertEquals(1, result.size());
-        assertEquals("John Doe", result.get(0).getName());
+        assertSame(expected, adminService.getUsers("john", -1, 10_000));
+        verify(userRepository, never()).findAll();
     }
 
     /**
@@ -101,40 +132,127 @@ class AdminServiceImplTest {
 
         assertNotNull(result);
         assertEquals("Test Task", result.getTitle());
+        assertEquals(employee.getName(), result.getEmployeeName());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.saved(result));
     }
 
     /**
-     * Test: Creating a task should return null if user not found.
+     * Test: Creating a task should return null if user not found, without inserting.
      */
     @Test
     void testCreateTask_UserNotFound() {
         TaskDao taskDao = task.getTaskDao();
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findById(employee.getId())).thenReturn(Optional.empty());
 
         TaskDao result = adminService.createTask(taskDao);
 
         assertNull(result);
+        verify(taskRepository, never()).save(any(Task.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Test: Bulk creation resolves assignees in one lookup, saves the valid tasks together and
+     * reports the rejected items in request order.
+     */
+    @Test
+    void testCreateTasks_ReportsPerItemResults() {
+        TaskDao valid = task.getTaskDao();
+        TaskDao unknownEmployee = task.getTaskDao();
+        unknownEmployee.setEmployeeId(99L);
+        TaskDao noEmployee = task.getTaskDao();
+        noEmployee.setEmployeeId(null);
+
+        when(userRepository.findAllById(List.of(1L, 99L))).thenReturn(List.of(employee));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            long id = 100;
+            for (Task saved : tasks) {
+                saved.setId(id++);
+            }
+            return tasks;
+        });
+
+        List<BulkTaskResult> results = adminService.createTasks(List.of(valid, unknownEmployee, noEmployee, valid));
+
+        assertEquals(List.of(
+                BulkTaskResult.created(0, 100L),
+                BulkTaskResult.rejected(1, "Employee not found: 99"),
+                BulkTaskResult.rejected(2, "employeeId is required"),
+                BulkTaskResult.created(3, 101L)), results);
+        verify(userRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher, times(2)).publishEvent(any(TaskChangedEvent.class));
     }
 
     /**
-     * Test: Retrieve all tasks sorted by due date descending.
+     * Test: Empty and oversized bulk requests are rejected before touching the database.
      */
     @Test
-    void testGetAllTasks_ReturnsSortedList() {
+    void testCreateTasks_RejectsEmptyAndOversizedRequests() {
+        assertThrows(IllegalArgumentException.class, () -> adminService.createTasks(List.of()));
+        List<TaskDao> tooMany = Collections.nCopies(BulkTaskResult.MAX_ITEMS + 1, task.getTaskDao());
+        assertThrows(IllegalArgumentException.class, () -> adminService.createTasks(tooMany));
+        verifyNoInteractions(userRepository, taskRepository);
+    }
+
+    /**
+     * Test: First page of tasks comes from the ordered keyset query.
+     */
+    @Test
+    void testGetAllTasks_FirstPage() {
         Task task2 = new Task();
         task2.setId(2L);
         task2.setTitle("Another Task");
         task2.setDueDate(new Date(System.currentTimeMillis() + 86400000)); // +1 day
         task2.setUser(employee); // prevent NullPointerException
 
-        task.setUser(employee);
+        when(taskRepository.findFirstPage(Limit.of(2))).thenReturn(List.of(task2.getTaskDao(), task.getTaskDao()));
+
+        CursorPage<TaskDao> page = adminService.getAllTasks(null, 2);
 
-        when(taskRepository.findAll()).thenReturn(List.of(task2, task));
+        assertEquals(2, page.getItems().size());
+        assertEquals("Another Task", page.getItems().get(0).getTitle()); // Order preserved from DB
+        assertEquals(task.getDueDate().getTime() + "_1", page.getNextCursor());
+    }
+
+    /**
+     * Test: Following pages use the cursor and the last page has no next cursor.
+     */
+    @Test
+    void testGetAllTasks_NextPage() {
+        Date dueDate = new Date(1_700_000_000_000L);
+        when(taskRepository.findPageAfter(dueDate, 5L, Limit.of(2))).thenReturn(List.of(task.getTaskDao()));
+
+        CursorPage<TaskDao> page = adminService.getAllTasks("1700000000000_5", 2);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+        verify(taskRepository, never()).findAll();
+    }
+
+    /**
+     * Test: A full page ending in an undated task gets a cursor that continues among the
+     * undated tasks.
+     */
+    @Test
+    void testGetAllTasks_UndatedTasks() {
+        task.setDueDate(null);
+        when(taskRepository.findPageAfterUndated(9L, Limit.of(1))).thenReturn(List.of(task.getTaskDao()));
 
-        List<TaskDao> tasks = adminService.getAllTasks();
+        CursorPage<TaskDao> page = adminService.getAllTasks("null_9", 1);
 
-        assertEquals(2, tasks.size());
-        assertEquals("Another Task", tasks.get(0).getTitle()); // Sorted by dueDate DESC
+        assertEquals(1, page.getItems().size());
+        assertEquals("null_1", page.getNextCursor());
+        verify(taskRepository, never()).findPageAfter(any(), anyLong(), any());
+    }
+
+    /**
+     * Test: A malformed cursor is rejected.
+     */
+    @Test
+    void testGetAllTasks_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> adminService.getAllTasks("garbage", 2));
     }
 
     /**
@@ -147,6 +265,7 @@ class AdminServiceImplTest {
         adminService.deleteTask(1L);
 
         verify(taskRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(TaskChangedEvent.deleted(1L));
     }
 
     /**
@@ -154,7 +273,7 @@ class AdminServiceImplTest {
      */
     @Test
     void testGetTaskById_ReturnsTaskDao() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskCacheService.getTaskById(1L)).thenReturn(task.getTaskDao());
 
         TaskDao result = adminService.getTaskById(1L);
 
@@ -170,14 +289,225 @@ class AdminServiceImplTest {
         TaskDao updatedDao = task.getTaskDao();
         updatedDao.setTitle("Updated Title");
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userRepository.findById(employee.getId())).thenReturn(Optional.of(employee));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskRepository.findWithUserById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         TaskDao result = adminService.updateTask(1L, updatedDao);
 
         assertNotNull(result);
         assertEquals("Updated Title", result.getTitle());
+        verify(userRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).findTaskDaoById(anyLong());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.saved(result));
+    }
+
+    /**
+     * Test: An update that hands the task to an unknown employee writes nothing.
+     */
+    @Test
+    void testUpdateTask_UnknownEmployee_ReturnsNull() {
+        TaskDao updatedDao = task.getTaskDao();
+        updatedDao.setEmployeeId(99L);
+        when(taskRepository.findWithUserById(1L)).thenReturn(Optional.of(task));
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertNull(adminService.updateTask(1L, updatedDao));
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Test: An update based on an older version is rejected with the current task, without writing.
+     */
+    @Test
+    void testUpdateTask_StaleVersion_Conflict() {
+        TaskDao updatedDao = task.getTaskDao();
+        updatedDao.setVersion(0L);
+        task.setVersion(1L);
+        when(taskRepository.findWithUserById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findTaskDaoById(1L)).thenReturn(Optional.of(task.getTaskDao()));
+
+        TaskConflictException conflict = assertThrows(TaskConflictException.class,
+                () -> adminService.updateTask(1L, updatedDao));
+
+        assertEquals(1L, conflict.getCurrent().getVersion());
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Test: A write that commits between the load and the save turns the save into a conflict.
+     */
+    @Test
+    void testUpdateTask_ConcurrentWrite_Conflict() {
+        TaskDao updatedDao = task.getTaskDao();
+        TaskDao current = task.getTaskDao();
+        current.setVersion(5L);
+        when(taskRepository.findWithUserById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+        when(taskRepository.findTaskDaoById(1L)).thenReturn(Optional.of(current));
+
+        TaskConflictException conflict = assertThrows(TaskConflictException.class,
+                () -> adminService.updateTask(1L, updatedDao));
+
+        assertEquals(5L, conflict.getCurrent().getVersion());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Test: A patch runs one targeted update with an assignee reference and returns the projection.
+     */
+    @Test
+    void testPatchTask_Success() {
+        TaskDao changes = new TaskDao();
+        changes.setTaskStatus(TaskStatus.COMPLETED);
+        changes.setEmployeeId(employee.getId());
+        task.setTaskStatus(TaskStatus.COMPLETED);
+        task.setVersion(1L);
+        when(userRepository.getReferenceById(employee.getId())).thenReturn(employee);
+        when(taskRepository.patchTask(1L, changes, employee, null)).thenReturn(1);
+        when(taskRepository.findTaskDaoById(1L)).thenReturn(Optional.of(task.getTaskDao()));
+
+        TaskDao result = adminService.patchTask(1L, changes);
+
+        assertEquals(TaskStatus.COMPLETED, result.getTaskStatus());
+        assertEquals(1L, result.getVersion());
+        verify(taskRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.saved(result));
+    }
+
+    /**
+     * Test: Patching a missing task returns null without publishing an event.
+     */
+    @Test
+    void testPatchTask_NotFound() {
+        TaskDao changes = new TaskDao();
+        changes.setTitle("New title");
+        when(taskRepository.patchTask(1L, changes, null, null)).thenReturn(0);
+        when(taskRepository.findTaskDaoById(1L)).thenReturn(Optional.empty());
+
+        assertNull(adminService.patchTask(1L, changes));
+        verifyNoInteractions(eventPublisher, userRepository);
+    }
+
+    /**
+     * Test: A patch of other fields based on an older version is rejected once, without retrying.
+     */
+    @Test
+    void testPatchTask_StaleVersion_Conflict() {
+        TaskDao changes = new TaskDao();
+        changes.setTitle("New title");
+        changes.setVersion(1L);
+        task.setVersion(2L);
+        when(taskRepository.patchTask(1L, changes, null, 1L)).thenReturn(0);
+        when(taskRepository.findTaskDaoById(1L)).thenReturn(Optional.of(task.getTaskDao()));
+
+        TaskConflictException conflict = assertThrows(TaskConflictException.class,
+                () -> adminService.patchTask(1L, changes));
+
+        assertEquals(2L, conflict.getCurrent().getVersion());
+        verify(taskRepository).patchTask(anyLong(), any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Test: A status-only patch that loses a version race is reapplied on the current version.
+     */
+    @Test
+    void testPatchTask_StatusOnly_RetriedOnCurrentVersion() {
+        TaskDao changes = new TaskDao();
+        changes.setTaskStatus(TaskStatus.COMPLETED);
+        changes.setVersion(1L);
+        TaskDao current = task.getTaskDao();
+        current.setVersion(2L);
+        TaskDao patched = task.getTaskDao();
+        patched.setTaskStatus(TaskStatus.COMPLETED);
+        patched.setVersion(3L);
+        when(taskRepository.patchTask(1L, changes, null, 1L)).thenReturn(0);
+        when(taskRepository.patchTask(1L, changes, null, 2L)).thenReturn(1);
+        when(taskRepository.findTaskDaoById(1L)).thenReturn(Optional.of(current), Optional.of(patched));
+
+        TaskDao result = adminService.patchTask(1L, changes);
+
+        assertEquals(3L, result.getVersion());
+        assertEquals(1L, changes.getVersion());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.saved(patched));
+    }
+
+    /**
+     * Test: A status-only patch gives up with a conflict after the maximum number of attempts.
+     */
+    @Test
+    void testPatchTask_StatusOnly_GivesUpAfterMaxAttempts() {
+        TaskDao changes = new TaskDao();
+        changes.setTaskStatus(TaskStatus.COMPLETED);
+        changes.setVersion(1L);
+        when(taskRepository.patchTask(eq(1L), eq(changes), isNull(), anyLong())).thenReturn(0);
+        when(taskRepository.findTaskDaoById(1L)).thenAnswer(invocation -> {
+            TaskDao current = task.getTaskDao();
+            current.setVersion(task.getVersion() == null ? 2L : task.getVersion() + 1);
+            task.setVersion(current.getVersion());
+            return Optional.of(current);
+        });
+
+        assertThrows(TaskConflictException.class, () -> adminService.patchTask(1L, changes));
+
+        verify(taskRepository, times(AdminServiceImpl.MAX_PATCH_ATTEMPTS)).patchTask(eq(1L), eq(changes), isNull(), anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Test: A status change by ID runs one set-based update and publishes one bulk event.
+     */
+    @Test
+    void testUpdateTaskStatus_ByIds() {
+        when(taskRepository.updateStatusByIdIn(List.of(1L, 2L), TaskStatus.COMPLETED)).thenReturn(2);
+
+        assertEquals(2, adminService.updateTaskStatus(Arrays.asList(1L, 2L, 2L, null), TaskStatus.COMPLETED));
+        verify(eventPublisher).publishEvent(TasksBulkUpdatedEvent.of(List.of(1L, 2L), 2));
+        verify(taskRepository, never()).findById(anyLong());
+    }
+
+    /**
+     * Test: A status change by filter requires at least one criterion; no event is published when nothing changed.
+     */
+    @Test
+    void testUpdateTaskStatus_ByFilter() {
+        assertThrows(IllegalArgumentException.class,
+                () -> adminService.updateTaskStatus(new TaskFilter(), TaskStatus.COMPLETED));
+
+        TaskFilter filter = new TaskFilter();
+        filter.setEmployeeId(1L);
+        when(taskRepository.updateStatus(filter, TaskStatus.COMPLETED)).thenReturn(0);
+
+        assertEquals(0, adminService.updateTaskStatus(filter, TaskStatus.COMPLETED));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Test: Reassignment resolves both employees in one lookup and moves open tasks in one update.
+     */
+    @Test
+    void testReassignOpenTasks_Success() {
+        User other = new User();
+        other.setId(2L);
+        when(userRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(employee, other));
+        when(taskRepository.reassignTasks(employee, other, TaskStatus.OPEN)).thenReturn(4);
+
+        assertEquals(4, adminService.reassignOpenTasks(1L, 2L));
+        verify(eventPublisher).publishEvent(TasksBulkUpdatedEvent.matching(4));
+    }
+
+    /**
+     * Test: Reassignment fails for an unknown employee or a reassignment to the same employee.
+     */
+    @Test
+    void testReassignOpenTasks_Invalid() {
+        when(userRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(employee));
+
+        assertThrows(EntityNotFoundException.class, () -> adminService.reassignOpenTasks(1L, 2L));
+        assertThrows(IllegalArgumentException.class, () -> adminService.reassignOpenTasks(1L, 1L));
+        verifyNoInteractions(taskRepository, eventPublisher);
     }
 
     /**
@@ -185,7 +515,7 @@ class AdminServiceImplTest {
      */
     @Test
     void testSearchTaskByTitle_ReturnsList() {
-        when(taskRepository.findAllByTitleContaining("Task")).thenReturn(List.of(task));
+        when(taskSearchService.search("Task")).thenReturn(List.of(task.getTaskDao()));
 
         List<TaskDao> results = adminService.searchTaskByTitle("Task");
 
@@ -193,6 +523,32 @@ class AdminServiceImplTest {
         assertEquals("Test Task", results.get(0).getTitle());
     }
 
+    /**
+     * Test: Filtering delegates to the repository with a clamped page request.
+     */
+    @Test
+    void testFilterTasks_DelegatesWithClampedPage() {
+        TaskFilter filter = new TaskFilter();
+        filter.setStatus(TaskStatus.INPROGRESS);
+        Page<TaskDao> expected = new PageImpl<>(List.of(task.getTaskDao()));
+        when(taskRepository.filterTasks(filter, PageRequest.of(0, CursorPage.MAX_PAGE_SIZE))).thenReturn(expected);
+
+        assertSame(expected, adminService.filterTasks(filter, -1, 10_000));
+    }
+
+    /**
+     * Test: An inverted due-date range is rejected.
+     */
+    @Test
+    void testFilterTasks_InvalidRange() {
+        TaskFilter filter = new TaskFilter();
+        filter.setDueFrom(LocalDate.of(2025, 2, 1));
+        filter.setDueTo(LocalDate.of(2025, 1, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> adminService.filterTasks(filter, 0, 50));
+        verifyNoInteractions(taskRepository);
+    }
+
     /**
      * Test: Successfully create a new comment on task.
      */
@@ -205,14 +561,38 @@ class AdminServiceImplTest {
         comment.setUser(employee);
         comment.setCreatedAt(new Date());
 
-        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
-        when(jwtUtil.getLoggedInUser()).thenReturn(employee);
+        when(jwtUtil.getLoggedInUserId()).thenReturn(employee.getId());
+        when(taskRepository.recordComment(eq(task.getId()), any(Date.class))).thenReturn(1);
+        when(taskRepository.getReferenceById(task.getId())).thenReturn(task);
+        when(userRepository.getReferenceById(employee.getId())).thenReturn(employee);
+        when(jwtUtil.getLoggedInUserName()).thenReturn(employee.getName());
         when(commentRepository.save(any(Comment.class))).thenReturn(comment);
 
         CommentDao result = adminService.createComment(task.getId(), "Great job!");
 
         assertNotNull(result);
         assertEquals("Great job!", result.getContent());
+        assertEquals(employee.getName(), result.getPostedBy());
+        verify(eventPublisher).publishEvent(CommentChangedEvent.saved(result));
+    }
+
+    /**
+     * Test: With group commit enabled, the comment is acknowledged without an ID and not saved inline.
+     */
+    @Test
+    void testCreateComment_GroupCommit_SubmitsToWriter() {
+        CommentDao accepted = new CommentDao(null, "Great job!", new Date(), task.getId(), employee.getId(), employee.getName());
+
+        when(jwtUtil.getLoggedInUserId()).thenReturn(employee.getId());
+        when(jwtUtil.getLoggedInUserName()).thenReturn(employee.getName());
+        when(commentIngestService.isEnabled()).thenReturn(true);
+        when(commentIngestService.submit(task.getId(), employee.getId(), employee.getName(), "Great job!")).thenReturn(accepted);
+
+        CommentDao result = adminService.createComment(task.getId(), "Great job!");
+
+        assertNull(result.getId());
+        verify(commentRepository, never()).save(any(Comment.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     /**
@@ -220,29 +600,32 @@ class AdminServiceImplTest {
      */
     @Test
     void testCreateComment_UserOrTaskNotFound() {
-        when(taskRepository.findById(task.getId())).thenReturn(Optional.empty());
-        when(jwtUtil.getLoggedInUser()).thenReturn(employee);
+        when(jwtUtil.getLoggedInUserId()).thenReturn(employee.getId());
+        when(taskRepository.recordComment(eq(task.getId()), any(Date.class))).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () -> adminService.createComment(task.getId(), "Missing task"));
+        verify(commentRepository, never()).save(any(Comment.class));
 
-        assertThrows(Exception.class, () -> adminService.createComment(task.getId(), "Missing task"));
+        when(taskRepository.recordComment(eq(task.getId()), any(Date.class))).thenReturn(1);
+        when(commentRepository.save(any(Comment.class))).thenThrow(new DataIntegrityViolationException("fk_comment_user"));
+
+        assertThrows(EntityNotFoundException.class, () -> adminService.createComment(task.getId(), "Missing author"));
+        verifyNoInteractions(eventPublisher);
     }
 
     /**
-     * Test: Get all comments by task ID.
+     * Test: Comments are paged newest first by default, continuing to older ones from the cursor.
      */
     @Test
-    void testGetCommentsByTaskId_ReturnsList() {
-        Comment comment = new Comment();
-        comment.setId(1L);
-        comment.setContent("Nice!");
-        comment.setTask(task);
-        comment.setUser(employee);
-        comment.setCreatedAt(new Date());
+    void testGetCommentsByTaskId_PagesOlderFromCursor() {
+        Date createdAt = new Date(1_700_000_000_000L);
+        CommentDao comment = new CommentDao(4L, "Nice!", createdAt, task.getId(), employee.getId(), employee.getName());
+        when(commentRepository.findOlderByTaskId(task.getId(), createdAt, 5L, Limit.of(1))).thenReturn(List.of(comment));
 
-        when(commentRepository.findAllByTaskId(task.getId())).thenReturn(List.of(comment));
+        CursorPage<CommentDao> page = adminService.getCommentsByTaskId(task.getId(),
+                KeysetCursor.encode(createdAt, 5L), 1, Sort.Direction.DESC);
 
-        List<CommentDao> results = adminService.getCommentsByTaskId(task.getId());
-
-        assertEquals(1, results.size());
-        assertEquals("Nice!", results.get(0).getContent());
+        assertEquals(List.of(comment), page.getItems());
+        assertEquals(KeysetCursor.encode(createdAt, 4L), page.getNextCursor());
     }
 }
@@ -1,10 +1,16 @@
 package com.demo.services.auth;
 
+import com.demo.dao.AuthenticationRequest;
+import com.demo.dao.AuthenticationResponse;
 import com.demo.dao.SignupRequest;
 import com.demo.dao.UserDto;
 import com.demo.entities.User;
 import com.demo.enums.UserRole;
+import com.demo.events.UserChangedEvent;
 import com.demo.repositories.UserRepository;
+import com.demo.services.jwt.UserService;
+import com.demo.utils.JwtUtil;
+import com.demo.utils.PasswordHasher;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +20,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.util.Optional;
@@ -29,6 +37,10 @@ class AuthServiceImplTest {
 
     // Mocked dependencies
     @Mock private UserRepository userRepository;
+    @Mock private UserService userService;
+    @Mock private PasswordHasher passwordHasher;
+    @Mock private JwtUtil jwtUtil;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     // Class under test with mocks injected
     @InjectMocks
@@ -99,6 +111,8 @@ class AuthServiceImplTest {
         assertEquals("test@example.com", userDto.getEmail());
         assertEquals("Test User", userDto.getName());
         assertEquals(1L, userDto.getId());
+        verify(userService).evictUser("test@example.com");
+        verify(eventPublisher).publishEvent(new UserChangedEvent(userDto));
     }
 
     /**
@@ -120,4 +134,71 @@ class AuthServiceImplTest {
 
         assertFalse(authService.hasUserWithEmail("notfound@example.com"));
     }
+
+    /**
+     * Test: Login loads the user once, verifies the password and issues a token.
+     */
+    @Test
+    void testLogin_Success() {
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setEmail("test@example.com");
+        request.setPassword("password123");
+
+        when(userRepository.findFirstByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("password123", user.getPassword())).thenReturn(true);
+        when(jwtUtil.generateToken(user)).thenReturn("jwt-token");
+
+        AuthenticationResponse response = authService.login(request);
+
+        assertEquals("jwt-token", response.getJwt());
+        assertEquals(1L, response.getUserId());
+        assertEquals(UserRole.EMPLOYEE, response.getUserRole());
+        verify(userRepository, times(1)).findFirstByEmail("test@example.com");
+    }
+
+    /**
+     * Test: Login with a wrong password is rejected without issuing a token.
+     */
+    @Test
+    void testLogin_WrongPassword() {
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setEmail("test@example.com");
+        request.setPassword("wrong");
+
+        when(userRepository.findFirstByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("wrong", user.getPassword())).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class, () -> authService.login(request));
+        verify(passwordHasher).matches("wrong", user.getPassword());
+        verify(jwtUtil, never()).generateToken(any());
+    }
+
+    /**
+     * Test: Login with an unknown email is rejected after the same password check as a
+     * wrong password, against the dummy hash, so both take as long.
+     */
+    @Test
+    void testLogin_UnknownEmail() {
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setEmail("notfound@example.com");
+        request.setPassword("password123");
+
+        when(userRepository.findFirstByEmail("notfound@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(BadCredentialsException.class, () -> authService.login(request));
+        verify(passwordHasher).matches("password123", AuthServiceImpl.UNKNOWN_USER_HASH);
+        verify(jwtUtil, never()).generateToken(any());
+    }
+
+    /**
+     * Test: The dummy hash is a BCrypt hash at the encoder's cost, so checking it costs as
+     * much as checking a real one.
+     */
+    @Test
+    void testUnknownUserHash_MatchesEncoderCost() {
+        String encoded = new BCryptPasswordEncoder().encode("password123");
+
+        assertEquals(encoded.substring(0, 7), AuthServiceImpl.UNKNOWN_USER_HASH.substring(0, 7));
+        assertFalse(new BCryptPasswordEncoder().matches("password123", AuthServiceImpl.UNKNOWN_USER_HASH));
+    }
 }
@@ -0,0 +1,107 @@
+package com.demo.services.cache;
+
+import com.demo.dao.TaskDao;
+import com.demo.dao.UserDto;
+import com.demo.events.TaskChangedEvent;
+import com.demo.events.TasksBulkUpdatedEvent;
+import com.demo.events.UserChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the encoded response cache in ResponseCacheServiceImpl.
+ */
+class ResponseCacheServiceImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ResponseCacheServiceImpl responseCacheService;
+    private AtomicInteger renders;
+
+    @BeforeEach
+    void setUp() {
+        responseCacheService = new ResponseCacheServiceImpl(objectMapper, new SimpleMeterRegistry(), 1_000_000);
+        renders = new AtomicInteger();
+    }
+
+    /**
+     * Test: The body is encoded once as JSON and gzip, and later lookups reuse the same bytes.
+     */
+    @Test
+    void testGet_EncodesOnceAndReusesBytes() throws Exception {
+        CachedResponse first = responseCacheService.get("k", () -> render(List.of(task(1L, "Write report"))));
+        CachedResponse second = responseCacheService.get("k", () -> render(List.of()));
+
+        assertSame(first, second);
+        assertEquals(1, renders.get());
+        assertEquals("Write report", objectMapper.readTree(first.json()).get(0).get("title").asText());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(first.gzip()))) {
+            assertArrayEquals(first.json(), in.readAllBytes());
+        }
+    }
+
+    /**
+     * Test: Task and user changes clear the cache.
+     */
+    @Test
+    void testWrites_InvalidateCache() {
+        responseCacheService.get("k", () -> render(List.of()));
+        responseCacheService.onTaskChanged(TaskChangedEvent.deleted(1L));
+        responseCacheService.get("k", () -> render(List.of()));
+        responseCacheService.onUserChanged(new UserChangedEvent(new UserDto()));
+        responseCacheService.get("k", () -> render(List.of()));
+        responseCacheService.onTasksBulkUpdated(TasksBulkUpdatedEvent.matching(5));
+        responseCacheService.get("k", () -> render(List.of()));
+
+        assertEquals(4, renders.get());
+    }
+
+    /**
+     * Test: Writing picks the gzip bytes only when the client accepts gzip, and
+     * each encoding gets its own ETag.
+     */
+    @Test
+    void testWrite_NegotiatesGzip() {
+        CachedResponse response = responseCacheService.encode(List.of(task(1L, "A")), Map.of("X-Next-Cursor", "1_1"));
+
+        ResponseEntity<byte[]> plain = response.write(ResponseEntity.ok(), "\"v1\"", null);
+        assertArrayEquals(response.json(), plain.getBody());
+        assertEquals("1_1", plain.getHeaders().getFirst("X-Next-Cursor"));
+        assertEquals("\"v1\"", plain.getHeaders().getETag());
+
+        ResponseEntity<byte[]> gzip = response.write(ResponseEntity.ok(), "\"v1\"", "br, gzip;q=0.8");
+        assertArrayEquals(response.gzip(), gzip.getBody());
+        assertEquals("gzip", gzip.getHeaders().getFirst("Content-Encoding"));
+        assertEquals("\"v1-gzip\"", gzip.getHeaders().getETag());
+        assertEquals("\"v1-gzip\"", CachedResponse.eTag("\"v1\"", "br, gzip;q=0.8"));
+
+        ResponseEntity<byte[]> refused = response.write(ResponseEntity.ok(), "\"v1\"", "gzip;q=0");
+        assertArrayEquals(response.json(), refused.getBody());
+        assertEquals("\"v1\"", refused.getHeaders().getETag());
+    }
+
+    private CachedResponse render(Object body) {
+        renders.incrementAndGet();
+        return responseCacheService.encode(body, Map.of());
+    }
+
+    private static TaskDao task(Long id, String title) {
+        TaskDao task = new TaskDao();
+        task.setId(id);
+        task.setTitle(title);
+        return task;
+    }
+}
@@ -0,0 +1,215 @@
+package com.demo.services.cache;
+
+import com.demo.dao.CommentDao;
+import com.demo.dao.TaskDao;
+import com.demo.events.CommentChangedEvent;
+import com.demo.events.TaskChangedEvent;
+import com.demo.events.TasksBulkUpdatedEvent;
+import com.demo.repositories.TaskRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the read-through task cache in TaskCacheServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class TaskCacheServiceImplTest {
+
+    @Mock private TaskRepository taskRepository;
+
+    private MeterRegistry meterRegistry;
+    private TaskCacheServiceImpl taskCacheService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskCacheService = new TaskCacheServiceImpl(taskRepository, meterRegistry, 100, Duration.ofMinutes(1));
+    }
+
+    /**
+     * Test: Repeated lookups hit the database once and are reported as hits.
+     */
+    @Test
+    void testGetTaskById_CachesTask() {
+        TaskDao task = task(1L, "v1");
+        when(taskRepository.findTaskDaoById(1L)).thenReturn(Optional.of(task));
+
+        assertSame(task, taskCacheService.getTaskById(1L));
+        assertSame(task, taskCacheService.getTaskById(1L));
+
+        verify(taskRepository, times(1)).findTaskDaoById(1L);
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", "tasks").gauge().value());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "tasks").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    /**
+     * Test: Missing tasks are not cached, so a task created later is found.
+     */
+    @Test
+    void testGetTaskById_DoesNotCacheMisses() {
+        TaskDao task = task(1L, "v1");
+        when(taskRepository.findTaskDaoById(1L)).thenReturn(Optional.empty(), Optional.of(task));
+
+        assertNull(taskCacheService.getTaskById(1L));
+        assertSame(task, taskCacheService.getTaskById(1L));
+    }
+
+    /**
+     * Test: Update and delete events invalidate the cached entry.
+     */
+    @Test
+    void testOnTaskChanged_InvalidatesEntry() {
+        TaskDao v1 = task(1L, "v1");
+        TaskDao v2 = task(1L, "v2");
+        when(taskRepository.findTaskDaoById(1L)).thenReturn(Optional.of(v1), Optional.of(v2), Optional.empty());
+
+        assertSame(v1, taskCacheService.getTaskById(1L));
+        taskCacheService.onTaskChanged(TaskChangedEvent.saved(v2));
+        assertSame(v2, taskCacheService.getTaskById(1L));
+        taskCacheService.onTaskChanged(TaskChangedEvent.deleted(1L));
+        assertNull(taskCacheService.getTaskById(1L));
+    }
+
+    /**
+     * Test: A comment invalidates its task, whose comment counters changed.
+     */
+    @Test
+    void testOnCommentChanged_InvalidatesTask() {
+        TaskDao before = task(1L, "Task");
+        TaskDao after = task(1L, "Task");
+        after.setCommentCount(1L);
+        when(taskRepository.findTaskDaoById(1L)).thenReturn(Optional.of(before), Optional.of(after));
+
+        assertSame(before, taskCacheService.getTaskById(1L));
+        taskCacheService.onCommentChanged(CommentChangedEvent.saved(new CommentDao(7L, "Done", new Date(), 1L, 2L, "John Doe")));
+        assertSame(after, taskCacheService.getTaskById(1L));
+    }
+
+    /**
+     * Test: A bulk update by ID invalidates those tasks only; one by criteria invalidates every task.
+     */
+    @Test
+    void testOnTasksBulkUpdated_InvalidatesAffectedEntries() {
+        when(taskRepository.findTaskDaoById(anyLong())).thenAnswer(invocation -> Optional.of(task(invocation.getArgument(0), "v")));
+        taskCacheService.getTaskById(1L);
+        taskCacheService.getTaskById(2L);
+
+        taskCacheService.onTasksBulkUpdated(TasksBulkUpdatedEvent.of(List.of(1L), 1));
+        taskCacheService.getTaskById(1L);
+        taskCacheService.getTaskById(2L);
+        verify(taskRepository, times(2)).findTaskDaoById(1L);
+        verify(taskRepository, times(1)).findTaskDaoById(2L);
+
+        taskCacheService.onTasksBulkUpdated(TasksBulkUpdatedEvent.matching(2));
+        taskCacheService.getTaskById(2L);
+        verify(taskRepository, times(2)).findTaskDaoById(2L);
+    }
+
+    /**
+     * Test: A load that read the old row before a write cannot repopulate the
+     * cache after the write's invalidation has returned.
+     */
+    @Test
+    void testConcurrentLoadAndWrite_NoStaleReadAfterWrite() throws Exception {
+        AtomicReference<TaskDao> row = new AtomicReference<>(task(1L, "v1"));
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskRepository.findTaskDaoById(1L)).thenAnswer(invocation -> {
+            TaskDao current = row.get();
+            if (loaded.getCount() > 0) {
+                loaded.countDown();
+                release.await(5, TimeUnit.SECONDS); // Hold the stale row while the write happens
+            }
+            return Optional.of(current);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<TaskDao> reader = executor.submit(() -> taskCacheService.getTaskById(1L));
+            assertTrue(loaded.await(5, TimeUnit.SECONDS));
+
+            row.set(task(1L, "v2"));
+            Future<?> writer = executor.submit(() -> taskCacheService.onTaskChanged(TaskChangedEvent.saved(row.get())));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals("v1", reader.get(5, TimeUnit.SECONDS).getTitle());
+            writer.get(5, TimeUnit.SECONDS);
+            assertEquals("v2", taskCacheService.getTaskById(1L).getTitle());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test: Under concurrent readers and writers, every read that starts after a
+     * write has completed sees that write or a later one.
+     */
+    @Test
+    void testConcurrentReadersAndWriters_ReadsFollowCompletedWrites() throws Exception {
+        AtomicReference<TaskDao> row = new AtomicReference<>(task(1L, "0"));
+        when(taskRepository.findTaskDaoById(1L)).thenAnswer(invocation -> {
+            TaskDao current = row.get();
+            Thread.yield();
+            return Optional.of(current);
+        });
+
+        int writes = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> {
+                for (int version = 1; version <= writes; version++) {
+                    row.set(task(1L, String.valueOf(version)));
+                    taskCacheService.onTaskChanged(TaskChangedEvent.saved(row.get()));
+                    int read = Integer.parseInt(taskCacheService.getTaskById(1L).getTitle());
+                    assertTrue(read >= version, "read version " + read + " after completed write " + version);
+                }
+            }));
+            for (int r = 0; r < 3; r++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < writes * 4; i++) {
+                        taskCacheService.getTaskById(1L);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(String.valueOf(writes), taskCacheService.getTaskById(1L).getTitle());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TaskDao task(Long id, String title) {
+        TaskDao task = new TaskDao();
+        task.setId(id);
+        task.setTitle(title);
+        return task;
+    }
+}
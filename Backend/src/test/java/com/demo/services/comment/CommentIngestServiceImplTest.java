@@ -0,0 +1,274 @@
+package com.demo.services.comment;
+
+import com.demo.dao.CommentDao;
+import com.demo.entities.Task;
+import com.demo.entities.User;
+import com.demo.enums.TaskStatus;
+import com.demo.enums.UserRole;
+import com.demo.events.CommentChangedEvent;
+import com.demo.repositories.TaskRepository;
+import com.demo.repositories.UserRepository;
+import com.demo.utils.AppendOnlyJournal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the group-commit comment writer against the test database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CommentIngestServiceImplTest {
+
+    @Autowired private DataSource dataSource;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private UserRepository userRepository;
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
+    private CommentIngestServiceImpl commentIngestService;
+    private User employee;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        employee = new User();
+        employee.setName("John Doe");
+        employee.setEmail("ingest@example.com");
+        employee.setUserRole(UserRole.EMPLOYEE);
+        employee = userRepository.save(employee);
+
+        task = new Task();
+        task.setTitle("Incident");
+        task.setDueDate(new Date());
+        task.setTaskStatus(TaskStatus.INPROGRESS);
+        task.setUser(employee);
+        task = taskRepository.save(task);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (commentIngestService != null) {
+            commentIngestService.shutdown();
+        }
+        taskRepository.deleteById(task.getId());
+        userRepository.deleteById(employee.getId());
+        jdbcTemplate.update("delete from comment_ingest_checkpoint");
+    }
+
+    /**
+     * Test: A burst of comments is acknowledged without an ID, stored in batches,
+     * and fully drained on shutdown, leaving an empty journal.
+     */
+    @Test
+    void testSubmit_StoresInBatchesAndDrainsOnShutdown() {
+        commentIngestService = newService(10_000, 50, Duration.ofMillis(50));
+        commentIngestService.start();
+
+        for (int i = 0; i < 500; i++) {
+            CommentDao accepted = commentIngestService.submit(task.getId(), employee.getId(), "John Doe", "Update " + i);
+            assertNull(accepted.getId());
+            assertEquals("John Doe", accepted.getPostedBy());
+        }
+        commentIngestService.shutdown();
+
+        assertEquals(500, countComments());
+        assertEquals(0, commentIngestService.queueDepth());
+        long flushes = meterRegistry.get("comments.ingest.batch.size").summary().count();
+        assertTrue(flushes < 500, "flushes: " + flushes);
+        assertEquals(500, meterRegistry.get("comments.ingest.batch.size").summary().totalAmount());
+        assertEquals(flushes, meterRegistry.get("comments.ingest.flush.latency").timer().count());
+        assertEquals(500, checkpoint());
+        assertEquals(500, taskRepository.findTaskDaoById(task.getId()).orElseThrow().getCommentCount());
+        try (AppendOnlyJournal journal = new AppendOnlyJournal(journal())) {
+            assertTrue(journal.readAll().isEmpty());
+        }
+        verify(eventPublisher, atLeastOnce()).publishEvent(any(CommentChangedEvent.class));
+    }
+
+    /**
+     * Test: After a crash, only the journaled comments past the checkpoint are
+     * stored, and numbering continues after the highest journaled sequence.
+     */
+    @Test
+    void testStart_ReplaysJournalPastCheckpoint() {
+        jdbcTemplate.update("insert into comment_ingest_checkpoint (journal, last_seq) values ('test', 2)");
+        try (AppendOnlyJournal journal = new AppendOnlyJournal(journal())) {
+            for (int seq = 1; seq <= 4; seq++) {
+                journal.append(record(seq, task.getId(), "Replayed " + seq));
+            }
+        }
+
+        commentIngestService = newService(10_000, 50, Duration.ofMillis(50));
+        commentIngestService.start();
+
+        assertEquals(2, countComments());
+        assertEquals(4, checkpoint());
+        commentIngestService.submit(task.getId(), employee.getId(), "John Doe", "Fresh");
+        commentIngestService.shutdown();
+        assertEquals(3, countComments());
+        assertEquals(5, checkpoint());
+    }
+
+    /**
+     * Test: Comments are shed once the queue is full, and nothing is accepted before start.
+     */
+    @Test
+    void testSubmit_RejectsWhenFullOrNotStarted() {
+        commentIngestService = newService(1, 1, Duration.ofSeconds(1));
+        assertThrows(RejectedExecutionException.class,
+                () -> commentIngestService.submit(task.getId(), employee.getId(), "John Doe", "Too early"));
+
+        commentIngestService.start();
+        int accepted = 0;
+        RejectedExecutionException rejection = null;
+        while (rejection == null && accepted < 100) {
+            try {
+                commentIngestService.submit(task.getId(), employee.getId(), "John Doe", "Burst " + accepted);
+                accepted++;
+            } catch (RejectedExecutionException e) {
+                rejection = e;
+            }
+        }
+        assertNotNull(rejection);
+        commentIngestService.shutdown();
+        assertEquals(accepted, countComments());
+    }
+
+    /**
+     * Test: A comment on a task that does not exist is rejected before it is journaled.
+     */
+    @Test
+    void testSubmit_RejectsUnknownTask() {
+        commentIngestService = newService(10_000, 50, Duration.ofMillis(50));
+        commentIngestService.start();
+
+        assertThrows(EntityNotFoundException.class,
+                () -> commentIngestService.submit(Long.MAX_VALUE, employee.getId(), "John Doe", "Dangling"));
+        assertEquals(0, commentIngestService.queueDepth());
+        commentIngestService.shutdown();
+        assertEquals(0, checkpoint());
+    }
+
+    /**
+     * Test: A journaled comment on a task deleted since is dropped without holding
+     * back the rest of its batch.
+     */
+    @Test
+    void testFlush_DropsRejectedComments() {
+        try (AppendOnlyJournal journal = new AppendOnlyJournal(journal())) {
+            journal.append(record(1, task.getId(), "Before"));
+            journal.append(record(2, Long.MAX_VALUE, "Dangling"));
+            journal.append(record(3, task.getId(), "After"));
+        }
+
+        commentIngestService = newService(10_000, 50, Duration.ofMillis(200));
+        commentIngestService.start();
+        commentIngestService.shutdown();
+
+        assertEquals(2, countComments());
+        assertEquals(2, taskRepository.findTaskDaoById(task.getId()).orElseThrow().getCommentCount());
+        assertEquals(1, meterRegistry.get("comments.ingest.dropped").counter().count());
+        assertEquals(3, checkpoint());
+    }
+
+    /**
+     * Test: While the writer lags behind, the journal is compacted past its size
+     * limit to the comments not yet stored instead of waiting to be emptied.
+     */
+    @Test
+    void testFlush_CompactsJournalWhileBehind() throws Exception {
+        commentIngestService = newService(10_000, 10, Duration.ofMillis(50), DataSize.ofBytes(1));
+        commentIngestService.start();
+
+        // Holding the task row keeps the writer from storing anything while comments pile up
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("update task set title = title where id = ?")) {
+                statement.setLong(1, task.getId());
+                statement.executeUpdate();
+            }
+            for (int i = 0; i < 100; i++) {
+                commentIngestService.submit(task.getId(), employee.getId(), "John Doe", "Update " + i);
+            }
+            connection.commit();
+        }
+        commentIngestService.shutdown();
+
+        assertEquals(100, countComments());
+        assertTrue(meterRegistry.get("comments.ingest.journal.compactions").counter().count() > 0);
+        try (AppendOnlyJournal journal = new AppendOnlyJournal(journal())) {
+            assertTrue(journal.readAll().isEmpty());
+        }
+    }
+
+    private CommentIngestServiceImpl newService(int queueCapacity, int batchSize, Duration maxDelay) {
+        return newService(queueCapacity, batchSize, maxDelay, DataSize.ofMegabytes(8));
+    }
+
+    private CommentIngestServiceImpl newService(int queueCapacity, int batchSize, Duration maxDelay,
+            DataSize journalCompactSize) {
+        return new CommentIngestServiceImpl(jdbcTemplate, new TransactionTemplate(transactionManager), eventPublisher,
+                entityManagerFactory, meterRegistry, true, queueCapacity, batchSize, maxDelay, journal().toString(), "test",
+                Duration.ofSeconds(30), journalCompactSize);
+    }
+
+    private String record(long seq, Long taskId, String content) {
+        return seq + "\t" + taskId + "\t" + employee.getId() + "\t" + System.currentTimeMillis()
+                + "\t" + Base64.getEncoder().encodeToString(content.getBytes());
+    }
+
+    private Path journal() {
+        return directory.resolve("comments.log");
+    }
+
+    private long countComments() {
+        return jdbcTemplate.queryForObject("select count(*) from comment where task_id = ?", Long.class, task.getId());
+    }
+
+    private long checkpoint() {
+        return jdbcTemplate.queryForObject("select last_seq from comment_ingest_checkpoint where journal = 'test'", Long.class);
+    }
+}
@@ -1,13 +1,20 @@
 package com.demo.services.employee;
 
 import com.demo.dao.CommentDao;
+import com.demo.dao.CursorPage;
+import com.demo.dao.KeysetCursor;
 import com.demo.dao.TaskDao;
 import com.demo.entities.Comment;
 import com.demo.entities.Task;
 import com.demo.entities.User;
 import com.demo.enums.TaskStatus;
+import com.demo.events.CommentChangedEvent;
+import com.demo.events.TaskChangedEvent;
 import com.demo.repositories.CommentRepository;
 import com.demo.repositories.TaskRepository;
+import com.demo.repositories.UserRepository;
+import com.demo.services.cache.TaskCacheService;
+import com.demo.services.comment.CommentIngestService;
 import com.demo.utils.JwtUtil;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +22,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 
 import java.util.*;
 
@@ -30,12 +41,24 @@ class EmployeeServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
     @Mock
     private JwtUtil jwtUtil;
 
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private CommentIngestService commentIngestService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskCacheService taskCacheService;
+
     // Class under test
     @InjectMocks
     private EmployeeServiceImpl employeeService;
@@ -56,10 +79,10 @@ class EmployeeServiceImplTest {
     }
 
     /**
-     * Test: Get all tasks assigned to a user.
+     * Test: Get the first page of tasks assigned to a user.
      */
     @Test
-    void testGetTasksByUserId_ReturnsList() {
+    void testGetTasksByUserId_ReturnsPage() {
         Task task1 = new Task();
         task1.setId(1L);
         task1.setDueDate(new Date());
@@ -70,34 +93,67 @@ class EmployeeServiceImplTest {
         task2.setDueDate(new Date(System.currentTimeMillis() + 100000));
         task2.setUser(user);
 
-        when(jwtUtil.getLoggedInUser()).thenReturn(user);
-        when(taskRepository.findAllByUserId(user.getId())).thenReturn(Arrays.asList(task1, task2));
+        when(jwtUtil.getLoggedInUserId()).thenReturn(user.getId());
+        when(taskRepository.findUserFirstPage(user.getId(), Limit.of(2)))
+                .thenReturn(Arrays.asList(task2.getTaskDao(), task1.getTaskDao()));
 
-        List<TaskDao> result = employeeService.getTasksByUserId();
+        CursorPage<TaskDao> result = employeeService.getTasksByUserId(null, null, 2);
 
         assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(taskRepository).findAllByUserId(user.getId());
+        assertEquals(2, result.getItems().size());
+        assertEquals(KeysetCursor.encode(task1.getDueDate(), task1.getId()), result.getNextCursor());
+        verify(taskRepository).findUserFirstPage(user.getId(), Limit.of(2));
+    }
+
+    /**
+     * Test: A status-filtered page after a cursor uses the filtered keyset query.
+     */
+    @Test
+    void testGetTasksByUserId_WithStatusAndCursor() {
+        Date dueDate = new Date(1_700_000_000_000L);
+        when(jwtUtil.getLoggedInUserId()).thenReturn(user.getId());
+        when(taskRepository.findUserPageAfterByStatus(user.getId(), TaskStatus.PENDING, dueDate, 9L, Limit.of(50)))
+                .thenReturn(Collections.emptyList());
+
+        CursorPage<TaskDao> result = employeeService.getTasksByUserId(TaskStatus.PENDING,
+                KeysetCursor.encode(dueDate, 9L), 50);
+
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
     }
 
     /**
-     * Test: Update task status with a valid task ID.
+     * Test: Paging without an authenticated user throws.
+     */
+    @Test
+    void testGetTasksByUserId_NoUser_Throws() {
+        when(jwtUtil.getLoggedInUserId()).thenReturn(null);
+
+        assertThrows(EntityNotFoundException.class, () -> employeeService.getTasksByUserId(null, null, 50));
+        verifyNoInteractions(taskRepository);
+    }
+
+    /**
+     * Test: Update task status with a valid task ID runs a targeted update and returns the projection.
      */
     @Test
     void testUpdateTask_ValidId_UpdatesStatus() {
         Task task = new Task();
         task.setId(1L);
-        task.setTaskStatus(TaskStatus.PENDING);
+        task.setTaskStatus(TaskStatus.COMPLETED);
+        task.setVersion(1L);
         task.setUser(user);
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskRepository.updateStatusById(1L, TaskStatus.COMPLETED)).thenReturn(1);
+        when(taskRepository.findTaskDaoById(1L)).thenReturn(Optional.of(task.getTaskDao()));
 
         TaskDao updated = employeeService.updateTask(1L, "COMPLETED");
 
-        assertNotNull(updated);
-        assertEquals(TaskStatus.COMPLETED, task.getTaskStatus());
-        verify(taskRepository).save(task);
+        assertEquals(TaskStatus.COMPLETED, updated.getTaskStatus());
+        assertEquals(1L, updated.getVersion());
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher).publishEvent(TaskChangedEvent.saved(updated));
     }
 
     /**
@@ -105,9 +161,10 @@ class EmployeeServiceImplTest {
      */
     @Test
     void testUpdateTask_InvalidId_ThrowsException() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        when(taskRepository.updateStatusById(1L, TaskStatus.PENDING)).thenReturn(0);
 
-        assertThrows(EntityNotFoundException.class, () -> employeeService.updateTask(1L, "PENDING"));
+        assertThrows(EntityNotFoundException.class, () -> employeeService.updateTaskStatus(1L, TaskStatus.PENDING));
+        verifyNoInteractions(eventPublisher);
     }
 
     /**
@@ -119,7 +176,7 @@ class EmployeeServiceImplTest {
         task.setId(1L);
         task.setUser(user);
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskCacheService.getTaskById(1L)).thenReturn(task.getTaskDao());
 
         TaskDao result = employeeService.getTaskById(1L);
         assertNotNull(result);
@@ -130,7 +187,7 @@ class EmployeeServiceImplTest {
      */
     @Test
     void testGetTaskById_NotFound_ReturnsNull() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        when(taskCacheService.getTaskById(1L)).thenReturn(null);
 
         TaskDao result = employeeService.getTaskById(1L);
         assertNull(result);
@@ -151,15 +208,41 @@ class EmployeeServiceImplTest {
         comment.setUser(user);
         comment.setCreatedAt(new Date());
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(jwtUtil.getLoggedInUser()).thenReturn(user);
+        when(jwtUtil.getLoggedInUserId()).thenReturn(user.getId());
+        when(taskRepository.recordComment(eq(1L), any(Date.class))).thenReturn(1);
+        when(taskRepository.getReferenceById(1L)).thenReturn(task);
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+        when(jwtUtil.getLoggedInUserName()).thenReturn(user.getName());
         when(commentRepository.save(any(Comment.class))).thenReturn(comment);
 
         CommentDao result = employeeService.createComment(1L, "Test comment");
 
         assertNotNull(result);
         assertEquals("Test comment", result.getContent());
+        assertEquals(user.getName(), result.getPostedBy());
         verify(commentRepository).save(any(Comment.class));
+        verify(taskRepository, never()).findById(anyLong());
+        verify(jwtUtil, never()).getLoggedInUser();
+        verify(eventPublisher).publishEvent(CommentChangedEvent.saved(result));
+    }
+
+    /**
+     * Test: With group commit enabled, the comment is handed to the writer instead of saved.
+     */
+    @Test
+    void testCreateComment_GroupCommit_SubmitsToWriter() {
+        CommentDao accepted = new CommentDao(null, "Test comment", new Date(), 1L, user.getId(), user.getName());
+
+        when(jwtUtil.getLoggedInUserId()).thenReturn(user.getId());
+        when(jwtUtil.getLoggedInUserName()).thenReturn(user.getName());
+        when(commentIngestService.isEnabled()).thenReturn(true);
+        when(commentIngestService.submit(1L, user.getId(), user.getName(), "Test comment")).thenReturn(accepted);
+
+        CommentDao result = employeeService.createComment(1L, "Test comment");
+
+        assertSame(accepted, result);
+        verify(commentRepository, never()).save(any(Comment.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     /**
@@ -167,40 +250,57 @@ class EmployeeServiceImplTest {
      */
     @Test
     void testCreateComment_InvalidTask_ThrowsException() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
-        when(jwtUtil.getLoggedInUser()).thenReturn(user);
+        when(jwtUtil.getLoggedInUserId()).thenReturn(user.getId());
+        when(taskRepository.recordComment(eq(1L), any(Date.class))).thenReturn(0);
 
         assertThrows(EntityNotFoundException.class, () -> employeeService.createComment(1L, "Test"));
+        verify(commentRepository, never()).save(any(Comment.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     /**
-     * Test: Get all comments for a given task ID.
+     * Test: Creating a comment by an author that no longer exists throws exception.
      */
     @Test
-    void testGetCommentsByTaskId_ReturnsList() {
-        Task task = new Task();
-        task.setId(1L);
+    void testCreateComment_InvalidAuthor_ThrowsException() {
+        when(jwtUtil.getLoggedInUserId()).thenReturn(user.getId());
+        when(taskRepository.recordComment(eq(1L), any(Date.class))).thenReturn(1);
+        when(commentRepository.save(any(Comment.class))).thenThrow(new DataIntegrityViolationException("fk_comment_user"));
+
+        assertThrows(EntityNotFoundException.class, () -> employeeService.createComment(1L, "Test"));
+        verifyNoInteractions(eventPublisher);
+    }
 
-        Comment comment1 = new Comment();
-        comment1.setId(1L);
-        comment1.setContent("Comment 1");
-        comment1.setTask(task);
-        comment1.setUser(user);
-        comment1.setCreatedAt(new Date());
+    /**
+     * Test: The first page of a thread is the newest comments, with a cursor at the last one.
+     */
+    @Test
+    void testGetCommentsByTaskId_NewestFirst() {
+        Date createdAt = new Date(1_700_000_000_000L);
+        CommentDao newest = new CommentDao(2L, "Comment 2", createdAt, 1L, user.getId(), user.getName());
+        CommentDao older = new CommentDao(1L, "Comment 1", createdAt, 1L, user.getId(), user.getName());
+        when(commentRepository.findNewestByTaskId(1L, Limit.of(2))).thenReturn(List.of(newest, older));
 
-        Comment comment2 = new Comment();
-        comment2.setId(2L);
-        comment2.setContent("Comment 2");
-        comment2.setTask(task);
-        comment2.setUser(user);
-        comment2.setCreatedAt(new Date());
+        CursorPage<CommentDao> result = employeeService.getCommentsByTaskId(1L, null, 2, Sort.Direction.DESC);
 
-        when(commentRepository.findAllByTaskId(1L)).thenReturn(Arrays.asList(comment1, comment2));
+        assertEquals(List.of(newest, older), result.getItems());
+        assertEquals(KeysetCursor.encode(createdAt, 1L), result.getNextCursor());
+    }
 
-        List<CommentDao> result = employeeService.getCommentsByTaskId(1L);
+    /**
+     * Test: Ascending order with a cursor pages forward to newer comments; a short page is the last.
+     */
+    @Test
+    void testGetCommentsByTaskId_NewerAfterCursor() {
+        Date createdAt = new Date(1_700_000_000_000L);
+        CommentDao newer = new CommentDao(3L, "Comment 3", createdAt, 1L, user.getId(), user.getName());
+        when(commentRepository.findNewerByTaskId(1L, createdAt, 2L, Limit.of(50))).thenReturn(List.of(newer));
 
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("Comment 1", result.get(0).getContent());
+        CursorPage<CommentDao> result = employeeService.getCommentsByTaskId(1L,
+                KeysetCursor.encode(createdAt, 2L), 50, Sort.Direction.ASC);
+
+        assertEquals(List.of(newer), result.getItems());
+        assertNull(result.getNextCursor());
+        verify(commentRepository, never()).findOlderByTaskId(anyLong(), any(), anyLong(), any());
     }
 }
@@ -0,0 +1,121 @@
+package com.demo.services.export;
+
+import com.demo.entities.Task;
+import com.demo.entities.User;
+import com.demo.enums.ExportFormat;
+import com.demo.enums.TaskStatus;
+import com.demo.enums.UserRole;
+import com.demo.repositories.TaskRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the streamed task export against the test database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskExportServiceImplTest {
+
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private TestEntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TaskExportServiceImpl taskExportService;
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        taskExportService = new TaskExportServiceImpl(taskRepository, entityManager.getEntityManager(), objectMapper, 500);
+
+        employee = new User();
+        employee.setName("Doe, John");
+        employee.setEmail("export@example.com");
+        employee.setUserRole(UserRole.EMPLOYEE);
+        entityManager.persist(employee);
+    }
+
+    /**
+     * Test: The CSV export has a header and one quoted-as-needed record per task, in ID order,
+     * read with one statement.
+     */
+    @Test
+    void testExportTasks_Csv() throws Exception {
+        Task first = saveTask("Plain", null);
+        Task second = saveTask("Says \"hi\"", "Line one\nline two");
+        Statistics statistics = statistics();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, taskExportService.exportTasks(ExportFormat.CSV, out));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        String dueDate = first.getDueDate().toInstant().toString();
+        assertEquals("id,title,description,dueDate,priority,taskStatus,employeeId,employeeName,version,commentCount,lastCommentAt\r\n"
+                        + first.getId() + ",Plain,," + dueDate + ",High,PENDING," + employee.getId() + ",\"Doe, John\",0,0,\r\n"
+                        + second.getId() + ",\"Says \"\"hi\"\"\",\"Line one\nline two\"," + dueDate + ",High,PENDING,"
+                        + employee.getId() + ",\"Doe, John\",0,0,\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test: The NDJSON export has one task object per line, across persistence context clears.
+     */
+    @Test
+    void testExportTasks_Ndjson() throws Exception {
+        int count = TaskExportServiceImpl.CLEAR_INTERVAL + 5;
+        for (int i = 0; i < count; i++) {
+            saveTask("Task " + i, null);
+        }
+        statistics();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(count, taskExportService.exportTasks(ExportFormat.NDJSON, out));
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(count, lines.size());
+        JsonNode last = objectMapper.readTree(lines.get(count - 1));
+        assertEquals("Task " + (count - 1), last.get("title").asText());
+        assertEquals("Doe, John", last.get("employeeName").asText());
+        assertEquals(0, last.get("commentCount").asLong());
+    }
+
+    private Task saveTask(String title, String description) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setDueDate(new Date(1_700_000_000_000L));
+        task.setPriority("High");
+        task.setTaskStatus(TaskStatus.PENDING);
+        task.setUser(employee);
+        return taskRepository.save(task);
+    }
+
+    /**
+     * Flushes pending inserts, detaches everything and resets Hibernate statistics.
+     */
+    private Statistics statistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,105 @@
+package com.demo.services.jwt;
+
+import com.demo.entities.RevokedToken;
+import com.demo.repositories.RevokedTokenRepository;
+import com.demo.utils.JwtUtil;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TokenRevocationServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceImplTest {
+
+    @Mock private RevokedTokenRepository revokedTokenRepository;
+    @Mock private JwtUtil jwtUtil;
+
+    private TokenRevocationServiceImpl tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationServiceImpl(revokedTokenRepository, jwtUtil, 100);
+    }
+
+    /**
+     * Test: A revoked token is rejected and the revocation is persisted.
+     */
+    @Test
+    void testRevoke_MarksTokenRevoked() {
+        tokenRevocationService.revoke("jti-1", new Date(System.currentTimeMillis() + 60_000));
+
+        assertTrue(tokenRevocationService.isRevoked("jti-1"));
+        assertFalse(tokenRevocationService.isRevoked("jti-2"));
+        assertFalse(tokenRevocationService.isRevoked(null));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    /**
+     * Test: Logout revokes the token using its own jti and expiry.
+     */
+    @Test
+    void testRevokeToken_UsesTokenClaims() {
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+        when(jwtUtil.extractTokenId("token")).thenReturn("jti-1");
+        when(jwtUtil.extractExpiration("token")).thenReturn(expiresAt);
+
+        tokenRevocationService.revokeToken("token");
+
+        assertTrue(tokenRevocationService.isRevoked("jti-1"));
+    }
+
+    /**
+     * Test: Persisted revocations are restored at startup.
+     */
+    @Test
+    void testLoadRevocations_RebuildsFromTable() {
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setJti("jti-persisted");
+        revokedToken.setExpiresAt(new Date(System.currentTimeMillis() + 60_000));
+        when(revokedTokenRepository.findAllByExpiresAtAfter(any(Date.class))).thenReturn(List.of(revokedToken));
+
+        tokenRevocationService.loadRevocations();
+
+        assertTrue(tokenRevocationService.isRevoked("jti-persisted"));
+    }
+
+    /**
+     * Test: Pruning drops revocations whose tokens have expired.
+     */
+    @Test
+    void testPruneExpired_RemovesExpiredEntries() {
+        RevokedToken expiring = new RevokedToken();
+        expiring.setJti("jti-expiring");
+        expiring.setExpiresAt(new Date(System.currentTimeMillis() + 50));
+        when(revokedTokenRepository.findAllByExpiresAtAfter(any(Date.class))).thenReturn(List.of(expiring));
+        tokenRevocationService.loadRevocations();
+        tokenRevocationService.revoke("jti-active", new Date(System.currentTimeMillis() + 60_000));
+
+        pause(100);
+        tokenRevocationService.pruneExpired();
+
+        assertFalse(tokenRevocationService.isRevoked("jti-expiring"));
+        assertTrue(tokenRevocationService.isRevoked("jti-active"));
+        verify(revokedTokenRepository).deleteExpired(any(Date.class));
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.demo.services.jwt;
+
+import com.demo.entities.User;
+import com.demo.enums.UserRole;
+import com.demo.repositories.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the cached UserDetailsService in UserServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    @Mock private UserRepository userRepository;
+
+    private MeterRegistry meterRegistry;
+    private UserServiceImpl userService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userService = new UserServiceImpl(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+
+        user = new User();
+        user.setId(1L);
+        user.setEmail("john@example.com");
+        user.setUserRole(UserRole.EMPLOYEE);
+    }
+
+    /**
+     * Test: Repeated lookups of the same email hit the database only once.
+     */
+    @Test
+    void testLoadUserByUsername_CachesUser() {
+        when(userRepository.findFirstByEmail("john@example.com")).thenReturn(Optional.of(user));
+
+        UserDetails first = userService.userDetailService().loadUserByUsername("john@example.com");
+        UserDetails second = userService.userDetailService().loadUserByUsername("john@example.com");
+
+        assertSame(first, second);
+        verify(userRepository, times(1)).findFirstByEmail("john@example.com");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit").functionCounter().count());
+    }
+
+    /**
+     * Test: Evicting a user forces the next lookup back to the database.
+     */
+    @Test
+    void testEvictUser_ReloadsFromRepository() {
+        when(userRepository.findFirstByEmail("john@example.com")).thenReturn(Optional.of(user));
+
+        userService.userDetailService().loadUserByUsername("john@example.com");
+        userService.evictUser("john@example.com");
+        userService.userDetailService().loadUserByUsername("john@example.com");
+
+        verify(userRepository, times(2)).findFirstByEmail("john@example.com");
+    }
+
+    /**
+     * Test: Unknown users are not cached and still raise UsernameNotFoundException.
+     */
+    @Test
+    void testLoadUserByUsername_NotFound() {
+        when(userRepository.findFirstByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class,
+                () -> userService.userDetailService().loadUserByUsername("missing@example.com"));
+        assertThrows(UsernameNotFoundException.class,
+                () -> userService.userDetailService().loadUserByUsername("missing@example.com"));
+
+        verify(userRepository, times(2)).findFirstByEmail("missing@example.com");
+    }
+
+    /**
+     * Test: Authorities are shared per role rather than rebuilt on each call.
+     */
+    @Test
+    void testGetAuthorities_SharedPerRole() {
+        assertSame(user.getAuthorities(), user.getAuthorities());
+        assertEquals("EMPLOYEE", user.getAuthorities().iterator().next().getAuthority());
+    }
+}
@@ -0,0 +1,81 @@
+package com.demo.services.search;
+
+import com.demo.dao.TaskDao;
+import com.demo.events.TaskChangedEvent;
+import com.demo.repositories.TaskRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.data.domain.Limit;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TaskSearchServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class TaskSearchServiceImplTest {
+
+    @Mock private TaskRepository taskRepository;
+
+    private TaskSearchServiceImpl taskSearchService;
+    private TaskDao report, review;
+
+    @BeforeEach
+    void setUp() {
+        taskSearchService = new TaskSearchServiceImpl(taskRepository, 10);
+        report = task(1L, "Write report", new Date(1000));
+        review = task(2L, "Review report", new Date(2000));
+    }
+
+    /**
+     * Test: Rebuild walks the table in ID batches and search loads ranked hits by ID.
+     */
+    @Test
+    void testRebuildAndSearch_ReturnsTasksInRankOrder() {
+        when(taskRepository.findBatchAfterId(0L, Limit.of(TaskSearchServiceImpl.BUILD_BATCH_SIZE)))
+                .thenReturn(List.of(report, review));
+        when(taskRepository.findAllTaskDaoByIdIn(List.of(2L, 1L))).thenReturn(List.of(report, review));
+
+        taskSearchService.rebuild();
+        List<TaskDao> results = taskSearchService.search("report");
+
+        assertEquals(List.of(review, report), results);
+    }
+
+    /**
+     * Test: Task change events update the index without touching the database for misses.
+     */
+    @Test
+    void testOnTaskChanged_UpdatesIndex() {
+        taskSearchService.onTaskChanged(TaskChangedEvent.saved(report));
+        report.setTitle("Write summary");
+        taskSearchService.onTaskChanged(TaskChangedEvent.saved(report));
+        taskSearchService.onTaskChanged(TaskChangedEvent.saved(review));
+        taskSearchService.onTaskChanged(TaskChangedEvent.deleted(2L));
+
+        assertEquals(List.of(), taskSearchService.search("report"));
+        verify(taskRepository, never()).findAllTaskDaoByIdIn(anyCollection());
+
+        when(taskRepository.findAllTaskDaoByIdIn(List.of(1L))).thenReturn(List.of(report));
+        assertEquals(List.of(report), taskSearchService.search("summary"));
+    }
+
+    private TaskDao task(Long id, String title, Date dueDate) {
+        TaskDao task = new TaskDao();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDueDate(dueDate);
+        return task;
+    }
+}
@@ -0,0 +1,186 @@
+package com.demo.services.stamp;
+
+import com.demo.dao.CommentDao;
+import com.demo.dao.TaskDao;
+import com.demo.dao.UserDto;
+import com.demo.entities.Task;
+import com.demo.entities.User;
+import com.demo.enums.TaskStatus;
+import com.demo.enums.UserRole;
+import com.demo.events.CommentChangedEvent;
+import com.demo.events.TaskChangedEvent;
+import com.demo.events.TasksBulkUpdatedEvent;
+import com.demo.events.UserChangedEvent;
+import com.demo.repositories.TaskRepository;
+import com.demo.repositories.UserRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the database-backed collection stamps in CollectionStampServiceImpl.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CollectionStampServiceImplTest {
+
+    @Autowired private DataSource dataSource;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private UserRepository userRepository;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private CollectionStampServiceImpl collectionStampService;
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        collectionStampService = new CollectionStampServiceImpl(jdbcTemplate);
+
+        employee = new User();
+        employee.setName("John Doe");
+        employee.setEmail("stamps@example.com");
+        employee.setUserRole(UserRole.EMPLOYEE);
+        employee = userRepository.save(employee);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from task where user_id = ?", employee.getId());
+        userRepository.deleteById(employee.getId());
+    }
+
+    /**
+     * Test: The task list stamp is stable between changes and advances on each change.
+     */
+    @Test
+    void testTaskListStamp_AdvancesOnTaskChange() {
+        String initial = collectionStampService.taskListStamp();
+        assertEquals(initial, collectionStampService.taskListStamp());
+
+        collectionStampService.onTaskChanged(TaskChangedEvent.saved(task(1L)));
+        String afterSave = collectionStampService.taskListStamp();
+        assertNotEquals(initial, afterSave);
+
+        collectionStampService.onTaskChanged(TaskChangedEvent.deleted(1L));
+        String afterDelete = collectionStampService.taskListStamp();
+        assertNotEquals(afterSave, afterDelete);
+
+        collectionStampService.onTasksBulkUpdated(TasksBulkUpdatedEvent.matching(3));
+        String afterBulk = collectionStampService.taskListStamp();
+        assertNotEquals(afterDelete, afterBulk);
+
+        collectionStampService.onCommentChanged(CommentChangedEvent.saved(comment(1L)));
+        assertNotEquals(afterBulk, collectionStampService.taskListStamp());
+    }
+
+    /**
+     * Test: The user list stamp advances on user changes only.
+     */
+    @Test
+    void testUserListStamp_AdvancesOnUserChange() {
+        String initial = collectionStampService.userListStamp();
+        collectionStampService.onTaskChanged(TaskChangedEvent.saved(task(1L)));
+        assertEquals(initial, collectionStampService.userListStamp());
+
+        collectionStampService.onUserChanged(new UserChangedEvent(new UserDto()));
+        assertNotEquals(initial, collectionStampService.userListStamp());
+    }
+
+    /**
+     * Test: Changes in one transaction advance the stamp once, when it commits;
+     * a rolled-back transaction leaves it alone.
+     */
+    @Test
+    void testTaskListStamp_AdvancesOncePerTransaction() {
+        long initial = Long.parseLong(collectionStampService.taskListStamp());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (long id = 1; id <= 3; id++) {
+                collectionStampService.onTaskChanged(TaskChangedEvent.saved(task(id)));
+            }
+        });
+        assertEquals(initial + 1, Long.parseLong(collectionStampService.taskListStamp()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            collectionStampService.onTaskChanged(TaskChangedEvent.saved(task(1L)));
+            status.setRollbackOnly();
+        });
+        assertEquals(initial + 1, Long.parseLong(collectionStampService.taskListStamp()));
+    }
+
+    /**
+     * Test: A comment thread's stamp follows its task's comment counter, whoever
+     * stored the comment, and changes when the task is deleted.
+     */
+    @Test
+    void testCommentListStamp_FollowsTaskRow() {
+        Task task = saveTask();
+        Task other = saveTask();
+        String first = collectionStampService.commentListStamp(task.getId());
+        String otherStamp = collectionStampService.commentListStamp(other.getId());
+        assertEquals(first, collectionStampService.commentListStamp(task.getId()));
+
+        jdbcTemplate.update("update task set comment_count = comment_count + 1 where id = ?", task.getId());
+        String afterComment = collectionStampService.commentListStamp(task.getId());
+        assertNotEquals(first, afterComment);
+        assertEquals(otherStamp, collectionStampService.commentListStamp(other.getId()));
+
+        taskRepository.deleteById(task.getId());
+        assertNotEquals(afterComment, collectionStampService.commentListStamp(task.getId()));
+    }
+
+    /**
+     * Test: Instances sharing the database hand out the same stamps, so a change
+     * made through one is seen by the others.
+     */
+    @Test
+    void testStamps_SharedAcrossInstances() {
+        CollectionStampServiceImpl otherInstance = new CollectionStampServiceImpl(jdbcTemplate);
+        assertEquals(collectionStampService.taskListStamp(), otherInstance.taskListStamp());
+
+        collectionStampService.onTaskChanged(TaskChangedEvent.saved(task(1L)));
+        assertEquals(collectionStampService.taskListStamp(), otherInstance.taskListStamp());
+        assertEquals(collectionStampService.userListStamp(), otherInstance.userListStamp());
+    }
+
+    private Task saveTask() {
+        Task task = new Task();
+        task.setTitle("Incident");
+        task.setDueDate(new Date());
+        task.setTaskStatus(TaskStatus.PENDING);
+        task.setUser(employee);
+        return taskRepository.save(task);
+    }
+
+    private static TaskDao task(Long id) {
+        TaskDao task = new TaskDao();
+        task.setId(id);
+        return task;
+    }
+
+    private static CommentDao comment(Long taskId) {
+        CommentDao comment = new CommentDao();
+        comment.setTaskId(taskId);
+        return comment;
+    }
+}
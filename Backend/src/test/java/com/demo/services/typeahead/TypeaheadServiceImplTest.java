@@ -0,0 +1,104 @@
+package com.demo.services.typeahead;
+
+import com.demo.dao.Suggestion;
+import com.demo.dao.TaskDao;
+import com.demo.dao.UserDto;
+import com.demo.entities.User;
+import com.demo.enums.UserRole;
+import com.demo.events.TaskChangedEvent;
+import com.demo.events.UserChangedEvent;
+import com.demo.repositories.TaskRepository;
+import com.demo.repositories.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.data.domain.Limit;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TypeaheadServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class TypeaheadServiceImplTest {
+
+    @Mock private TaskRepository taskRepository;
+    @Mock private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TypeaheadServiceImpl typeaheadService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        typeaheadService = new TypeaheadServiceImpl(taskRepository, userRepository, meterRegistry, 2);
+    }
+
+    /**
+     * Test: Rebuild loads tasks and employees only; suggestions are capped by configuration.
+     */
+    @Test
+    void testRebuild_LoadsTasksAndEmployees() {
+        when(taskRepository.findBatchAfterId(0L, Limit.of(TypeaheadServiceImpl.BUILD_BATCH_SIZE)))
+                .thenReturn(List.of(task(1L, "Write report", 1000), task(2L, "Review report", 3000),
+                        task(3L, "Report card", 2000)));
+        when(userRepository.findSuggestionsByUserRole(UserRole.EMPLOYEE))
+                .thenReturn(List.of(new Suggestion(2L, "Ada Lovelace")));
+
+        typeaheadService.rebuild();
+
+        assertEquals(List.of(new Suggestion(2L, "Review report"), new Suggestion(3L, "Report card")),
+                typeaheadService.suggestTasks("rep", 50));
+        assertEquals(List.of(new Suggestion(2L, "Ada Lovelace")), typeaheadService.suggestUsers("love", 10));
+        assertEquals(List.of(), typeaheadService.suggestUsers("adm", 10));
+        assertEquals(3.0, meterRegistry.get("typeahead.trie.entries").tag("trie", "tasks").gauge().value());
+        assertTrue(meterRegistry.get("typeahead.trie.memory").tag("trie", "users").gauge().value() > 0);
+    }
+
+    /**
+     * Test: Task and user events keep the tries current.
+     */
+    @Test
+    void testEvents_UpdateTries() {
+        TaskDao task = task(1L, "Plan sprint", 1000);
+        typeaheadService.onTaskChanged(TaskChangedEvent.saved(task));
+        assertEquals(List.of(new Suggestion(1L, "Plan sprint")), typeaheadService.suggestTasks("spr", 5));
+
+        task.setTitle("Plan release");
+        typeaheadService.onTaskChanged(TaskChangedEvent.saved(task));
+        assertEquals(List.of(), typeaheadService.suggestTasks("spr", 5));
+
+        typeaheadService.onTaskChanged(TaskChangedEvent.deleted(1L));
+        assertEquals(List.of(), typeaheadService.suggestTasks("plan", 5));
+
+        typeaheadService.onUserChanged(new UserChangedEvent(user(7L, "Grace Hopper", UserRole.EMPLOYEE).getUserDto()));
+        assertEquals(List.of(new Suggestion(7L, "Grace Hopper")), typeaheadService.suggestUsers("g", 0));
+    }
+
+    private static TaskDao task(Long id, String title, long dueDate) {
+        TaskDao task = new TaskDao();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDueDate(new Date(dueDate));
+        return task;
+    }
+
+    private static User user(Long id, String name, UserRole role) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setUserRole(role);
+        return user;
+    }
+}
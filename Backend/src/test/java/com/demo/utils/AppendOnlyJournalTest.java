@@ -0,0 +1,119 @@
+package com.demo.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the append-only journal.
+ */
+class AppendOnlyJournalTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test: Records are read back in order, also after reopening, and truncation empties the journal.
+     */
+    @Test
+    void testAppendReadAndTruncate() {
+        Path path = directory.resolve("nested/journal.log");
+        try (AppendOnlyJournal journal = new AppendOnlyJournal(path)) {
+            journal.append("first");
+            journal.append("zweite été");
+            assertEquals(List.of("first", "zweite été"), journal.readAll());
+        }
+
+        try (AppendOnlyJournal journal = new AppendOnlyJournal(path)) {
+            journal.append("third");
+            assertEquals(List.of("first", "zweite été", "third"), journal.readAll());
+
+            journal.truncate();
+            assertEquals(0, journal.size());
+            journal.append("fourth");
+            assertEquals(List.of("fourth"), journal.readAll());
+        }
+    }
+
+    /**
+     * Test: A record cut short by a crash is dropped on reopening, so the next append is not glued to it.
+     */
+    @Test
+    void testReopen_DropsTornRecord() throws Exception {
+        Path path = directory.resolve("journal.log");
+        Files.writeString(path, "complete\npart", StandardCharsets.UTF_8, StandardOpenOption.CREATE);
+
+        try (AppendOnlyJournal journal = new AppendOnlyJournal(path)) {
+            assertEquals(List.of("complete"), journal.readAll());
+            journal.append("next");
+            assertEquals(List.of("complete", "next"), journal.readAll());
+        }
+    }
+
+    /**
+     * Test: Records written without a force become durable with one sync of the
+     * last offset, and offsets keep growing across truncation.
+     */
+    @Test
+    void testWriteThenSync_SharesOneForce() {
+        Path path = directory.resolve("journal.log");
+        try (AppendOnlyJournal journal = new AppendOnlyJournal(path)) {
+            long first = journal.write("first");
+            long second = journal.write("second");
+            assertTrue(second > first);
+            journal.sync(second);
+            journal.sync(first);
+
+            journal.truncate();
+            long third = journal.write("third");
+            assertTrue(third > second);
+            journal.sync(third);
+        }
+
+        try (AppendOnlyJournal journal = new AppendOnlyJournal(path)) {
+            assertEquals(List.of("third"), journal.readAll());
+        }
+    }
+
+    /**
+     * Test: Compaction keeps only the selected records, in order, and later
+     * appends follow them.
+     */
+    @Test
+    void testCompact_KeepsSelectedRecords() {
+        Path path = directory.resolve("journal.log");
+        try (AppendOnlyJournal journal = new AppendOnlyJournal(path)) {
+            for (int i = 1; i <= 5; i++) {
+                journal.append("record " + i);
+            }
+            journal.compact(record -> record.compareTo("record 3") > 0);
+            assertEquals(List.of("record 4", "record 5"), journal.readAll());
+
+            journal.append("record 6");
+            assertEquals(List.of("record 4", "record 5", "record 6"), journal.readAll());
+        }
+
+        try (AppendOnlyJournal journal = new AppendOnlyJournal(path)) {
+            assertEquals(List.of("record 4", "record 5", "record 6"), journal.readAll());
+        }
+        assertFalse(Files.exists(directory.resolve("journal.log.compact")));
+    }
+
+    /**
+     * Test: Records spanning several lines are rejected.
+     */
+    @Test
+    void testAppend_RejectsLineBreaks() {
+        try (AppendOnlyJournal journal = new AppendOnlyJournal(directory.resolve("journal.log"))) {
+            assertThrows(IllegalArgumentException.class, () -> journal.append("two\nlines"));
+            assertTrue(journal.readAll().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.demo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BloomFilter used by token revocation.
+ */
+class BloomFilterTest {
+
+    /**
+     * Test: Every inserted value is reported as possibly present.
+     */
+    @Test
+    void testMightContain_NoFalseNegatives() {
+        BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            bloomFilter.put("jti-" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(bloomFilter.mightContain("jti-" + i));
+        }
+    }
+
+    /**
+     * Test: The false-positive rate stays near the configured target.
+     */
+    @Test
+    void testMightContain_FalsePositiveRateBounded() {
+        BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            bloomFilter.put("jti-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (bloomFilter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
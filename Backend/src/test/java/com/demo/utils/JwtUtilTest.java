@@ -0,0 +1,138 @@
+package com.demo.utils;
+
+import com.demo.entities.User;
+import com.demo.enums.UserRole;
+import com.demo.repositories.UserRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for JwtUtil token generation and verified-claims caching.
+ */
+@ExtendWith(MockitoExtension.class)
+class JwtUtilTest {
+
+    @Mock private UserRepository userRepository;
+
+    private JwtUtil jwtUtil;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(userRepository);
+
+        user = new User();
+        user.setId(1L);
+        user.setEmail("john@example.com");
+        user.setName("John Doe");
+        user.setUserRole(UserRole.EMPLOYEE);
+    }
+
+    /**
+     * Test: A generated token resolves to its subject on repeated (cached) reads.
+     */
+    @Test
+    void testExtractUserName_RepeatedCallsReturnSameSubject() {
+        String token = jwtUtil.generateToken(user);
+
+        assertEquals("john@example.com", jwtUtil.extractUserName(token));
+        assertEquals("john@example.com", jwtUtil.extractUserName(token));
+        assertTrue(jwtUtil.isTokenValid(token, user));
+    }
+
+    /**
+     * Test: The signature is verified on the first parse only; later parses of the same token,
+     * and every claim read from the parsed claims, skip verification.
+     */
+    @Test
+    void testParseClaims_CacheHitSkipsVerification() {
+        JwtParser parser = spy(JwtUtil.PARSER);
+        JwtUtil verifyingUtil = new JwtUtil(userRepository, parser);
+        String token = verifyingUtil.generateToken(user);
+
+        Claims claims = verifyingUtil.parseClaims(token);
+        assertEquals("john@example.com", claims.getSubject());
+        assertNotNull(claims.getId());
+        assertEquals(1L, verifyingUtil.extractPrincipal(claims).getId());
+        assertTrue(verifyingUtil.isTokenValid(claims, user));
+        assertSame(claims, verifyingUtil.parseClaims(token));
+        assertEquals("john@example.com", verifyingUtil.extractUserName(token));
+
+        verify(parser, times(1)).parseClaimsJws(token);
+    }
+
+    /**
+     * Test: A token issued for another user is rejected.
+     */
+    @Test
+    void testIsTokenValid_OtherUser() {
+        String token = jwtUtil.generateToken(user);
+
+        User other = new User();
+        other.setEmail("jane@example.com");
+
+        assertFalse(jwtUtil.isTokenValid(token, other));
+    }
+
+    /**
+     * Test: A tampered token still fails verification and is never cached.
+     */
+    @Test
+    void testExtractUserName_TamperedTokenRejected() {
+        String token = jwtUtil.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(Exception.class, () -> jwtUtil.extractUserName(tampered));
+        assertThrows(Exception.class, () -> jwtUtil.extractUserName(tampered));
+    }
+
+    /**
+     * Test: The principal is rebuilt from token claims without any repository access.
+     */
+    @Test
+    void testExtractPrincipal_FromClaims() {
+        String token = jwtUtil.generateToken(user);
+
+        User principal = jwtUtil.extractPrincipal(token);
+
+        assertEquals(1L, principal.getId());
+        assertEquals("john@example.com", principal.getEmail());
+        assertEquals("John Doe", principal.getName());
+        assertEquals(UserRole.EMPLOYEE, principal.getUserRole());
+        assertNull(principal.getPassword());
+        verifyNoInteractions(userRepository);
+    }
+
+    /**
+     * Test: The logged-in user ID is read from the principal without a lookup.
+     */
+    @Test
+    void testGetLoggedInUserId_FromPrincipal() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        try {
+            assertEquals(1L, jwtUtil.getLoggedInUserId());
+            verifyNoInteractions(userRepository);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
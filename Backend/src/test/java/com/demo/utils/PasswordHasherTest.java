@@ -0,0 +1,79 @@
+package com.demo.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the bounded password hashing executor.
+ */
+class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    /**
+     * Test: Encoded passwords verify on the hashing executor.
+     */
+    @Test
+    void testEncodeAndMatches() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(4), meterRegistry, 1, 4, Duration.ofSeconds(5));
+
+        String hash = passwordHasher.encode("secret");
+
+        assertTrue(passwordHasher.matches("secret", hash));
+        assertFalse(passwordHasher.matches("other", hash));
+        assertEquals(2, meterRegistry.get("password.hashing.latency").tag("operation", "matches").timer().count());
+    }
+
+    /**
+     * Test: Calls are shed once the worker and the queue are both occupied.
+     */
+    @Test
+    void testMatches_RejectsWhenQueueFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = mock(PasswordEncoder.class);
+        when(blockingEncoder.matches(any(), any())).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(blockingEncoder, meterRegistry, 1, 1, Duration.ofSeconds(5));
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> passwordHasher.matches("a", "hash"));
+            callers.submit(() -> passwordHasher.matches("b", "hash"));
+
+            // Wait until one call is running and the other is queued
+            long deadline = System.currentTimeMillis() + 5000;
+            while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertThrows(RejectedExecutionException.class, () -> passwordHasher.matches("c", "hash"));
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.demo.utils;
+
+import com.demo.utils.RadixTrie.Match;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RadixTrie used by typeahead.
+ */
+class RadixTrieTest {
+
+    /**
+     * Test: Completion matches any word start, ignores case and ranks by weight.
+     */
+    @Test
+    void testComplete_MatchesWordStartsByWeight() {
+        RadixTrie trie = new RadixTrie();
+        trie.put(1L, "Quarterly report", 100);
+        trie.put(2L, "Report card", 300);
+        trie.put(3L, "Repair printer", 200);
+        trie.put(4L, "Unrelated", 900);
+
+        assertEquals(List.of(2L, 3L, 1L), ids(trie.complete("re", 10)));
+        assertEquals(List.of(2L, 1L), ids(trie.complete("REPO", 10)));
+        assertEquals(List.of(new Match(1L, "Quarterly report")), trie.complete("quarterly r", 10));
+        assertEquals(List.of(), trie.complete("port", 10));
+        assertEquals(List.of(), trie.complete(" ", 10));
+    }
+
+    /**
+     * Test: Results are capped at the limit and an item matching several words appears once.
+     */
+    @Test
+    void testComplete_LimitAndDeduplication() {
+        RadixTrie trie = new RadixTrie();
+        trie.put(1L, "Test the test", 10);
+        for (long id = 2; id <= 20; id++) {
+            trie.put(id, "Test " + id, id);
+        }
+
+        List<Match> matches = trie.complete("test", 3);
+        assertEquals(List.of(20L, 19L, 18L), ids(matches));
+        assertEquals(1, ids(trie.complete("test the", 5)).size());
+        assertEquals(List.of(1L), ids(trie.complete("test t", 5)));
+    }
+
+    /**
+     * Test: Replacing and removing items leaves no stale matches and merges nodes back.
+     */
+    @Test
+    void testPutAndRemove_KeepTreeCompact() {
+        RadixTrie trie = new RadixTrie();
+        trie.put(1L, "alpha", 1);
+        int nodesWithOne = trie.nodeCount();
+
+        trie.put(2L, "alpine", 2);
+        trie.put(2L, "alpine route", 2);
+        assertEquals(List.of(2L, 1L), ids(trie.complete("alp", 10)));
+        assertEquals(List.of(2L), ids(trie.complete("rou", 10)));
+        assertEquals(2, trie.size());
+
+        trie.remove(2L);
+        assertEquals(List.of(), trie.complete("rou", 10));
+        assertEquals(List.of(1L), ids(trie.complete("alp", 10)));
+        assertEquals(nodesWithOne, trie.nodeCount());
+        assertEquals(1, trie.size());
+        assertTrue(trie.estimatedBytes() > 0);
+    }
+
+    /**
+     * Test: The weight bound follows removals so lower-weighted items surface.
+     */
+    @Test
+    void testRemove_UpdatesWeightBound() {
+        RadixTrie trie = new RadixTrie();
+        trie.put(1L, "deploy", 5);
+        trie.put(2L, "design", 50);
+        trie.put(3L, "debug", 10);
+
+        assertEquals(List.of(2L), ids(trie.complete("de", 1)));
+        trie.remove(2L);
+        assertEquals(List.of(3L), ids(trie.complete("de", 1)));
+    }
+
+    private static List<Long> ids(List<Match> matches) {
+        return matches.stream().map(Match::id).toList();
+    }
+}
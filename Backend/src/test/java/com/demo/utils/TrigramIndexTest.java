@@ -0,0 +1,102 @@
+package com.demo.utils;
+
+import com.demo.utils.TrigramIndex.Document;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TrigramIndex used by task search.
+ */
+class TrigramIndexTest {
+
+    /**
+     * Test: Matches are ranked by title prefix, title, then description, each by due date descending.
+     */
+    @Test
+    void testSearch_RanksByRelevanceThenDueDate() {
+        TrigramIndex index = new TrigramIndex();
+        index.reset(List.of(
+                new Document(1L, "Quarterly report", "numbers", 100),
+                new Document(2L, "Write the report", "draft", 300),
+                new Document(3L, "Review", "Check the REPORT", 500),
+                new Document(4L, "Prepare report slides", "deck", 400),
+                new Document(5L, "Unrelated", "nothing here", 900),
+                new Document(6L, "Report card", null, 0)));
+
+        assertEquals(List.of(6L, 4L, 2L, 1L, 3L), index.search("Report", 10));
+        assertEquals(List.of(6L, 4L), index.search("report", 2));
+    }
+
+    /**
+     * Test: Documents changed after the last sort are merged into the ranking.
+     */
+    @Test
+    void testSearch_MergesUnsortedChanges() {
+        TrigramIndex index = new TrigramIndex();
+        index.reset(List.of(
+                new Document(1L, "Deploy api", null, 100),
+                new Document(2L, "Deploy web", null, 300)));
+        index.put(new Document(3L, "Deploy db", null, 200));
+        index.put(new Document(1L, "Deploy api", null, 400));
+
+        assertEquals(List.of(1L, 2L, 3L), index.search("deploy", 10));
+        assertEquals(List.of(1L, 2L), index.search("deploy", 2));
+    }
+
+    /**
+     * Test: Trigram candidates that do not contain the whole query are not returned.
+     */
+    @Test
+    void testSearch_NoFalsePositives() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(new Document(1L, "abc xbcd", null, 0));
+
+        assertEquals(List.of(), index.search("abcd", 10));
+        assertEquals(List.of(1L), index.search("bcd", 10));
+    }
+
+    /**
+     * Test: Queries shorter than a trigram are answered by scanning.
+     */
+    @Test
+    void testSearch_ShortQuery() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(new Document(1L, "Go live", null, 0));
+        index.put(new Document(2L, "Deploy", null, 0));
+
+        assertEquals(List.of(1L), index.search("go", 10));
+        assertEquals(List.of(), index.search("  ", 10));
+    }
+
+    /**
+     * Test: Updated and removed documents are reflected, including after the slots are re-sorted.
+     */
+    @Test
+    void testPutAndRemove_ReplaceAndReorganize() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(new Document(1L, "Old title", null, 0));
+        index.put(new Document(1L, "New title", null, 0));
+
+        assertEquals(List.of(), index.search("old", 10));
+        assertEquals(List.of(1L), index.search("new", 10));
+
+        List<Long> expected = new ArrayList<>();
+        for (long id = 2; id < 3000; id++) {
+            index.put(new Document(id, "Task " + id, "temporary", id));
+            if (id % 2 == 0) {
+                index.remove(id);
+            } else {
+                expected.add(0, id);
+            }
+        }
+
+        assertEquals(1 + expected.size(), index.size());
+        assertEquals(expected, index.search("temporary", 5000));
+        assertEquals(List.of(1L), index.search("title", 10));
+    }
+}
@@ -11,6 +11,7 @@ import { FormBuilder, FormGroup } from '@angular/forms';
 export class DashboardComponent {
 
   listOfTasks: any = [];
+  nextCursor: string | null = null;
   searchForm!: FormGroup;
 
   constructor(private service: AdminService,
@@ -25,7 +26,15 @@ export class DashboardComponent {
 
   getTasks(){
     this.service.getAllTasks().subscribe((res)=>{
-      this.listOfTasks = res;
+      this.listOfTasks = res.items;
+      this.nextCursor = res.nextCursor;
+    })
+  }
+
+  loadMoreTasks(){
+    this.service.getAllTasks(this.nextCursor).subscribe((res)=>{
+      this.listOfTasks = this.listOfTasks.concat(res.items);
+      this.nextCursor = res.nextCursor;
     })
   }
 
@@ -38,6 +47,7 @@ export class DashboardComponent {
 
   searchTask(){
     this.listOfTasks = [];
+    this.nextCursor = null;
     const title = this.searchForm.get('title')!.value;
     console.log(title);
     this.service.searchTask(title).subscribe((res)=>{
@@ -33,6 +33,7 @@ export class UpdateTaskComponent {
       dueDate: [null, [Validators.required]],
       priority: [null, [Validators.required]],
       taskStatus: [null, [Validators.required]],
+      version: [null],
     })
   }
 
@@ -58,6 +59,18 @@ export class UpdateTaskComponent {
         } else {
           this.snackBar.open("Something went wrong", "ERROR", { duration: 5000 });
         }
+      }, (error) => {
+        // 409: someone else changed the task; reload its current state, which a version conflict carries
+        if (error.status === 409) {
+          if (error.error?.current) {
+            this.updateTaskForm.patchValue(error.error.current);
+          } else {
+            this.getTaskById();
+          }
+          this.snackBar.open("Task was changed by someone else, review the latest version and update again", "Close", { duration: 5000 });
+        } else {
+          this.snackBar.open("Something went wrong", "ERROR", { duration: 5000 });
+        }
       })
   }
 
@@ -1,9 +1,15 @@
 import { HttpClient, HttpHeaders } from '@angular/common/http';
 import { Injectable } from '@angular/core';
-import { Observable } from 'rxjs';
+import { Observable, map } from 'rxjs';
 import { StorageService } from 'src/app/auth/services/storage/storage.service';
 
 const BASIC_URL = "http://localhost:8084/";
+const PAGE_SIZE = 100;
+
+export interface Page {
+  items: any[];
+  nextCursor: string | null;
+}
 
 @Injectable({
   providedIn: 'root'
@@ -24,10 +30,8 @@ export class AdminService {
     })
   }
 
-  getAllTasks(): Observable<any> {
-    return this.http.get(BASIC_URL + "api/admin/tasks", {
-      headers: this.createAuthorizationHeader()
-    })
+  getAllTasks(cursor?: string | null): Observable<Page> {
+    return this.getPage(BASIC_URL + "api/admin/tasks", cursor)
   }
 
   deleteTask(id:number): Observable<any> {
@@ -61,10 +65,19 @@ export class AdminService {
     })
   }
 
-  getCommentsByTask(id:number): Observable<any> {
-    return this.http.get(BASIC_URL + "api/admin/comments/" + id, {
-      headers: this.createAuthorizationHeader()
-    })
+  getCommentsByTask(id:number, cursor?: string | null): Observable<Page> {
+    return this.getPage(BASIC_URL + "api/admin/comments/" + id, cursor)
+  }
+
+  // Fetches one page of a cursor-paged list; nextCursor is the X-Next-Cursor header, absent on the last page
+  private getPage(url: string, cursor?: string | null): Observable<Page> {
+    return this.http.get<any[]>(url, {
+      params: cursor ? { cursor, size: PAGE_SIZE } : { size: PAGE_SIZE },
+      headers: this.createAuthorizationHeader(),
+      observe: 'response'
+    }).pipe(
+      map((res) => ({ items: res.body ?? [], nextCursor: res.headers.get('X-Next-Cursor') }))
+    )
   }
   
   private createAuthorizationHeader(): HttpHeaders {
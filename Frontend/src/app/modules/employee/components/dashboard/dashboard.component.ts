@@ -10,6 +10,7 @@ import { MatSnackBar } from '@angular/material/snack-bar';
 export class DashboardComponent {
 
   listOfTasks: any =[];
+  nextCursor: string | null = null;
 
   constructor(private service: EmployeeService,
     private snackbar: MatSnackBar
@@ -20,7 +21,15 @@ export class DashboardComponent {
   getTasks(){
     this.service.getEmployeeTasksById().subscribe((res)=>{
       console.log(res);
-      this.listOfTasks = res;
+      this.listOfTasks = res.items;
+      this.nextCursor = res.nextCursor;
+    })
+  }
+
+  loadMoreTasks(){
+    this.service.getEmployeeTasksById(this.nextCursor).subscribe((res)=>{
+      this.listOfTasks = this.listOfTasks.concat(res.items);
+      this.nextCursor = res.nextCursor;
     })
   }
 
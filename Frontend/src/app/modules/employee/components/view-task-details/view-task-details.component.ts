@@ -14,6 +14,7 @@ export class ViewTaskDetailsComponent {
   taskId: number = this.activatedRoute.snapshot.params["id"];
   taskData: any;
   comments: any;
+  nextCursor: string | null = null;
   commentForm!: FormGroup;
 
   constructor(private service: EmployeeService,
@@ -40,7 +41,15 @@ export class ViewTaskDetailsComponent {
 
   getComments() {
     this.service.getCommentsByTask(this.taskId).subscribe((res) => {
-      this.comments = res;
+      this.comments = res.items;
+      this.nextCursor = res.nextCursor;
+    })
+  }
+
+  loadMoreComments() {
+    this.service.getCommentsByTask(this.taskId, this.nextCursor).subscribe((res) => {
+      this.comments = this.comments.concat(res.items);
+      this.nextCursor = res.nextCursor;
     })
   }
 
@@ -1,9 +1,15 @@
 import { HttpClient, HttpHeaders } from '@angular/common/http';
 import { Injectable } from '@angular/core';
-import { Observable } from 'rxjs';
+import { Observable, map } from 'rxjs';
 import { StorageService } from 'src/app/auth/services/storage/storage.service';
 
 const BASIC_URL = "http://localhost:8084/";
+const PAGE_SIZE = 100;
+
+export interface Page {
+  items: any[];
+  nextCursor: string | null;
+}
 
 @Injectable({
   providedIn: 'root'
@@ -12,10 +18,8 @@ export class EmployeeService {
 
   constructor(private http: HttpClient) { }
 
-  getEmployeeTasksById(): Observable<any> {
-    return this.http.get(BASIC_URL + "api/employee/tasks", {
-      headers: this.createAuthorizationHeader()
-    })
+  getEmployeeTasksById(cursor?: string | null): Observable<Page> {
+    return this.getPage(BASIC_URL + "api/employee/tasks", cursor)
   }
 
   updateStatus(id: number, status: string): Observable<any> {
@@ -40,10 +44,19 @@ export class EmployeeService {
     })
   }
 
-  getCommentsByTask(id: number): Observable<any> {
-    return this.http.get(BASIC_URL + "api/employee/comments/" + id, {
-      headers: this.createAuthorizationHeader()
-    })
+  getCommentsByTask(id: number, cursor?: string | null): Observable<Page> {
+    return this.getPage(BASIC_URL + "api/employee/comments/" + id, cursor)
+  }
+
+  // Fetches one page of a cursor-paged list; nextCursor is the X-Next-Cursor header, absent on the last page
+  private getPage(url: string, cursor?: string | null): Observable<Page> {
+    return this.http.get<any[]>(url, {
+      params: cursor ? { cursor, size: PAGE_SIZE } : { size: PAGE_SIZE },
+      headers: this.createAuthorizationHeader(),
+      observe: 'response'
+    }).pipe(
+      map((res) => ({ items: res.body ?? [], nextCursor: res.headers.get('X-Next-Cursor') }))
+    )
   }
 
   private createAuthorizationHeader(): HttpHeaders {